@@ -1,5 +1,6 @@
 package com.ktb.chatapp.config;
 
+import com.ktb.chatapp.util.AhoCorasickMatcher;
 import com.ktb.chatapp.util.BannedWordChecker;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -30,9 +31,16 @@ public class BannedWordConfig {
     @Bean
     public BannedWordChecker bannedWordChecker() {
         Resource resource = applicationContext.getResource(bannedWordLocation);
+        Set<String> words = loadWords(resource, bannedWordLocation);
+
+        // 사전 전체를 Aho-Corasick 오토마톤으로 한 번만 컴파일
+        return new BannedWordChecker(AhoCorasickMatcher.compile(words));
+    }
+
+    static Set<String> loadWords(Resource resource, String location) {
         if (!resource.exists()) {
             throw new IllegalStateException(
-                    "Banned word resource not found at " + bannedWordLocation);
+                    "Banned word resource not found at " + location);
         }
 
         Set<String> words;
@@ -46,14 +54,14 @@ public class BannedWordConfig {
                             .collect(Collectors.toUnmodifiableSet());
         } catch (IOException e) {
             throw new IllegalStateException(
-                    "Failed to load banned words from " + bannedWordLocation, e);
+                    "Failed to load banned words from " + location, e);
         }
 
         if (words.isEmpty()) {
             throw new IllegalStateException(
-                    "Banned word dictionary at " + bannedWordLocation + " must not be empty.");
+                    "Banned word dictionary at " + location + " must not be empty.");
         }
 
-        return new BannedWordChecker(words);
+        return words;
     }
 }
@@ -0,0 +1,122 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.AhoCorasickMatcher;
+import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 금칙어 사전 리로더.
+ * chatapp.banned-word.location 리소스의 수정 시각을 주기적으로 확인하고,
+ * 변경되면 스케줄러 스레드에서 매처를 새로 컴파일한 뒤 BannedWordChecker에 원자적으로 교체한다.
+ * 리로드 실패 시 기존 매처를 그대로 유지한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.banned-word.reload-enabled", havingValue = "true", matchIfMissing = true)
+public class BannedWordReloader {
+
+    private final ResourceLoader resourceLoader;
+    private final String bannedWordLocation;
+    private final BannedWordChecker bannedWordChecker;
+    private final Timer rebuildTimer;
+    private final Counter reloadErrorCounter;
+
+    private volatile long lastModified;
+
+    public BannedWordReloader(
+            ResourceLoader resourceLoader,
+            @Value("${chatapp.banned-word.location:classpath:fake_banned_words_10k.txt}")
+                    String bannedWordLocation,
+            BannedWordChecker bannedWordChecker,
+            MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.bannedWordLocation = bannedWordLocation;
+        this.bannedWordChecker = bannedWordChecker;
+        this.lastModified = readLastModified(resourceLoader.getResource(bannedWordLocation));
+
+        this.rebuildTimer = Timer.builder("banned_words.rebuild.time")
+                .description("Banned word matcher rebuild time")
+                .register(meterRegistry);
+        this.reloadErrorCounter = Counter.builder("banned_words.reload.errors")
+                .description("Banned word dictionary reload failures")
+                .register(meterRegistry);
+        Gauge.builder("banned_words.dictionary.size", bannedWordChecker,
+                        checker -> checker.snapshot().matcher().patternCount())
+                .description("Number of banned words in the active dictionary")
+                .register(meterRegistry);
+        Gauge.builder("banned_words.dictionary.version", bannedWordChecker,
+                        checker -> checker.snapshot().version())
+                .description("Active banned word dictionary version")
+                .register(meterRegistry);
+        Gauge.builder("banned_words.matcher.memory", bannedWordChecker,
+                        checker -> checker.snapshot().matcher().estimatedSizeInBytes())
+                .description("Estimated heap footprint of the active banned word matcher")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${chatapp.banned-word.reload-interval-ms:30000}",
+            fixedDelayString = "${chatapp.banned-word.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(bannedWordLocation);
+        long modified = readLastModified(resource);
+        if (modified <= 0 || modified == lastModified) {
+            return;
+        }
+        if (reload(resource)) {
+            lastModified = modified;
+        }
+    }
+
+    /**
+     * 사전을 다시 읽어 매처를 교체한다.
+     *
+     * @return 교체에 성공하면 true
+     */
+    public boolean reload() {
+        return reload(resourceLoader.getResource(bannedWordLocation));
+    }
+
+    private boolean reload(Resource resource) {
+        try {
+            long startNanos = System.nanoTime();
+            Set<String> words = BannedWordConfig.loadWords(resource, bannedWordLocation);
+            AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(words);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            rebuildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            long version = bannedWordChecker.replace(matcher);
+            log.info("Banned word dictionary reloaded - version: {}, words: {}, states: {}, took: {}ms",
+                    version, matcher.patternCount(), matcher.stateCount(), elapsedNanos / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            reloadErrorCounter.increment();
+            log.error("Banned word dictionary reload failed - keeping current version {}",
+                    bannedWordChecker.snapshot().version(), e);
+            return false;
+        }
+    }
+
+    private long readLastModified(Resource resource) {
+        try {
+            return resource.exists() ? resource.lastModified() : -1L;
+        } catch (IOException e) {
+            log.debug("Cannot resolve last modified time of {}", bannedWordLocation, e);
+            return -1L;
+        }
+    }
+}
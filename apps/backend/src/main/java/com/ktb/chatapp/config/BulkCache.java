@@ -0,0 +1,16 @@
+package com.ktb.chatapp.config;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 여러 키를 한 번에 조회할 수 있는 캐시.
+ * 키마다 get을 호출하는 대신 L2 왕복을 한 번(MGET)으로 줄이는 용도다.
+ */
+public interface BulkCache {
+
+    /**
+     * 캐시에 있는 항목만 반환한다. 없는 키는 결과에 포함되지 않는다.
+     */
+    <T> Map<String, T> getAllPresent(Collection<String> keys, Class<T> type);
+}
@@ -0,0 +1,299 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.model.File;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.ReadCursor;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.model.User;
+import com.mongodb.ExplainVerbosity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * MongoDB 인덱스 관리자.
+ * MongoConfig가 AbstractMongoClientConfiguration을 상속하므로 엔티티 인덱스 어노테이션이 자동 생성되지 않는다.
+ * 시작 시 관리 대상 엔티티의 어노테이션에서 필요한 인덱스를 해석해 실제 인덱스와 대조하고,
+ * 이름이나 키/옵션이 충돌하는 인덱스는 기본적으로 로그만 남기고,
+ * chatapp.mongo.indexes.resolve-conflicts=true 일 때만 삭제 후 재생성한다.
+ * (롤링 배포 중 여러 노드가 같은 인덱스를 동시에 삭제/재생성하지 않도록 단일 실행에서만 켠다)
+ * 이후 주요 조회 쿼리의 실행 계획을 explain으로 확인해 인덱스를 타지 않는 쿼리를 보고한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.mongo.indexes.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoIndexManager implements ApplicationRunner {
+
+    private static final List<Class<?>> MANAGED_ENTITIES = List.of(
+            Message.class, Room.class, File.class, Session.class, ReadCursor.class, User.class);
+
+    private static final String EXPLAIN_PLACEHOLDER = "__index_check__";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoPersistentEntityIndexResolver indexResolver;
+    private final boolean resolveConflicts;
+
+    private final AtomicInteger unindexedQueries = new AtomicInteger();
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+
+    /**
+     * 실행 계획 확인 대상 쿼리
+     */
+    record HotQuery(String name, String collection, Document filter, Document sort) {
+    }
+
+    /**
+     * 실행 계획 확인 결과
+     *
+     * @param stages winningPlan에 포함된 stage 목록
+     * @param indexed COLLSCAN 없이 인덱스 stage로 처리되면 true
+     */
+    public record PlanReport(String query, List<String> stages, boolean indexed) {
+    }
+
+    public MongoIndexManager(
+            MongoTemplate mongoTemplate,
+            @Value("${chatapp.mongo.indexes.resolve-conflicts:false}") boolean resolveConflicts,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexResolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        this.resolveConflicts = resolveConflicts;
+
+        Gauge.builder("mongo.indexes.unindexed_queries", unindexedQueries, AtomicInteger::get)
+                .description("Hot queries whose winning plan does not use an index")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("mongo.indexes.created")
+                .description("Indexes created by startup reconciliation")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("mongo.indexes.conflicts_dropped")
+                .description("Conflicting indexes dropped by startup reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+        verifyHotQueries();
+    }
+
+    /**
+     * 관리 대상 엔티티의 인덱스 선언과 실제 인덱스를 맞춘다.
+     */
+    public void reconcile() {
+        for (Class<?> entityClass : MANAGED_ENTITIES) {
+            String collection = mongoTemplate.getCollectionName(entityClass);
+            try {
+                reconcile(entityClass, collection);
+            } catch (Exception e) {
+                log.error("Index reconciliation failed - collection: {}", collection, e);
+            }
+        }
+    }
+
+    private void reconcile(Class<?> entityClass, String collection) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        Map<String, Document> existing = listIndexes(collection);
+
+        for (IndexDefinition definition : indexResolver.resolveIndexFor(entityClass)) {
+            Document keys = definition.getIndexKeys();
+            Document options = definition.getIndexOptions();
+            String name = options.getString("name");
+
+            Document sameName = existing.get(name);
+            Document sameKeys = existing.values().stream()
+                    .filter(index -> sameKeys(index.get("key", Document.class), keys))
+                    .findFirst()
+                    .orElse(null);
+
+            if (sameKeys != null && sameOptions(sameKeys, options)) {
+                if (!Objects.equals(sameKeys.getString("name"), name)) {
+                    log.debug("Index {}.{} already covered by {}", collection, name, sameKeys.getString("name"));
+                }
+                continue;
+            }
+
+            List<Document> conflicts = new ArrayList<>();
+            if (sameName != null) {
+                conflicts.add(sameName);
+            }
+            if (sameKeys != null && sameKeys != sameName) {
+                conflicts.add(sameKeys);
+            }
+
+            if (!conflicts.isEmpty()) {
+                if (!resolveConflicts) {
+                    log.error("Index conflict on {} - declared {} {} {}, existing {}; set chatapp.mongo.indexes.resolve-conflicts=true to rebuild",
+                            collection, name, keys.toJson(), options.toJson(), conflicts);
+                    continue;
+                }
+                for (Document conflict : conflicts) {
+                    String conflictName = conflict.getString("name");
+                    log.warn("Dropping conflicting index {}.{} {} - declared {} {}",
+                            collection, conflictName, conflict.get("key"), name, keys.toJson());
+                    indexOps.dropIndex(conflictName);
+                    existing.remove(conflictName);
+                    droppedCounter.increment();
+                }
+            }
+
+            indexOps.ensureIndex(definition);
+            existing.put(name, new Document(options).append("key", keys));
+            createdCounter.increment();
+            log.info("Index created {}.{} {}", collection, name, keys.toJson());
+        }
+    }
+
+    /**
+     * 주요 조회 쿼리의 실행 계획을 확인해 인덱스를 타지 않는 쿼리를 경고로 남긴다.
+     */
+    public List<PlanReport> verifyHotQueries() {
+        List<PlanReport> reports = new ArrayList<>();
+        for (HotQuery query : hotQueries()) {
+            try {
+                reports.add(explain(query));
+            } catch (Exception e) {
+                log.warn("Explain failed - query: {}: {}", query.name(), e.getMessage());
+            }
+        }
+
+        int unindexed = 0;
+        for (PlanReport report : reports) {
+            if (report.indexed()) {
+                log.debug("Query plan OK - {}: {}", report.query(), report.stages());
+            } else {
+                unindexed++;
+                log.warn("Query is not served by an index - {}: {}", report.query(), report.stages());
+            }
+        }
+        unindexedQueries.set(unindexed);
+        return reports;
+    }
+
+    PlanReport explain(HotQuery query) {
+        Document explain = mongoTemplate.getCollection(query.collection())
+                .find(query.filter())
+                .sort(query.sort())
+                .limit(30)
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        List<String> stages = new ArrayList<>();
+        collectStages(queryPlanner != null ? queryPlanner.get("winningPlan") : null, stages);
+
+        boolean indexed = stages.stream().noneMatch("COLLSCAN"::equals)
+                && stages.stream().anyMatch(stage -> stage.contains("IXSCAN") || stage.contains("IDHACK"));
+        return new PlanReport(query.name(), stages, indexed);
+    }
+
+    private List<HotQuery> hotQueries() {
+        Date now = Date.from(Instant.now());
+        Date tenMinutesAgo = Date.from(Instant.now().minus(Duration.ofMinutes(10)));
+        String messages = mongoTemplate.getCollectionName(Message.class);
+
+        return List.of(
+                new HotQuery("messages.history", messages,
+                        new Document("room", EXPLAIN_PLACEHOLDER)
+                                .append("isDeleted", false)
+                                .append("timestamp", new Document("$lt", now)),
+                        new Document("timestamp", -1).append("_id", -1)),
+                new HotQuery("messages.recentCount", messages,
+                        new Document("room", new Document("$in", List.of(EXPLAIN_PLACEHOLDER)))
+                                .append("isDeleted", false)
+                                .append("timestamp", new Document("$gte", tenMinutesAgo)),
+                        new Document()),
+                new HotQuery("messages.byFile", messages,
+                        new Document("file", EXPLAIN_PLACEHOLDER),
+                        new Document()),
+                new HotQuery("rooms.recent", mongoTemplate.getCollectionName(Room.class),
+                        new Document(),
+                        new Document("createdAt", -1)),
+                new HotQuery("files.byFilename", mongoTemplate.getCollectionName(File.class),
+                        new Document("filename", EXPLAIN_PLACEHOLDER),
+                        new Document()),
+                new HotQuery("sessions.byUserId", mongoTemplate.getCollectionName(Session.class),
+                        new Document("userId", EXPLAIN_PLACEHOLDER),
+                        new Document()),
+                new HotQuery("readCursors.byRoom", mongoTemplate.getCollectionName(ReadCursor.class),
+                        new Document("room", EXPLAIN_PLACEHOLDER),
+                        new Document()));
+    }
+
+    private Map<String, Document> listIndexes(String collection) {
+        Map<String, Document> indexes = new LinkedHashMap<>();
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            String name = index.getString("name");
+            if (!"_id_".equals(name)) {
+                indexes.put(name, index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 복합 인덱스는 키 순서까지 같아야 같은 인덱스다. 방향 값은 서버에 따라 정수/실수로 올 수 있다.
+     */
+    static boolean sameKeys(Document actual, Document declared) {
+        if (actual == null || actual.size() != declared.size()) {
+            return false;
+        }
+        List<String> actualFields = new ArrayList<>(actual.keySet());
+        List<String> declaredFields = new ArrayList<>(declared.keySet());
+        if (!actualFields.equals(declaredFields)) {
+            return false;
+        }
+        for (String field : declaredFields) {
+            if (!normalize(actual.get(field)).equals(normalize(declared.get(field)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameOptions(Document actual, Document declared) {
+        return actual.getBoolean("unique", false) == declared.getBoolean("unique", false)
+                && actual.getBoolean("sparse", false) == declared.getBoolean("sparse", false)
+                && Objects.equals(asLong(actual.get("expireAfterSeconds")), asLong(declared.get("expireAfterSeconds")));
+    }
+
+    private static Object normalize(Object direction) {
+        return direction instanceof Number number ? (Object) number.intValue() : String.valueOf(direction);
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.service.ratelimit.RateLimitMongoStore;
+import com.ktb.chatapp.service.ratelimit.RateLimitRedisStore;
+import com.ktb.chatapp.service.ratelimit.RateLimitStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Rate limit 저장소 선택
+ * chatapp.ratelimit.store = mongo (기본) | redis
+ */
+@Slf4j
+@Configuration
+public class RateLimitStoreConfig {
+
+    @Bean
+    @Primary
+    public RateLimitStore rateLimitStore(
+            @Value("${chatapp.ratelimit.store:mongo}") String storeType,
+            ObjectProvider<RateLimitMongoStore> mongoStore,
+            ObjectProvider<RateLimitRedisStore> redisStore) {
+        log.info("Using rate limit store: {}", storeType);
+        return switch (storeType) {
+            case "mongo" -> mongoStore.getObject();
+            case "redis" -> redisStore.getObject();
+            default -> throw new IllegalStateException("Unknown chatapp.ratelimit.store: " + storeType);
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.ReadCursor;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지별 readers 배열에 남아 있는 과거 읽음 기록을 read_cursors로 옮기는 일회성 마이그레이션.
+ * (방, readers.userId)별로 읽은 메시지의 최대 timestamp를 집계해 커서에 $max로 병합하고,
+ * 옮긴 뒤 readers 필드와 readers_userId_idx 인덱스를 제거한다.
+ *
+ * - 옮길 readers가 없으면 아무것도 하지 않으므로 매 시작마다 실행해도 된다
+ * - 여러 노드가 동시에 실행해도 커서는 $max로만 전진하므로 결과가 같다
+ */
+@Slf4j
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "chatapp.read-cursor.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadCursorBackfill implements ApplicationRunner {
+
+    static final String LEGACY_FIELD = "readers";
+    static final String LEGACY_INDEX = "readers_userId_idx";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReadCursorBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            backfill();
+        } catch (Exception e) {
+            // 실패해도 readers는 남아 있으므로 다음 시작 때 다시 시도한다
+            log.error("Read cursor backfill failed, legacy readers are kept for the next attempt", e);
+        }
+    }
+
+    public void backfill() {
+        String messages = mongoTemplate.getCollectionName(Message.class);
+        Query legacy = new Query(Criteria.where(LEGACY_FIELD + ".0").exists(true));
+        if (!mongoTemplate.exists(legacy, messages)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        mongoTemplate.getCollection(messages)
+                .aggregate(pipeline())
+                .allowDiskUse(true)
+                .toCollection();
+
+        long cleared = mongoTemplate.updateMulti(
+                new Query(Criteria.where(LEGACY_FIELD).exists(true)),
+                new Update().unset(LEGACY_FIELD),
+                messages).getModifiedCount();
+        dropLegacyIndex(messages);
+
+        log.info("Read cursor backfill completed - messages: {}, elapsed: {}ms",
+                cleared, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * messages → (room, readers.userId)별 최대 timestamp → read_cursors ($max 병합)
+     */
+    private List<Document> pipeline() {
+        String cursors = mongoTemplate.getCollectionName(ReadCursor.class);
+        return List.of(
+                new Document("$match", new Document(LEGACY_FIELD + ".0", new Document("$exists", true))),
+                new Document("$project", new Document("room", 1)
+                        .append("timestamp", 1)
+                        .append(LEGACY_FIELD + ".userId", 1)),
+                new Document("$unwind", "$" + LEGACY_FIELD),
+                new Document("$match", new Document("room", new Document("$type", "string"))
+                        .append(LEGACY_FIELD + ".userId", new Document("$type", "string"))),
+                new Document("$group", new Document("_id", new Document("room", "$room")
+                        .append("user", "$" + LEGACY_FIELD + ".userId"))
+                        .append("lastReadAt", new Document("$max", "$timestamp"))),
+                new Document("$project", new Document("_id", new Document("$concat",
+                        List.of("$_id.room", ":", "$_id.user")))
+                        .append("room", "$_id.room")
+                        .append("user", "$_id.user")
+                        .append("lastReadAt", 1)
+                        .append("updatedAt", "$$NOW")),
+                new Document("$merge", new Document("into", cursors)
+                        .append("on", "_id")
+                        .append("whenMatched", List.of(new Document("$set", new Document("lastReadAt",
+                                new Document("$max", List.of("$lastReadAt", "$$new.lastReadAt"))))))
+                        .append("whenNotMatched", "insert")));
+    }
+
+    private void dropLegacyIndex(String collection) {
+        try {
+            boolean present = mongoTemplate.indexOps(collection).getIndexInfo().stream()
+                    .anyMatch(index -> LEGACY_INDEX.equals(index.getName()));
+            if (present) {
+                mongoTemplate.indexOps(collection).dropIndex(LEGACY_INDEX);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to drop legacy index {}: {}", LEGACY_INDEX, e.getMessage());
+        }
+    }
+}
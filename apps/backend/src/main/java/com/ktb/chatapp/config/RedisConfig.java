@@ -9,8 +9,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +22,9 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -47,6 +50,18 @@ public class RedisConfig {
     @Value("${cache.room-message-count.ttl:60}")
     private long roomMessageCountTtlSeconds;
 
+    @Value("${cache.user.local-ttl:30}")
+    private long userLocalCacheTtlSeconds;
+
+    @Value("${cache.user.local-max-size:10000}")
+    private int userLocalCacheMaxSize;
+
+    @Value("${cache.room-message-count.local-ttl:5}")
+    private long roomMessageCountLocalCacheTtlSeconds;
+
+    @Value("${cache.room-message-count.local-max-size:1000}")
+    private int roomMessageCountLocalCacheMaxSize;
+
     @jakarta.annotation.PostConstruct
     public void printRedisInfo() {
         System.out.println("=== [RedisConfig] Using Redis Host: " + redisHost + ", Port: " + redisPort + " ===");
@@ -106,8 +121,12 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Redis 캐시(L2) 앞에 캐시별 프로세스 내 L1을 두는 CacheManager.
+     * L1 TTL은 peer 무효화 메시지를 놓쳤을 때의 최대 지연이므로 L2 TTL보다 짧게 둔다.
+     */
     @Bean
-    public CacheManager cacheManager() {
+    public TwoTierCacheManager cacheManager(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
         RedisConnectionFactory cacheConnectionFactory = cacheRedisConnectionFactory();
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
@@ -117,7 +136,28 @@ public class RedisConfig {
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
         cacheConfigs.put("userCache", defaultConfig.entryTtl(Duration.ofSeconds(userCacheTtlSeconds)));
         cacheConfigs.put("roomMessageCountCache", defaultConfig.entryTtl(Duration.ofSeconds(roomMessageCountTtlSeconds)));
-        return RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(cacheConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(cacheConnectionFactory)
                 .cacheDefaults(defaultConfig).withInitialCacheConfigurations(cacheConfigs).build();
+        redisCacheManager.initializeCaches();
+
+        Map<String, TwoTierCacheManager.LocalCacheSpec> localSpecs = new HashMap<>();
+        localSpecs.put("userCache", new TwoTierCacheManager.LocalCacheSpec(
+                Duration.ofSeconds(userLocalCacheTtlSeconds), userLocalCacheMaxSize));
+        localSpecs.put("roomMessageCountCache", new TwoTierCacheManager.LocalCacheSpec(
+                Duration.ofSeconds(roomMessageCountLocalCacheTtlSeconds), roomMessageCountLocalCacheMaxSize));
+        return new TwoTierCacheManager(
+                redisCacheManager, localSpecs, stringRedisTemplate, cacheConnectionFactory, meterRegistry);
+    }
+
+    /**
+     * 다른 노드의 캐시 변경을 받아 L1을 비운다.
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
-}
\ No newline at end of file
+}
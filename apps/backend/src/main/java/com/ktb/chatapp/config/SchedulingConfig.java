@@ -0,0 +1,34 @@
+package com.ktb.chatapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 백그라운드 주기 작업(사전 리로드, 배치 flush 등)용 스케줄러.
+ * Socket.IO 워커 스레드와 분리된 별도 풀에서 실행된다.
+ *
+ * - 대부분의 @Scheduled 작업이 Redis/MongoDB I/O를 하므로, 한 작업이 느려져도 100~200ms 주기의
+ *   read-receipt/reaction flush가 밀리지 않도록 등록된 작업 수(현재 11개)보다 크게 잡는다
+ *   (fixedDelay 작업은 동시에 한 스레드만 쓰므로 풀 크기가 작업 수 이상이면 서로 기다리지 않는다)
+ * - @Scheduled 작업을 추가하면 pool-size 기본값도 함께 늘린다
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Value("${chatapp.scheduler.pool-size:16}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("chat-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.service.session.DualWriteSessionStore;
+import com.ktb.chatapp.service.session.SessionMongoStore;
+import com.ktb.chatapp.service.session.SessionRedisStore;
+import com.ktb.chatapp.service.session.SessionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 세션 저장소 선택
+ * chatapp.session.store = mongo (기본) | redis | dual (Redis 우선, Mongo 병행 기록)
+ */
+@Slf4j
+@Configuration
+public class SessionStoreConfig {
+
+    @Bean
+    @Primary
+    public SessionStore sessionStore(
+            @Value("${chatapp.session.store:mongo}") String storeType,
+            ObjectProvider<SessionMongoStore> mongoStore,
+            ObjectProvider<SessionRedisStore> redisStore) {
+        log.info("Using session store: {}", storeType);
+        return switch (storeType) {
+            case "mongo" -> mongoStore.getObject();
+            case "redis" -> redisStore.getObject();
+            case "dual" -> new DualWriteSessionStore(redisStore.getObject(), mongoStore.getObject());
+            default -> throw new IllegalStateException("Unknown chatapp.session.store: " + storeType);
+        };
+    }
+}
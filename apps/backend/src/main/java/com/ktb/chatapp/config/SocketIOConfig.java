@@ -8,9 +8,12 @@ import com.corundumstudio.socketio.namespace.Namespace;
 import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
 import com.corundumstudio.socketio.store.MemoryStoreFactory;
 import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
 import com.ktb.chatapp.websocket.socketio.LocalChatDataStore;
+import com.ktb.chatapp.websocket.socketio.RedisChatDataStore;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +23,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Role;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import static org.springframework.beans.factory.config.BeanDefinition.ROLE_INFRASTRUCTURE;
 
@@ -89,8 +93,20 @@ public class SocketIOConfig {
     
     // 인메모리 저장소, 단일 노드 환경에서만 사용
     @Bean
-    @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
-    public ChatDataStore chatDataStore() {
+    @ConditionalOnProperty(name = "chatapp.chat-data.store", havingValue = "local")
+    public ChatDataStore localChatDataStore() {
         return new LocalChatDataStore();
     }
+
+    // Redis 저장소, 여러 노드가 사용자-방 매핑과 접속 사용자를 공유
+    @Bean
+    @ConditionalOnProperty(name = "chatapp.chat-data.store", havingValue = "redis", matchIfMissing = true)
+    public ChatDataStore redisChatDataStore(
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${chatapp.chat-data.near-cache-ttl-ms:1000}") long nearCacheTtlMillis,
+            @Value("${chatapp.chat-data.node-ttl-ms:30000}") long nodeTtlMillis) {
+        return new RedisChatDataStore(stringRedisTemplate, objectMapper,
+                Duration.ofMillis(nearCacheTtlMillis), Duration.ofMillis(nodeTtlMillis));
+    }
 }
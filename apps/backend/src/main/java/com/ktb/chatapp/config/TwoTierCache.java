@@ -0,0 +1,281 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.LocalTtlCache;
+import io.micrometer.core.instrument.Counter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * 프로세스 내 L1(LocalTtlCache) + Redis L2 2단 캐시.
+ * 조회는 L1 → L2 순서로 하고 L2 결과를 L1에 채운다.
+ * 쓰기/삭제는 L2에 반영한 뒤 다른 노드에 무효화 메시지를 보내 L1을 비우게 한다.
+ *
+ * - get(key, loader)는 키별로 한 번만 로드하고 동시 요청은 같은 결과를 기다린다 (@Cacheable(sync = true))
+ * - null 값은 L1/L2 모두 저장하지 않는다
+ * - getAllPresent는 L1에 없는 키를 L2에서 MGET 한 번으로 읽는다 (L2가 RedisCache가 아니면 키별 조회)
+ * - L1은 같은 인스턴스를 모든 호출자에게 공유하므로 조회한 값을 수정하면 안 된다 (변경은 put/evict로 반영)
+ */
+class TwoTierCache implements Cache, BulkCache {
+
+    private final String name;
+    private final Cache remote;
+    private final LocalTtlCache<String, Object> local;
+    private final TwoTierCacheManager manager;
+    @Nullable
+    private final RedisConnectionFactory remoteConnectionFactory;
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final Counter localHitCounter;
+    private final Counter localMissCounter;
+
+    TwoTierCache(String name, Cache remote, LocalTtlCache<String, Object> local, TwoTierCacheManager manager,
+                 @Nullable RedisConnectionFactory remoteConnectionFactory,
+                 Counter localHitCounter, Counter localMissCounter) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.manager = manager;
+        this.remoteConnectionFactory = remoteConnectionFactory;
+        this.localHitCounter = localHitCounter;
+        this.localMissCounter = localMissCounter;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey(key), wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = getLocal(key);
+        if (value == null) {
+            value = remote.get(key, type);
+            if (value != null) {
+                local.put(localKey(key), value);
+            }
+        }
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> Map<String, T> getAllPresent(Collection<String> keys, Class<T> type) {
+        Map<String, T> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            Object value = getLocal(key);
+            if (type.isInstance(value)) {
+                found.put(key, type.cast(value));
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        getAllRemote(misses).forEach((key, value) -> {
+            if (type.isInstance(value)) {
+                local.put(key, value);
+                found.put(key, type.cast(value));
+            }
+        });
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(localKey, mine);
+        if (inFlight != null) {
+            return (T) await(inFlight, key, valueLoader);
+        }
+
+        try {
+            Object loaded = loadThrough(key, valueLoader);
+            mine.complete(loaded);
+            return (T) loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(localKey, mine);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        manager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null || existing.get() == null) {
+            if (value != null) {
+                local.put(localKey(key), value);
+            }
+        } else {
+            local.put(localKey(key), existing.get());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        manager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        manager.publishClear(name);
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지를 L1에만 반영한다.
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private Object getLocal(Object key) {
+        Object value = local.get(localKey(key));
+        (value != null ? localHitCounter : localMissCounter).increment();
+        return value;
+    }
+
+    private Map<String, Object> getAllRemote(List<String> keys) {
+        Map<String, Object> values = new HashMap<>();
+        if (!(remote instanceof RedisCache redisCache) || remoteConnectionFactory == null) {
+            for (String key : keys) {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    values.put(key, wrapper.get());
+                }
+            }
+            return values;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[][] rawKeys = keys.stream().map(key -> rawKey(config, key)).toArray(byte[][]::new);
+        List<byte[]> rawValues;
+        try (RedisConnection connection = remoteConnectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        if (rawValues == null) {
+            return values;
+        }
+        for (int i = 0; i < keys.size() && i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue != null) {
+                Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+                if (value != null) {
+                    values.put(keys.get(i), value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * RedisCache와 같은 규칙(캐시 이름 prefix + 키 직렬화)으로 Redis 키를 만든다.
+     */
+    private byte[] rawKey(RedisCacheConfiguration config, String key) {
+        String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(name) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    private Object loadThrough(Object key, Callable<?> valueLoader) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey(key), wrapper.get());
+            return wrapper.get();
+        }
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            remote.put(key, value);
+            local.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> inFlight, Object key, Callable<?> valueLoader) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
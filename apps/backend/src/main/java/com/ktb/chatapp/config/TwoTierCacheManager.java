@@ -0,0 +1,150 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.LocalTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+/**
+ * L1(프로세스 내) + L2(Redis) CacheManager.
+ * L1 설정이 있는 캐시만 TwoTierCache로 감싸고, 나머지는 Redis 캐시를 그대로 반환한다.
+ * 캐시 변경은 Redis pub/sub 채널로 다른 노드에 알려 해당 키의 L1을 비우게 한다.
+ * 메시지 형식: "{origin}\n{cache}" (전체 삭제) 또는 "{origin}\n{cache}\n{key}" (키 삭제)
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    /**
+     * 캐시별 L1 설정
+     */
+    public record LocalCacheSpec(Duration ttl, int maxSize) {
+    }
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final StringRedisTemplate redisTemplate;
+    /** L2(RedisCache)가 쓰는 연결. 여러 키 일괄 조회(MGET)에 쓴다 */
+    @Nullable
+    private final RedisConnectionFactory remoteConnectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    private final Counter publishErrorCounter;
+    private final Counter receivedCounter;
+
+    public TwoTierCacheManager(
+            CacheManager remoteCacheManager,
+            Map<String, LocalCacheSpec> localSpecs,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this(remoteCacheManager, localSpecs, redisTemplate, null, meterRegistry);
+    }
+
+    public TwoTierCacheManager(
+            CacheManager remoteCacheManager,
+            Map<String, LocalCacheSpec> localSpecs,
+            StringRedisTemplate redisTemplate,
+            @Nullable RedisConnectionFactory remoteConnectionFactory,
+            MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.redisTemplate = redisTemplate;
+        this.remoteConnectionFactory = remoteConnectionFactory;
+        this.meterRegistry = meterRegistry;
+
+        this.publishErrorCounter = Counter.builder("cache.invalidation.publish_errors")
+                .description("Failures publishing cache invalidations to peer nodes")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Cache invalidations received from peer nodes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        LocalCacheSpec spec = localSpecs.get(name);
+        if (spec == null) {
+            return remoteCacheManager.getCache(name);
+        }
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, ignored -> new TwoTierCache(
+                name,
+                remote,
+                new LocalTtlCache<>(spec.ttl(), spec.maxSize()),
+                this,
+                remoteConnectionFactory,
+                localCounter(name, "hit"),
+                localCounter(name, "miss")));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + "\n" + cacheName + "\n" + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + "\n" + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            publishErrorCounter.increment();
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        receivedCounter.increment();
+        if (parts.length == 2) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+
+    private Counter localCounter(String cacheName, String result) {
+        return Counter.builder("cache.local.requests")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .description("In-process L1 cache lookups")
+                .register(meterRegistry);
+    }
+}
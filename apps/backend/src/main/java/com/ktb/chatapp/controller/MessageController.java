@@ -1,6 +1,14 @@
 package com.ktb.chatapp.controller;
 
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.StandardResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.websocket.socketio.handler.MessageLoader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,40 +27,73 @@ import java.security.Principal;
 /**
  * 메시지 시스템 REST API 컨트롤러
  *
- * - GET /api/message/rooms/:roomId/messages → 500 에러 (미구현)
- * - 모든 메시지 기능은 Socket.IO를 통해 제공됨
+ * - GET /api/message/rooms/:roomId/messages → keyset 커서 기반 메시지 이력 조회
+ * - 메시지 전송 등 실시간 기능은 Socket.IO를 통해 제공됨
  */
-@Tag(name = "메시지 (Messages)", description = "메시지 관련 API (주의: 실제 메시지 기능은 Socket.IO를 통해 제공됩니다)")
+@Tag(name = "메시지 (Messages)", description = "메시지 관련 API (주의: 메시지 전송은 Socket.IO를 통해 제공됩니다)")
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/message")
 public class MessageController {
 
+    private static final int MAX_LIMIT = 100;
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final MessageLoader messageLoader;
+
     /**
-     * 채팅방 메시지 조회 - 미구현 (500 반환)
-     * 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.
+     * 채팅방 메시지 조회
+     * Socket.IO의 'fetchPreviousMessages' 이벤트와 동일한 keyset 커서 페이지네이션을 사용한다.
      */
     @Operation(
-        summary = "메시지 조회 (미구현)",
-        description = "이 엔드포인트는 미구현 상태입니다. 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.",
-        deprecated = true
+        summary = "메시지 조회",
+        description = "채팅방 메시지를 최신순 페이지 단위로 조회합니다. 응답의 nextCursor를 cursor로 전달하면 이전 메시지를 이어서 조회합니다."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "500", description = "미구현 엔드포인트",
+        @ApiResponse(responseCode = "200", description = "메시지 조회 성공",
+            content = @Content(schema = @Schema(implementation = FetchMessagesResponse.class))),
+        @ApiResponse(responseCode = "400", description = "잘못된 커서",
             content = @Content(schema = @Schema(implementation = StandardResponse.class),
-                examples = @ExampleObject(value = "{\"success\":false,\"message\":\"미구현.\"}")))
+                examples = @ExampleObject(value = "{\"success\":false,\"message\":\"잘못된 커서 형식입니다.\"}"))),
+        @ApiResponse(responseCode = "403", description = "채팅방 접근 권한 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "서버 내부 오류",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class)))
     })
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> loadMessages(
             @Parameter(description = "채팅방 ID") @PathVariable String roomId,
-            @Parameter(description = "이전 메시지 ID (페이지네이션)") @RequestParam(required = false) String before,
+            @Parameter(description = "이 시각(epoch millis) 이전 메시지 조회") @RequestParam(required = false) Long before,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
             @Parameter(description = "조회할 메시지 개수", example = "30") @RequestParam(defaultValue = "30") Integer limit,
             Principal principal) {
-        log.debug("Message REST API called - returning 500 (not implemented, use Socket.IO)");
-        
-        return ResponseEntity.status(500).body(
-                StandardResponse.error("미구현.")
-        );
+        try {
+            if (cursor != null && !cursor.isBlank()) {
+                MessageCursor.decode(cursor);
+            }
+
+            User user = userRepository.findByEmail(principal.getName()).orElse(null);
+            Room room = roomRepository.findById(roomId).orElse(null);
+            if (user == null || room == null || !room.getParticipantIds().contains(user.getId())) {
+                return ResponseEntity.status(403).body(
+                        StandardResponse.error("채팅방 접근 권한이 없습니다.")
+                );
+            }
+
+            int pageSize = Math.min(Math.max(1, limit), MAX_LIMIT);
+            FetchMessagesResponse result = messageLoader.findMessages(
+                    new FetchMessagesRequest(roomId, pageSize, before, cursor));
+
+            return ResponseEntity.ok(StandardResponse.success(result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(StandardResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Message load error - roomId: {}", roomId, e);
+            return ResponseEntity.status(500).body(
+                    StandardResponse.error("메시지를 불러오는데 실패했습니다.")
+            );
+        }
     }
 }
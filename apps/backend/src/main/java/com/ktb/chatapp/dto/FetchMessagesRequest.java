@@ -3,8 +3,14 @@ package com.ktb.chatapp.dto;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
-// 최초는 limit 개수만 조회, 이후에는 before 메시지 ID 기준으로 이전 메시지 조회
-public record FetchMessagesRequest(String roomId, Integer limit, Long before) {
+// 최초는 limit 개수만 조회, 이후에는 cursor(timestamp, _id) 기준으로 이전 메시지 조회
+// before(timestamp)만 전달하는 기존 클라이언트도 지원한다
+public record FetchMessagesRequest(String roomId, Integer limit, Long before, String cursor) {
+
+    public FetchMessagesRequest(String roomId, Integer limit, Long before) {
+        this(roomId, limit, before, null);
+    }
+
     public int limit(int defaultLimit) {
         return limit != null && limit > 0 ? limit : defaultLimit;
     }
@@ -18,4 +24,11 @@ public record FetchMessagesRequest(String roomId, Integer limit, Long before) {
         }
         return defaultBeforeTime;
     }
+
+    /**
+     * @return 커서가 없으면 null
+     */
+    public MessageCursor parsedCursor() {
+        return cursor != null && !cursor.isBlank() ? MessageCursor.decode(cursor) : null;
+    }
 }
@@ -14,6 +14,8 @@ import java.util.List;
 public class FetchMessagesResponse {
     private List<MessageResponse> messages;
     private boolean hasMore;
+    // 다음 페이지 조회용 커서 (hasMore가 false면 null)
+    private String nextCursor;
     
     public long firstMessageTimestamp() {
         return messages.getFirst().getTimestamp();
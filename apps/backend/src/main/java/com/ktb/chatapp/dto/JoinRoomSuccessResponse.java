@@ -17,6 +17,8 @@ import java.util.List;
 public class JoinRoomSuccessResponse {
     private String roomId;
     private List<UserResponse> participants;
+    /** participants를 읽기 직전의 참가자 버전 (participantJoined/participantLeft 기준점) */
+    private Long participantsVersion;
     private List<MessageResponse> messages;
     private boolean hasMore;
     private List<ActiveStreamResponse> activeStreams;
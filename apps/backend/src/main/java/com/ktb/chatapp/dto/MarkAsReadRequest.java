@@ -6,5 +6,7 @@ import java.util.List;
 
 @Data
 public class MarkAsReadRequest {
+    // 선택 값: 전달되면 첫 메시지로 방을 조회하지 않는다
+    private String roomId;
     private List<String> messageIds;
 }
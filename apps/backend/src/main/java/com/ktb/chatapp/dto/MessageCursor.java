@@ -0,0 +1,59 @@
+package com.ktb.chatapp.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.bson.types.ObjectId;
+
+/**
+ * 메시지 keyset 페이지네이션 커서 (timestamp, _id).
+ * 같은 timestamp를 가진 메시지도 _id로 순서가 정해지므로 누락/중복 없이 이어서 조회할 수 있다.
+ * 문자열 형식: "{epochMillis}_{objectId}"
+ */
+public record MessageCursor(long timestamp, String id) {
+
+    private static final char SEPARATOR = '_';
+
+    public String encode() {
+        return timestamp + String.valueOf(SEPARATOR) + id;
+    }
+
+    /**
+     * @return 형식이 올바르지 않으면 IllegalArgumentException
+     */
+    public static MessageCursor decode(String cursor) {
+        int separator = cursor.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == cursor.length() - 1) {
+            throw new IllegalArgumentException("잘못된 커서 형식입니다.");
+        }
+        try {
+            long timestamp = Long.parseLong(cursor.substring(0, separator));
+            String id = cursor.substring(separator + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("잘못된 커서 형식입니다.");
+            }
+            return new MessageCursor(timestamp, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서 형식입니다.", e);
+        }
+    }
+
+    /**
+     * (timestamp, id) 순서에서 주어진 메시지가 이 커서보다 뒤에 있는지.
+     * id가 비어 있는 커서는 해당 시각의 메시지를 모두 뒤에 있는 것으로 본다.
+     */
+    public boolean isBefore(long messageTimestamp, String messageId) {
+        if (messageTimestamp != timestamp) {
+            return messageTimestamp > timestamp;
+        }
+        return messageId != null && messageId.compareTo(id) > 0;
+    }
+
+    public LocalDateTime timestampAsLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    public ObjectId objectId() {
+        return new ObjectId(id);
+    }
+}
@@ -6,10 +6,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * 리액션 상태 브로드캐스트.
+ * version은 메시지의 reactionsVersion이며, 클라이언트는 이미 적용한 버전 이하의 상태를 무시한다.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessageReactionResponse {
     private String messageId;
     private Map<String, Set<String>> reactions;
+    private long version;
 }
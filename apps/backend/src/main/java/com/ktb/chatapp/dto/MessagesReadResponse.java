@@ -1,15 +1,37 @@
 package com.ktb.chatapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * 읽음 상태 브로드캐스트.
+ * 한 윈도우에 한 사용자만 읽었으면 userId/messageIds를, 여러 사용자가 읽었으면 receipts를 채운다.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MessagesReadResponse {
     private String userId;
     private List<String> messageIds;
+    private List<Receipt> receipts;
+
+    public MessagesReadResponse(String userId, List<String> messageIds) {
+        this(userId, messageIds, null);
+    }
+
+    public static MessagesReadResponse of(List<Receipt> receipts) {
+        if (receipts.size() == 1) {
+            Receipt receipt = receipts.getFirst();
+            return new MessagesReadResponse(receipt.userId(), receipt.messageIds());
+        }
+        return new MessagesReadResponse(null, null, receipts);
+    }
+
+    public record Receipt(String userId, List<String> messageIds) {
+    }
 }
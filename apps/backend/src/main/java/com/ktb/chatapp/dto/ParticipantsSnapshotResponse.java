@@ -0,0 +1,21 @@
+package com.ktb.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * participantsSnapshot 이벤트 응답 DTO.
+ * version은 participantJoined/participantLeft 이벤트와 같은 방별 버전이며,
+ * 클라이언트는 이 버전 이후의 증분만 적용한다. 버전을 읽지 못하면 null이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantsSnapshotResponse {
+    private String roomId;
+    private Long version;
+    private List<UserResponse> participants;
+}
@@ -0,0 +1,24 @@
+package com.ktb.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * resume 이벤트 응답 DTO.
+ * 재연결 시 다시 구독한 방마다 클라이언트가 마지막으로 본 시각 이후의 메시지만 담는다.
+ * hasGap이면 messages는 최신 페이지이고 그 이전에 놓친 메시지가 더 있을 수 있다.
+ * degraded이면 동시 재연결이 많아 메시지를 생략했으므로 클라이언트가 필요할 때 다시 조회한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomResumeResponse {
+    private List<RoomResume> rooms;
+    private boolean degraded;
+
+    public record RoomResume(String roomId, List<MessageResponse> messages, boolean hasGap) {
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -29,18 +30,15 @@ import java.util.Set;
 @AllArgsConstructor
 @Document(collection = "messages")
 @CompoundIndexes({
-        @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}")
-        // 인덱스 충돌 방지를 위해 주석 처리
-        //@CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
+        // 히스토리 페이지 조회와 최근 메시지 수 집계 공용. _id는 (timestamp, _id) 커서 정렬용
+        @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1, '_id': -1}")
 })
 public class Message {
 
     @Id
     private String id;
 
-    // Mongo 문서 필드명 "room" 사용
-    // ❌ @Indexed 주석 처리
-    //@Indexed
+    // Mongo 문서 필드명 "room" 사용 (단일 인덱스 대신 room_isDeleted_timestamp_idx 사용)
     @Field("room")
     private String roomId;
 
@@ -53,8 +51,9 @@ public class Message {
 
     private MessageType type;
 
-    // Mongo 문서 필드명 "file" 사용
+    // Mongo 문서 필드명 "file" 사용 (파일 첨부 메시지만 인덱싱)
     @Field("file")
+    @Indexed(name = "file_idx", sparse = true)
     private String fileId;
 
     private AiType aiType;
@@ -68,20 +67,17 @@ public class Message {
     @Builder.Default
     private Map<String, Set<String>> reactions = new HashMap<>();
 
-    // 메시지 읽음 상태 관리
-    @Builder.Default
-    private List<MessageReader> readers = new ArrayList<>();
+    // 리액션이 변경될 때마다 증가 (브로드캐스트 순서 판단용)
+    private long reactionsVersion;
 
     // 자유 형식 metadata 저장 필드
     @Builder.Default
     private Map<String, Object> metadata = new HashMap<>();
 
-    // ❌ @Indexed 주석 처리
-    //@Indexed
     @Builder.Default
     private Boolean isDeleted = false;
 
-    // 메시지 읽음 상태를 나타내는 내부 클래스
+    // 메시지 읽음 상태를 나타내는 내부 클래스 (ReadCursor에서 계산해 응답에만 사용)
     @Data
     @Builder
     @NoArgsConstructor
@@ -95,46 +91,6 @@ public class Message {
         return timestamp.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
-    /**
-     * 메시지에 리액션을 추가한다.
-     * Tell, Don't Ask 원칙을 준수하여 도메인 로직을 캡슐화한다.
-     *
-     * @param reaction 리액션 이모지
-     * @param userId 사용자 ID
-     * @return 리액션이 추가되었으면 true, 이미 존재하면 false
-     */
-    public boolean addReaction(String reaction, String userId) {
-        if (this.reactions == null) {
-            this.reactions = new HashMap<>();
-        }
-        Set<String> userReactions = this.reactions.computeIfAbsent(
-                reaction,
-                key -> new java.util.HashSet<>()
-        );
-        return userReactions.add(userId);
-    }
-
-    /**
-     * 메시지에서 리액션을 제거한다.
-     *
-     * @param reaction 리액션 이모지
-     * @param userId 사용자 ID
-     * @return 리액션이 제거되었으면 true, 존재하지 않았으면 false
-     */
-    public boolean removeReaction(String reaction, String userId) {
-        if (this.reactions == null) {
-            return false;
-        }
-        Set<String> userReactions = this.reactions.get(reaction);
-        if (userReactions != null && userReactions.remove(userId)) {
-            if (userReactions.isEmpty()) {
-                this.reactions.remove(reaction);
-            }
-            return true;
-        }
-        return false;
-    }
-
     /**
      * 파일 메타데이터를 메시지에 첨부한다.
      *
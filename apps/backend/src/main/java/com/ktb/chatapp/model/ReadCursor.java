@@ -0,0 +1,53 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * (방, 사용자)별 읽음 커서.
+ * 사용자가 방에서 마지막으로 읽은 메시지의 timestamp(high-water mark)를 저장하고,
+ * 그 이전에 작성된 메시지는 모두 읽은 것으로 본다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "read_cursors")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_lastReadAt_idx", def = "{'room': 1, 'lastReadAt': -1}")
+})
+public class ReadCursor {
+
+    /** roomId:userId */
+    @Id
+    private String id;
+
+    @Field("room")
+    private String roomId;
+
+    @Field("user")
+    private String userId;
+
+    // 마지막으로 읽은 메시지의 timestamp
+    private LocalDateTime lastReadAt;
+
+    // 커서가 마지막으로 전진한 시각
+    private LocalDateTime updatedAt;
+
+    public static String idOf(String roomId, String userId) {
+        return roomId + ":" + userId;
+    }
+
+    public long lastReadMillis() {
+        return lastReadAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
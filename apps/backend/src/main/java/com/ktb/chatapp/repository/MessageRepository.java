@@ -4,8 +4,8 @@ import com.ktb.chatapp.model.Message;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
@@ -13,8 +13,21 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MessageRepository extends MongoRepository<Message, String> {
-    Page<Message> findByRoomIdAndIsDeletedAndTimestampBefore(
-            String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+    /**
+     * timestamp 이전 메시지를 (timestamp, _id) 내림차순으로 조회 (count 쿼리 없음)
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false, 'timestamp': { $lt: ?1 } }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findPageBefore(String roomId, LocalDateTime before, Limit limit);
+
+    /**
+     * keyset 커서 (timestamp, _id) 이전 메시지를 내림차순으로 조회 (count 쿼리 없음)
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false, $or: [ "
+            + "{ 'timestamp': { $lt: ?1 } }, "
+            + "{ 'timestamp': ?1, '_id': { $lt: ?2 } } ] }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findPageBeforeCursor(String roomId, LocalDateTime timestamp, ObjectId id, Limit limit);
 
     /**
      * 특정 시간 이후의 메시지 수 카운트 (삭제되지 않은 메시지만)
@@ -27,11 +27,17 @@ public interface RoomRepository extends MongoRepository<Room, String> {
     @Query(value = "{}", fields = "{ '_id': 1 }")
     Optional<Room> findOneForHealthCheck();
 
+    /**
+     * @return 실제로 변경된 문서 수 (이미 참여 중이면 0)
+     */
     @Query("{'_id': ?0}")
     @Update("{'$addToSet': {'participantIds': ?1}}")
-    void addParticipant(String roomId, String userId);
+    long addParticipant(String roomId, String userId);
 
+    /**
+     * @return 실제로 변경된 문서 수 (참여 중이 아니면 0)
+     */
     @Query("{'_id': ?0}")
     @Update("{'$pull': {'participantIds': ?1}}")
-    void removeParticipant(String roomId, String userId);
+    long removeParticipant(String roomId, String userId);
 }
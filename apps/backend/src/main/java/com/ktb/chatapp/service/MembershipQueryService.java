@@ -0,0 +1,72 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * 소켓 이벤트 경로의 존재/참여 여부 확인용 경량 조회 서비스.
+ * 문서 전체를 읽지 않고 _id 기준 조건과 필요한 필드만의 projection으로 조회해
+ * 역직렬화 비용과 전송 바이트를 줄인다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MembershipQueryService {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * {_id: roomId, participantIds: userId} 존재 여부만 확인한다.
+     */
+    public boolean isParticipant(String roomId, String userId) {
+        if (roomId == null || userId == null) {
+            return false;
+        }
+        return mongoTemplate.exists(
+                idOnly(Criteria.where("_id").is(roomId).and("participantIds").is(userId)), Room.class);
+    }
+
+    public boolean roomExists(String roomId) {
+        return roomId != null && mongoTemplate.exists(idOnly(Criteria.where("_id").is(roomId)), Room.class);
+    }
+
+    public boolean userExists(String userId) {
+        return userId != null && mongoTemplate.exists(idOnly(Criteria.where("_id").is(userId)), User.class);
+    }
+
+    /**
+     * 메시지가 속한 방 ID를 room 필드만 projection 해서 조회한다.
+     */
+    public Optional<String> findRoomIdOfMessage(String messageId) {
+        Query query = new Query(Criteria.where("_id").is(messageId));
+        query.fields().include("room");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Message.class))
+                .map(Message::getRoomId);
+    }
+
+    /**
+     * 방의 참가자 ID 목록을 participantIds 필드만 projection 해서 조회한다.
+     *
+     * @return 방이 없으면 empty
+     */
+    public Optional<Set<String>> findParticipantIds(String roomId) {
+        Query query = new Query(Criteria.where("_id").is(roomId));
+        query.fields().include("participantIds");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Room.class))
+                .map(room -> room.getParticipantIds() != null ? room.getParticipantIds() : new HashSet<>());
+    }
+
+    private static Query idOnly(Criteria criteria) {
+        Query query = new Query(criteria).limit(1);
+        query.fields().include("_id");
+        return query;
+    }
+}
@@ -1,63 +1,214 @@
 package com.ktb.chatapp.service;
 
+import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.model.ReadCursor;
+import com.ktb.chatapp.util.LocalTtlCache;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import com.mongodb.client.result.UpdateResult;
+import com.mongodb.bulk.BulkWriteResult;
 
 /**
  * 메시지 읽음 상태 관리 서비스
- * Bulk Update로 N+1 문제 해결
+ * 메시지마다 readers 배열을 키우는 대신 (방, 사용자)별 읽음 커서(ReadCursor)만 $max upsert 하고,
+ * 메시지의 읽은 사용자 목록은 조회 시점에 timestamp와 커서를 비교해 계산한다.
+ *
+ * - 방별 커서 목록은 짧게 로컬 캐시하고, 이 노드에서 전진시킨 커서는 캐시에도 바로 반영한다
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageReadStatusService {
 
-    private final MessageRepository messageRepository;
+    private static final Duration ROOM_CURSOR_CACHE_TTL = Duration.ofSeconds(2);
+    private static final int ROOM_CURSOR_CACHE_MAX_SIZE = 10_000;
+
     private final MongoTemplate mongoTemplate;
 
+    /** roomId → userId → 커서 */
+    private final LocalTtlCache<String, Map<String, ReadCursor>> roomCursorCache =
+            new LocalTtlCache<>(ROOM_CURSOR_CACHE_TTL, ROOM_CURSOR_CACHE_MAX_SIZE);
+
     /**
-     * 메시지 읽음 상태 업데이트 (Bulk Update)
+     * 사용자의 읽음 커서를 readUpTo까지 전진시킨다. 이미 더 최신이면 유지된다.
      *
-     * @param messageIds 읽음 상태를 업데이트할 메시지 리스트
-     * @param userId 읽은 사용자 ID
+     * @param readUpTo 읽은 메시지 중 가장 최신 메시지의 timestamp
      */
-    public void updateReadStatus(List<String> messageIds, String userId) {
-        if (messageIds == null || messageIds.isEmpty()) {
+    public void markReadUpTo(String roomId, String userId, LocalDateTime readUpTo) {
+        if (readUpTo == null) {
             return;
         }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.upsert(cursorQuery(roomId, userId), cursorUpdate(roomId, userId, readUpTo, now),
+                    ReadCursor.class);
+            applyLocally(roomId, userId, readUpTo, now);
 
-        Message.MessageReader readerInfo = Message.MessageReader.builder()
-                .userId(userId)
-                .readAt(LocalDateTime.now())
-                .build();
+        } catch (Exception e) {
+            log.error("Read cursor update error for user {} in room {}", userId, roomId, e);
+        }
+    }
 
+    /**
+     * 여러 (방, 사용자)의 읽음을 한 번에 반영한다.
+     * 메시지 timestamp는 projection 조회 한 번으로 구하고, 커서는 한 번의 unordered bulk upsert로 전진시킨다.
+     * 다른 방의 메시지이거나 아직 저장되지 않은 메시지 ID는 무시한다.
+     *
+     * @param messageIdsByRoom roomId → userId → 읽은 메시지 ID 목록
+     * @return 실제로 반영된 roomId → userId → 그 방에 속한 메시지 ID (오류 시 비어 있음)
+     */
+    public Map<String, Map<String, List<String>>> markRead(
+            Map<String, ? extends Map<String, ? extends Collection<String>>> messageIdsByRoom) {
+        if (messageIdsByRoom == null || messageIdsByRoom.isEmpty()) {
+            return Map.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
         try {
-            // 🚀 Bulk Update: 이미 읽은 메시지는 제외하고 한 번에 업데이트
-            Query query = new Query(
-                    Criteria.where("_id").in(messageIds)
-                            .and("readers.userId").ne(userId)  // 이미 읽은 건 제외
-            );
+            Map<String, Message> messages = findTimestamps(messageIdsByRoom);
+            Map<String, Map<String, LocalDateTime>> readUpTo = new HashMap<>();
+            Map<String, Map<String, List<String>>> applied = new LinkedHashMap<>();
+            messageIdsByRoom.forEach((roomId, users) -> users.forEach((userId, messageIds) -> {
+                LocalDateTime newest = null;
+                List<String> validIds = new ArrayList<>();
+                for (String messageId : messageIds) {
+                    Message message = messages.get(messageId);
+                    if (message == null || !roomId.equals(message.getRoomId()) || message.getTimestamp() == null) {
+                        continue;
+                    }
+                    validIds.add(messageId);
+                    if (newest == null || message.getTimestamp().isAfter(newest)) {
+                        newest = message.getTimestamp();
+                    }
+                }
+                if (newest != null) {
+                    readUpTo.computeIfAbsent(roomId, key -> new HashMap<>()).put(userId, newest);
+                    applied.computeIfAbsent(roomId, key -> new LinkedHashMap<>()).put(userId, validIds);
+                }
+            }));
+            if (readUpTo.isEmpty()) {
+                return Map.of();
+            }
+
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReadCursor.class);
+            readUpTo.forEach((roomId, users) -> users.forEach((userId, lastReadAt) ->
+                    bulkOps.upsert(cursorQuery(roomId, userId), cursorUpdate(roomId, userId, lastReadAt, now))));
+            BulkWriteResult result = bulkOps.execute();
+            readUpTo.forEach((roomId, users) -> users.forEach((userId, lastReadAt) ->
+                    applyLocally(roomId, userId, lastReadAt, now)));
 
-            Update update = new Update().addToSet("readers", readerInfo);
+            log.debug("Read cursors bulk updated: {} modified, {} upserted",
+                    result.getModifiedCount(), result.getUpserts().size());
+            return applied;
 
-            UpdateResult result = mongoTemplate.updateMulti(query, update, Message.class);
+        } catch (Exception e) {
+            log.error("Read cursor bulk update error for rooms {}", messageIdsByRoom.keySet(), e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 사용자가 timestampMillis에 작성된 메시지까지 읽었는지 여부
+     */
+    public boolean hasRead(String roomId, String userId, long timestampMillis) {
+        ReadCursor cursor = findRoomCursors(roomId).get(userId);
+        return cursor != null && cursor.lastReadMillis() >= timestampMillis;
+    }
 
-            log.debug("Read status updated: {} messages modified by user {}",
-                    result.getModifiedCount(), userId);
+    /**
+     * 방의 읽음 커서로 메시지별 readers를 계산해 채운 복사본을 반환한다.
+     * 원본은 버퍼/캐시가 공유하는 객체일 수 있으므로 수정하지 않는다.
+     */
+    public List<MessageResponse> withReaders(String roomId, List<MessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        Collection<ReadCursor> cursors = findRoomCursors(roomId).values();
+        List<MessageResponse> result = new ArrayList<>(messages.size());
+        for (MessageResponse message : messages) {
+            List<Message.MessageReader> readers = new ArrayList<>();
+            for (ReadCursor cursor : cursors) {
+                if (cursor.lastReadMillis() >= message.getTimestamp()) {
+                    readers.add(new Message.MessageReader(cursor.getUserId(), cursor.getUpdatedAt()));
+                }
+            }
+            result.add(message.toBuilder().readers(readers).build());
+        }
+        return result;
+    }
 
+    private Map<String, ReadCursor> findRoomCursors(String roomId) {
+        Map<String, ReadCursor> cached = roomCursorCache.get(roomId);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, ReadCursor> cursors = new ConcurrentHashMap<>();
+        try {
+            Query query = new Query(Criteria.where("room").is(roomId));
+            query.fields().include("user", "lastReadAt", "updatedAt");
+            for (ReadCursor cursor : mongoTemplate.find(query, ReadCursor.class)) {
+                if (cursor.getUserId() != null && cursor.getLastReadAt() != null) {
+                    cursors.put(cursor.getUserId(), cursor);
+                }
+            }
+            roomCursorCache.put(roomId, cursors);
         } catch (Exception e) {
-            log.error("Read status update error for user {}", userId, e);
+            log.error("Read cursor lookup error for room {}", roomId, e);
         }
+        return cursors;
+    }
+
+    private Map<String, Message> findTimestamps(
+            Map<String, ? extends Map<String, ? extends Collection<String>>> messageIdsByRoom) {
+        Set<String> messageIds = new HashSet<>();
+        messageIdsByRoom.values().forEach(users -> users.values().forEach(messageIds::addAll));
+
+        Query query = new Query(Criteria.where("_id").in(messageIds));
+        query.fields().include("room", "timestamp");
+        Map<String, Message> messages = new HashMap<>();
+        for (Message message : mongoTemplate.find(query, Message.class)) {
+            messages.put(message.getId(), message);
+        }
+        return messages;
+    }
+
+    private void applyLocally(String roomId, String userId, LocalDateTime lastReadAt, LocalDateTime updatedAt) {
+        Map<String, ReadCursor> cursors = roomCursorCache.get(roomId);
+        if (cursors == null) {
+            return;
+        }
+        ReadCursor advanced = new ReadCursor(ReadCursor.idOf(roomId, userId), roomId, userId, lastReadAt, updatedAt);
+        cursors.merge(userId, advanced, (current, candidate) ->
+                current.getLastReadAt().isBefore(candidate.getLastReadAt()) ? candidate : current);
+    }
+
+    private static Query cursorQuery(String roomId, String userId) {
+        return new Query(Criteria.where("_id").is(ReadCursor.idOf(roomId, userId)));
+    }
+
+    private static Update cursorUpdate(String roomId, String userId, LocalDateTime lastReadAt, LocalDateTime now) {
+        return new Update()
+                .setOnInsert("room", roomId)
+                .setOnInsert("user", userId)
+                .max("lastReadAt", lastReadAt)
+                .set("updatedAt", now);
     }
 }
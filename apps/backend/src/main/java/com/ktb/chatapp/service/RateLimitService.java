@@ -1,6 +1,6 @@
 package com.ktb.chatapp.service;
 
-import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.ratelimit.LocalRateLimitTier;
 import com.ktb.chatapp.service.ratelimit.RateLimitStore;
 import jakarta.annotation.PostConstruct;
 import java.time.Duration;
@@ -9,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import static java.net.InetAddress.*;
 
@@ -19,6 +18,7 @@ import static java.net.InetAddress.*;
 public class RateLimitService {
 
     private final RateLimitStore rateLimitStore;
+    private final LocalRateLimitTier localRateLimitTier;
     @Value("${HOSTNAME:''}")
     private String hostName;
     
@@ -39,48 +39,18 @@ public class RateLimitService {
     }
     
     
-    @Transactional
     public RateLimitCheckResult checkRateLimit(String _clientId, int maxRequests, Duration window) {
         String actualClientId = hostName + ":" + _clientId;
         long windowSeconds = Math.max(1L, window.getSeconds());
-        Instant now = Instant.now();
-        long nowEpochSeconds = now.getEpochSecond();
-        Instant expiresAt = now.plus(window);
 
         try {
-            RateLimit rateLimit = rateLimitStore.findByClientId(actualClientId).orElse(null);
-            int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
-
-            if (rateLimit != null && currentCount >= maxRequests) {
-                long retryAfterSeconds = Math.max(1L,
-                    rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-                long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-                return RateLimitCheckResult.rejected(
-                        maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
-            }
-
-            // Create or update rate limit
-            if (rateLimit == null) {
-                rateLimit = RateLimit.builder()
-                        .clientId(actualClientId)
-                        .count(1)
-                        .expiresAt(expiresAt)
-                        .build();
-            } else {
-                rateLimit.setCount(currentCount + 1);
+            if (localRateLimitTier.appliesTo(maxRequests)) {
+                return localRateLimitTier.tryAcquire(actualClientId, maxRequests, window);
             }
-            rateLimitStore.save(rateLimit);
-
-            int newCount = currentCount + 1;
-            int remaining = Math.max(0, maxRequests - newCount);
-            long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-
-            return RateLimitCheckResult.allowed(
-                    maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+            return rateLimitStore.tryAcquire(actualClientId, maxRequests, window);
         } catch (Exception e) {
             log.error("Rate limit check failed for client: {}", actualClientId, e);
-            long resetEpochSeconds = nowEpochSeconds + windowSeconds;
+            long resetEpochSeconds = Instant.now().getEpochSecond() + windowSeconds;
             return RateLimitCheckResult.allowed(
                     maxRequests, maxRequests, windowSeconds, resetEpochSeconds, windowSeconds);
         }
@@ -0,0 +1,190 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.PageRequest;
+import com.ktb.chatapp.dto.RoomsResponse;
+import com.ktb.chatapp.model.Room;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 목록/단건 캐시 (roomMessageCountCache).
+ * 목록 페이지 키에 세대(version) 번호를 넣어, 변경 시 전체 키를 지우는 대신 세대만 올려 이전 페이지를 무효화한다.
+ * 이전 세대의 페이지는 읽히지 않고 TTL로 만료된다.
+ *
+ * - general 세대: 방 생성처럼 모든 목록의 구성/순서가 바뀔 수 있을 때 증가
+ * - participants 세대: 참여자 변경 시 증가, participantsCount 정렬 목록에만 반영
+ * - room:{id} 단건 항목은 변경된 Room으로 바로 덮어쓰거나 해당 키만 지운다
+ * - 세대 조회에 실패하면 캐시를 건너뛰고 DB에서 조회한다
+ * - 반환된 Room/RoomsResponse는 L1에서 다른 요청과 공유되므로 읽기 전용으로만 쓴다
+ */
+@Slf4j
+@Component
+public class RoomListCache {
+
+    static final String CACHE_NAME = "roomMessageCountCache";
+    static final String GENERAL_VERSION_KEY = "room-list:version:general";
+    static final String PARTICIPANTS_VERSION_KEY = "room-list:version:participants";
+
+    private static final String PARTICIPANTS_SORT = "participantsCount";
+
+    /**
+     * 캐시 키 종류 (메트릭 태그)
+     */
+    enum Family {
+        LIST, SEARCH, ROOM;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Cache cache;
+    private final StringRedisTemplate redisTemplate;
+
+    private final Map<Family, Counter> hitCounters = new EnumMap<>(Family.class);
+    private final Map<Family, Counter> missCounters = new EnumMap<>(Family.class);
+    private final Map<Family, Counter> evictionCounters = new EnumMap<>(Family.class);
+
+    public RoomListCache(CacheManager cacheManager, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.redisTemplate = redisTemplate;
+
+        for (Family family : Family.values()) {
+            hitCounters.put(family, Counter.builder("rooms.cache.requests")
+                    .tag("family", family.tag())
+                    .tag("result", "hit")
+                    .description("Room cache lookups by key family")
+                    .register(meterRegistry));
+            missCounters.put(family, Counter.builder("rooms.cache.requests")
+                    .tag("family", family.tag())
+                    .tag("result", "miss")
+                    .description("Room cache lookups by key family")
+                    .register(meterRegistry));
+            evictionCounters.put(family, Counter.builder("rooms.cache.evictions")
+                    .tag("family", family.tag())
+                    .description("Room cache invalidations by key family (generation bumps for lists)")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 현재 세대의 목록 페이지 캐시 키를 만든다.
+     *
+     * @return 세대를 조회할 수 없으면 empty (캐시 사용 안 함)
+     */
+    public Optional<String> listKey(PageRequest pageRequest) {
+        try {
+            List<String> versions = redisTemplate.opsForValue()
+                    .multiGet(List.of(GENERAL_VERSION_KEY, PARTICIPANTS_VERSION_KEY));
+            String general = versionOf(versions, 0);
+            String participants = PARTICIPANTS_SORT.equals(pageRequest.getSortField())
+                    ? versionOf(versions, 1)
+                    : "-";
+            String search = pageRequest.getSearch() != null ? pageRequest.getSearch().trim() : "";
+            Family family = search.isEmpty() ? Family.LIST : Family.SEARCH;
+            return Optional.of(family.tag() + ":" + general + ":" + participants + ":"
+                    + pageRequest.getPage() + ":" + pageRequest.getPageSize() + ":"
+                    + pageRequest.getSortField() + ":" + pageRequest.getSortOrder()
+                    + (family == Family.SEARCH ? ":" + search : ""));
+        } catch (Exception e) {
+            log.warn("Failed to read room list cache version: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<RoomsResponse> getList(String key) {
+        return get(familyOf(key), key, RoomsResponse.class);
+    }
+
+    public void putList(String key, RoomsResponse response) {
+        put(key, response);
+    }
+
+    public Optional<Room> getRoom(String roomId) {
+        return get(Family.ROOM, roomKey(roomId), Room.class);
+    }
+
+    public void putRoom(Room room) {
+        put(roomKey(room.getId()), room);
+    }
+
+    /**
+     * 방이 생성되어 모든 목록의 구성과 순서가 바뀔 수 있다.
+     */
+    public void roomCreated(Room room) {
+        bump(GENERAL_VERSION_KEY, Family.LIST, Family.SEARCH);
+        putRoom(room);
+    }
+
+    /**
+     * 참여자가 바뀐 방을 갱신한다. 목록은 참여자 수 정렬 페이지만 무효화한다.
+     *
+     * @param room 갱신된 방 (null이면 단건 항목을 지운다)
+     */
+    public void participantsChanged(String roomId, Room room) {
+        if (room != null) {
+            putRoom(room);
+        } else {
+            try {
+                cache.evict(roomKey(roomId));
+                evictionCounters.get(Family.ROOM).increment();
+            } catch (Exception e) {
+                log.warn("Failed to evict room cache - roomId: {}: {}", roomId, e.getMessage());
+            }
+        }
+        bump(PARTICIPANTS_VERSION_KEY, Family.LIST, Family.SEARCH);
+    }
+
+    private <T> Optional<T> get(Family family, String key, Class<T> type) {
+        try {
+            T value = cache.get(key, type);
+            (value != null ? hitCounters : missCounters).get(family).increment();
+            return Optional.ofNullable(value);
+        } catch (Exception e) {
+            missCounters.get(family).increment();
+            log.warn("Failed to read room cache - key: {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void put(String key, Object value) {
+        try {
+            cache.put(key, value);
+        } catch (Exception e) {
+            log.warn("Failed to write room cache - key: {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void bump(String versionKey, Family... families) {
+        try {
+            redisTemplate.opsForValue().increment(versionKey);
+            for (Family family : families) {
+                evictionCounters.get(family).increment();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to bump room list cache version {}: {}", versionKey, e.getMessage());
+        }
+    }
+
+    private static String versionOf(List<String> versions, int index) {
+        String version = versions != null && versions.size() > index ? versions.get(index) : null;
+        return version != null ? version : "0";
+    }
+
+    private static Family familyOf(String key) {
+        return key.startsWith(Family.SEARCH.tag() + ":") ? Family.SEARCH : Family.LIST;
+    }
+
+    private static String roomKey(String roomId) {
+        return "room:" + roomId;
+    }
+}
@@ -8,14 +8,13 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.message.RecentMessageCounter;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -31,19 +30,41 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final MessageRepository messageRepository;
+    private final RecentMessageCounter recentMessageCounter;
+    private final RoomListCache roomListCache;
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
 
-    // ✅ 캐싱 적용: 채팅방 목록 조회 (1분 TTL)
-    @Cacheable(
-            cacheNames = "roomMessageCountCache",
-            key = "'list:' + #pageRequest.page + ':' + #pageRequest.pageSize + ':' + #pageRequest.sortField + ':' + #pageRequest.sortOrder + ':' + (#pageRequest.search != null ? #pageRequest.search : '')"
-    )
+    /**
+     * 채팅방 목록 조회 (1분 TTL 캐시)
+     * 캐시 키에 목록 세대 번호가 포함되어, 방 생성/참여자 변경 시 영향을 받는 페이지만 새로 조회된다.
+     */
     public RoomsResponse getAllRoomsWithPagination(
             com.ktb.chatapp.dto.PageRequest pageRequest, String name) {
 
-        log.debug("🔥🔥🔥 getAllRoomsWithPagination - DB 조회 시작 (CACHE MISS)");
-        log.info("📊 Cache Key: list:{}:{}:{}:{}:{}",
+        // 정렬 설정 검증 (캐시 키에 포함되므로 먼저 정규화)
+        if (!pageRequest.isValidSortField()) {
+            pageRequest.setSortField("createdAt");
+        }
+        if (!pageRequest.isValidSortOrder()) {
+            pageRequest.setSortOrder("desc");
+        }
+
+        Optional<String> cacheKey = roomListCache.listKey(pageRequest);
+        Optional<RoomsResponse> cached = cacheKey.flatMap(roomListCache::getList);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        RoomsResponse response = loadRooms(pageRequest, name);
+        if (response.isSuccess()) {
+            cacheKey.ifPresent(key -> roomListCache.putList(key, response));
+        }
+        return response;
+    }
+
+    private RoomsResponse loadRooms(com.ktb.chatapp.dto.PageRequest pageRequest, String name) {
+        log.debug("getAllRoomsWithPagination - DB 조회 (CACHE MISS) page: {}, size: {}, sort: {} {}, search: {}",
                 pageRequest.getPage(),
                 pageRequest.getPageSize(),
                 pageRequest.getSortField(),
@@ -53,14 +74,6 @@ public class RoomService {
         try {
             long startTime = System.currentTimeMillis();
 
-            // 정렬 설정 검증
-            if (!pageRequest.isValidSortField()) {
-                pageRequest.setSortField("createdAt");
-            }
-            if (!pageRequest.isValidSortOrder()) {
-                pageRequest.setSortOrder("desc");
-            }
-
             // 정렬 방향 설정
             Sort.Direction direction = "desc".equals(pageRequest.getSortOrder())
                     ? Sort.Direction.DESC
@@ -143,7 +156,6 @@ public class RoomService {
                     .metadata(metadata)
                     .build();
 
-            log.info("💾 Returning RoomsResponse to be cached");
             return response;
 
         } catch (Exception e) {
@@ -175,12 +187,18 @@ public class RoomService {
 
     /**
      * ✅ 메시지 수 Bulk 조회 헬퍼 메서드
+     * Redis 분 단위 카운터에서 읽고, 카운터를 읽을 수 없을 때만 집계 쿼리로 대체한다.
      */
     private Map<String, Long> getMessageCountMapBulk(List<String> roomIds) {
         if (roomIds == null || roomIds.isEmpty()) {
             return new HashMap<>();
         }
 
+        return recentMessageCounter.countRecent(roomIds)
+                .orElseGet(() -> aggregateMessageCounts(roomIds));
+    }
+
+    private Map<String, Long> aggregateMessageCounts(List<String> roomIds) {
         try {
             LocalDateTime tenMinutesAgo = LocalDateTime.now().minusMinutes(10);
             List<MessageRepository.MessageCountProjection> results =
@@ -286,10 +304,7 @@ public class RoomService {
         }
     }
 
-    @CacheEvict(cacheNames = "roomMessageCountCache", allEntries = true)
     public Room createRoom(CreateRoomRequest createRoomRequest, String name) {
-        log.info("🗑️ Cache evicted - createRoom");
-
         User creator = userRepository.findByEmail(name)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + name));
 
@@ -304,6 +319,7 @@ public class RoomService {
         }
 
         Room savedRoom = roomRepository.save(room);
+        roomListCache.roomCreated(savedRoom);
 
         try {
             Map<String, User> userMap = getUserMapBulk(Set.of(creator.getId()));
@@ -318,19 +334,18 @@ public class RoomService {
         return savedRoom;
     }
 
-    @Cacheable(
-            cacheNames = "roomMessageCountCache",
-            key = "'room:' + #roomId"
-    )
     public Optional<Room> findRoomById(String roomId) {
-        log.debug("🔥 findRoomById - DB 조회 (CACHE MISS): {}", roomId);
-        return roomRepository.findById(roomId);
+        Optional<Room> cached = roomListCache.getRoom(roomId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        log.debug("findRoomById - DB 조회 (CACHE MISS): {}", roomId);
+        Optional<Room> room = roomRepository.findById(roomId);
+        room.ifPresent(roomListCache::putRoom);
+        return room;
     }
 
-    @CacheEvict(cacheNames = "roomMessageCountCache", allEntries = true)
     public Room joinRoom(String roomId, String password, String name) {
-        log.info("🗑️ Cache evicted - joinRoom");
-
         Optional<Room> roomOpt = roomRepository.findById(roomId);
         if (roomOpt.isEmpty()) {
             return null;
@@ -349,6 +364,7 @@ public class RoomService {
         if (!room.getParticipantIds().contains(user.getId())) {
             room.getParticipantIds().add(user.getId());
             room = roomRepository.save(room);
+            roomListCache.participantsChanged(roomId, room);
         }
 
         try {
@@ -1,12 +1,17 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.session.SessionActivityTracker;
 import com.ktb.chatapp.service.session.SessionStore;
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import static com.ktb.chatapp.model.Session.SESSION_TTL;
@@ -17,19 +22,40 @@ import static com.ktb.chatapp.model.Session.SESSION_TTL;
 public class SessionService {
 
     private final SessionStore sessionStore;
+    private final SessionActivityTracker activityTracker;
     public static final long SESSION_TTL_SEC = DurationStyle.detectAndParse(SESSION_TTL).getSeconds();
     private static final long SESSION_TIMEOUT = SESSION_TTL_SEC * 1000;
 
+    /**
+     * 세션 검증용 로컬 캐시. 짧은 TTL 동안 저장소 조회 없이 검증한다.
+     * 저장소에서 읽은 Session은 공유되므로 변경하지 않고, 검증 시각은 항목을 교체해 기록한다.
+     */
+    private final Map<String, CachedSession> validationCache = new ConcurrentHashMap<>();
+
+    @Value("${chatapp.session.validation-cache-ttl-ms:5000}")
+    private long validationCacheTtlMillis;
+
+    private record CachedSession(Session session, long loadedAt, long lastTouchedAt) {
+
+        CachedSession touched(long now) {
+            return now > lastTouchedAt ? new CachedSession(session, loadedAt, now) : this;
+        }
+    }
+
     private String generateSessionId() {
         return UUID.randomUUID().toString().replace("-", "");
     }
 
     private SessionData toSessionData(Session session) {
+        return toSessionData(session, session.getLastActivity());
+    }
+
+    private SessionData toSessionData(Session session, long lastActivity) {
         return SessionData.builder()
                 .userId(session.getUserId())
                 .sessionId(session.getSessionId())
                 .createdAt(session.getCreatedAt())
-                .lastActivity(session.getLastActivity())
+                .lastActivity(lastActivity)
                 .metadata(session.getMetadata())
                 .build();
     }
@@ -52,6 +78,7 @@ public class SessionService {
                     .build();
 
             session = sessionStore.save(session);
+            validationCache.put(userId, new CachedSession(session, now, now));
             
             SessionData sessionData = toSessionData(session);
 
@@ -74,32 +101,41 @@ public class SessionService {
                 return SessionValidationResult.invalid("INVALID_PARAMETERS", "유효하지 않은 세션 파라미터");
             }
 
-            Session session = sessionStore.findByUserId(userId).orElse(null);
-            
-            if (session == null) {
+            long now = Instant.now().toEpochMilli();
+            CachedSession cached = findCachedSession(userId, now);
+            if (cached == null) {
+                cached = loadSession(userId, now);
+            } else if (!sessionId.equals(cached.session().getSessionId())) {
+                // 다른 노드에서 새로 로그인했을 수 있으므로 캐시를 버리고 저장소 값으로 다시 비교한다
+                validationCache.remove(userId);
+                cached = loadSession(userId, now);
+            }
+
+            if (cached == null) {
                 log.warn("No session found for userId: {}", userId);
                 return SessionValidationResult.invalid("INVALID_SESSION", "세션을 찾을 수 없습니다.");
             }
 
+            Session session = cached.session();
             if (!sessionId.equals(session.getSessionId())) {
                 log.warn("Session ID mismatch for userId: {}. Provided: {}, Expected: {}", userId, sessionId, session.getSessionId());
                 return SessionValidationResult.invalid("INVALID_SESSION", "잘못된 세션 ID입니다.");
             }
 
             // Check if session has timed out
-            long now = Instant.now().toEpochMilli();
-            if (now - session.getLastActivity() > SESSION_TIMEOUT) {
+            if (now - effectiveLastActivity(cached) > SESSION_TIMEOUT) {
                 log.warn("Session timed out for userId: {}, sessionId: {}", userId, sessionId);
                 removeSession(userId, sessionId);
                 return SessionValidationResult.invalid("SESSION_EXPIRED", "세션이 만료되었습니다.");
             }
 
-            // Update last activity
-            session.setLastActivity(now);
-            session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
-            session = sessionStore.save(session);
+            // 활동 시각은 트래커에 기록하고 주기적으로 일괄 반영한다.
+            // 캐시 항목에도 기록해 flush 이후 검증이 오래된 값을 보지 않게 한다
+            activityTracker.touch(userId, now);
+            validationCache.computeIfPresent(userId,
+                    (key, current) -> current.session() == session ? current.touched(now) : current);
 
-            SessionData sessionData = toSessionData(session);
+            SessionData sessionData = toSessionData(session, now);
             return SessionValidationResult.valid(sessionData);
 
         } catch (Exception e) {
@@ -115,15 +151,7 @@ public class SessionService {
                 return;
             }
 
-            Session session = sessionStore.findByUserId(userId).orElse(null);
-            if (session == null) {
-                log.debug("No session found to update last activity for user: {}", userId);
-                return;
-            }
-
-            session.setLastActivity(Instant.now().toEpochMilli());
-            session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
-            sessionStore.save(session);
+            activityTracker.touch(userId, Instant.now().toEpochMilli());
             
         } catch (Exception e) {
             log.error("Failed to update session activity for user: {}", userId, e);
@@ -131,6 +159,8 @@ public class SessionService {
     }
 
     public void removeSession(String userId, String sessionId) {
+        validationCache.remove(userId);
+        activityTracker.discard(userId);
         try {
             if (sessionId != null) {
                 sessionStore.delete(userId, sessionId);
@@ -144,6 +174,8 @@ public class SessionService {
     }
 
     public void removeAllUserSessions(String userId) {
+        validationCache.remove(userId);
+        activityTracker.discard(userId);
         try {
             sessionStore.deleteAll(userId);
         } catch (Exception e) {
@@ -164,11 +196,42 @@ public class SessionService {
                 return null;
             }
 
-            return toSessionData(session);
+            return toSessionData(session, Math.max(session.getLastActivity(),
+                    activityTracker.pendingActivity(userId)));
         } catch (Exception e) {
             log.error("Get active session error for userId: {}", userId, e);
             return null;
         }
     }
-    
+
+    private CachedSession findCachedSession(String userId, long now) {
+        CachedSession cached = validationCache.get(userId);
+        return cached != null && now - cached.loadedAt() < validationCacheTtlMillis ? cached : null;
+    }
+
+    private CachedSession loadSession(String userId, long now) {
+        Session session = sessionStore.findByUserId(userId).orElse(null);
+        if (session == null) {
+            validationCache.remove(userId);
+            return null;
+        }
+        CachedSession cached = new CachedSession(session, now, session.getLastActivity());
+        validationCache.put(userId, cached);
+        return cached;
+    }
+
+    /**
+     * 저장된 값, 이 노드에서 마지막으로 검증한 시각, 아직 반영되지 않은 활동 시각 중 최신 값
+     */
+    private long effectiveLastActivity(CachedSession cached) {
+        return Math.max(cached.lastTouchedAt(),
+                Math.max(cached.session().getLastActivity(),
+                        activityTracker.pendingActivity(cached.session().getUserId())));
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.session.validation-cache-ttl-ms:5000}")
+    void evictExpiredValidations() {
+        long now = Instant.now().toEpochMilli();
+        validationCache.values().removeIf(cached -> now - cached.loadedAt() >= validationCacheTtlMillis);
+    }
 }
@@ -1,5 +1,6 @@
 package com.ktb.chatapp.service;
 
+import com.ktb.chatapp.config.BulkCache;
 import com.ktb.chatapp.dto.ProfileImageResponse;
 import com.ktb.chatapp.dto.UpdateProfileRequest;
 import com.ktb.chatapp.dto.UserResponse;
@@ -12,6 +13,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 
@@ -20,8 +23,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +39,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final FileService fileService;
+    private final CacheManager cacheManager;
 
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -37,6 +47,8 @@ public class UserService {
     @Value("${app.profile.image.max-size:5242880}") // 5MB
     private long maxProfileImageSize;
 
+    private static final String USER_CACHE = "userCache";
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             "jpg", "jpeg", "png", "gif", "webp"
     );
@@ -47,7 +59,8 @@ public class UserService {
      */
     @Cacheable(
             cacheNames = "userCache",
-            key = "'email:' + #email.toLowerCase()"
+            key = "'email:' + #email.toLowerCase()",
+            sync = true
     )
     public UserResponse getCurrentUserProfile(String email) {
         // ✅ 이 로그가 찍힌다는 것은 "캐시를 못 쓰고 DB를 직접 조회했다"는 의미입니다.
@@ -129,7 +142,8 @@ public class UserService {
      */
     @Cacheable(
             cacheNames = "userCache",
-            key = "'id:' + #userId"
+            key = "'id:' + #userId",
+            sync = true
     )
     public UserResponse getUserProfile(String userId) {
         // ✅ 이 로그가 찍힌다는 것은 "캐시를 못 쓰고 DB를 직접 조회했다"는 의미입니다.
@@ -141,6 +155,75 @@ public class UserService {
         return UserResponse.from(user);
     }
 
+    /**
+     * 여러 사용자 프로필을 한 번에 조회한다.
+     * getUserProfile과 같은 userCache 항목("id:" + userId)을 먼저 보고, 없는 사용자만 한 번의 findAllById로 조회해 채운다.
+     * 캐시가 일괄 조회를 지원하면(TwoTierCache) L2는 MGET 한 번으로 읽는다.
+     * 존재하지 않는 사용자는 결과에서 빠지며, 결과는 요청한 순서를 따른다.
+     */
+    public Map<String, UserResponse> getUserProfiles(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        Cache cache = cacheManager.getCache(USER_CACHE);
+        Map<String, UserResponse> cached = findCachedProfiles(cache, new LinkedHashSet<>(userIds));
+        List<String> missing = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (!cached.containsKey(userId)) {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            log.debug("[UserService] DB에서 사용자 프로필 일괄 조회 - count={}", missing.size());
+            for (User user : userRepository.findAllById(missing)) {
+                UserResponse profile = UserResponse.from(user);
+                cached.put(user.getId(), profile);
+                if (cache != null) {
+                    // put은 다른 노드에 무효화를 알리므로 채우기에는 putIfAbsent를 쓴다
+                    cache.putIfAbsent(profileKey(user.getId()), profile);
+                }
+            }
+        }
+
+        Map<String, UserResponse> profiles = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            UserResponse profile = cached.get(userId);
+            if (profile != null) {
+                profiles.put(userId, profile);
+            }
+        }
+        return profiles;
+    }
+
+    private static Map<String, UserResponse> findCachedProfiles(Cache cache, Collection<String> userIds) {
+        Map<String, UserResponse> cached = new HashMap<>();
+        if (cache instanceof BulkCache bulkCache) {
+            List<String> keys = userIds.stream().map(UserService::profileKey).toList();
+            Map<String, UserResponse> byKey = bulkCache.getAllPresent(keys, UserResponse.class);
+            for (String userId : userIds) {
+                UserResponse profile = byKey.get(profileKey(userId));
+                if (profile != null) {
+                    cached.put(userId, profile);
+                }
+            }
+            return cached;
+        }
+        if (cache != null) {
+            for (String userId : userIds) {
+                UserResponse profile = cache.get(profileKey(userId), UserResponse.class);
+                if (profile != null) {
+                    cached.put(userId, profile);
+                }
+            }
+        }
+        return cached;
+    }
+
+    private static String profileKey(String userId) {
+        return "id:" + userId;
+    }
+
     /**
      * 프로필 이미지 파일 유효성 검증
      */
@@ -0,0 +1,116 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * 메시지 리액션 원자적 갱신 서비스.
+ * 메시지 전체를 읽어 저장하는 대신 reactions.{emoji} 배열에 $addToSet/$pull을 findAndModify로 적용하고,
+ * 방/리액션/버전만 projection으로 돌려받는다.
+ *
+ * - 이미 반영된 요청(중복 추가, 없는 리액션 제거)은 조건에서 걸러져 쓰기가 발생하지 않는다
+ * - reactionsVersion을 함께 증가시켜 동시 갱신 결과 중 최신 상태를 판단할 수 있게 한다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageReactionService {
+
+    private static final int MAX_REACTION_LENGTH = 64;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * 리액션 갱신 결과
+     *
+     * @param changed 이번 요청으로 리액션이 바뀌었는지 (false면 이미 반영된 상태)
+     */
+    public record ReactionUpdate(
+            String messageId, String roomId, Map<String, Set<String>> reactions, long version, boolean changed) {
+    }
+
+    public Optional<ReactionUpdate> addReaction(String messageId, String reaction, String userId) {
+        String path = reactionPath(reaction);
+        Query query = new Query(Criteria.where("_id").is(messageId).and(path).ne(userId));
+        Update update = new Update().addToSet(path, userId).inc("reactionsVersion", 1);
+        return apply(messageId, query, update);
+    }
+
+    public Optional<ReactionUpdate> removeReaction(String messageId, String reaction, String userId) {
+        String path = reactionPath(reaction);
+        Query query = new Query(Criteria.where("_id").is(messageId).and(path).is(userId));
+        Update update = new Update().pull(path, userId).inc("reactionsVersion", 1);
+        Optional<ReactionUpdate> result = apply(messageId, query, update);
+        result.filter(ReactionUpdate::changed)
+                .filter(updated -> !updated.reactions().containsKey(reaction))
+                .ifPresent(updated -> removeEmptyReaction(messageId, path));
+        return result;
+    }
+
+    /**
+     * 필드 경로로 사용할 수 없는 리액션 문자열인지 검사한다.
+     */
+    public static boolean isValidReaction(String reaction) {
+        return reaction != null
+                && !reaction.isBlank()
+                && reaction.length() <= MAX_REACTION_LENGTH
+                && !reaction.contains(".")
+                && !reaction.startsWith("$");
+    }
+
+    private Optional<ReactionUpdate> apply(String messageId, Query query, Update update) {
+        query.fields().include("room", "reactions", "reactionsVersion");
+        Message updated = mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Message.class);
+        if (updated != null) {
+            return Optional.of(toUpdate(updated, true));
+        }
+
+        // 조건에 맞지 않으면 메시지가 없거나 이미 반영된 요청이다
+        Query current = new Query(Criteria.where("_id").is(messageId));
+        current.fields().include("room", "reactions", "reactionsVersion");
+        return Optional.ofNullable(mongoTemplate.findOne(current, Message.class))
+                .map(message -> toUpdate(message, false));
+    }
+
+    /**
+     * 마지막 사용자가 빠진 리액션은 빈 배열 대신 키를 제거한다. 그 사이 다시 추가되었으면 유지된다.
+     */
+    private void removeEmptyReaction(String messageId, String path) {
+        try {
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(messageId).and(path).size(0)),
+                    new Update().unset(path),
+                    Message.class);
+        } catch (Exception e) {
+            log.warn("Failed to remove empty reaction - messageId: {}, path: {}: {}", messageId, path, e.getMessage());
+        }
+    }
+
+    private static ReactionUpdate toUpdate(Message message, boolean changed) {
+        Map<String, Set<String>> reactions = new HashMap<>();
+        if (message.getReactions() != null) {
+            message.getReactions().forEach((reaction, userIds) -> {
+                if (userIds != null && !userIds.isEmpty()) {
+                    reactions.put(reaction, Set.copyOf(userIds));
+                }
+            });
+        }
+        return new ReactionUpdate(message.getId(), message.getRoomId(), reactions, message.getReactionsVersion(), changed);
+    }
+
+    private static String reactionPath(String reaction) {
+        return "reactions." + reaction;
+    }
+}
@@ -0,0 +1,493 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 채팅 메시지 write-behind 저장 파이프라인.
+ * ObjectId를 클라이언트에서 미리 할당하여 브로드캐스트를 저장보다 먼저 수행할 수 있게 하고,
+ * 메시지는 bounded queue에 쌓아 전용 flusher 스레드가 크기/시간 윈도우 단위로
+ * unordered bulk insert 한다.
+ *
+ * - 큐가 가득 차면 호출 스레드에서 동기 저장한다 (backpressure)
+ * - flush 실패 시 재시도 후 Redis 재시도 큐에 보관하고 주기적으로 재적재한다
+ * - 재적재는 노드별 processing 리스트로 원자적으로 옮긴 항목만 처리하므로 여러 노드가 같은 항목을 중복/유실 없이 나눠 가진다
+ * - 문서 단위로 계속 실패하는 메시지는 max-replay-attempts 이후 dead-letter 리스트로 옮겨 재시도 큐 앞을 막지 않는다
+ */
+@Slf4j
+@Service
+public class MessageWriteBehindQueue {
+
+    static final String RETRY_QUEUE_KEY = "messages:write-behind:retry";
+    static final String PROCESSING_KEY_PREFIX = "messages:write-behind:processing:";
+    static final String REPLAY_NODES_KEY = "messages:write-behind:replay-nodes";
+    static final String ATTEMPTS_KEY = "messages:write-behind:attempts";
+    static final String DEAD_LETTER_KEY = "messages:write-behind:dead-letter";
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final int STALE_NODE_INTERVALS = 6;
+
+    /**
+     * 이전 실행에서 남은 processing 항목이 있으면 그대로 돌려주고, 없으면 재시도 큐에서 최대 ARGV[1]개를 옮긴다.
+     * KEYS = retry, processing
+     */
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local existing = redis.call('LRANGE', KEYS[2], 0, -1)
+            if #existing > 0 then
+              return existing
+            end
+            for i = 1, tonumber(ARGV[1]) do
+              local entry = redis.call('LPOP', KEYS[1])
+              if not entry then
+                break
+              end
+              redis.call('RPUSH', KEYS[2], entry)
+            end
+            return redis.call('LRANGE', KEYS[2], 0, -1)
+            """, List.class);
+
+    /**
+     * 노드의 processing 항목을 재시도 큐로 되돌린다.
+     * KEYS = processing, retry
+     */
+    private static final RedisScript<Long> RECLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('LRANGE', KEYS[1], 0, -1)
+            for i = 1, #entries do
+              redis.call('RPUSH', KEYS[2], entries[i])
+            end
+            redis.call('DEL', KEYS[1])
+            return #entries
+            """, Long.class);
+
+    private final MessageRepository messageRepository;
+    private final MongoTemplate mongoTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryIntervalMillis;
+    private final int maxReplayAttempts;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final BlockingQueue<Message> queue;
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter syncFallbackCounter;
+    private final Counter retryQueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter invalidEntryCounter;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public MessageWriteBehindQueue(
+            MessageRepository messageRepository,
+            MongoTemplate mongoTemplate,
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.write-behind.enabled:true}") boolean enabled,
+            @Value("${chatapp.message.write-behind.capacity:10000}") int capacity,
+            @Value("${chatapp.message.write-behind.batch-size:500}") int batchSize,
+            @Value("${chatapp.message.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${chatapp.message.write-behind.offer-timeout-ms:20}") long offerTimeoutMillis,
+            @Value("${chatapp.message.write-behind.max-attempts:3}") int maxAttempts,
+            @Value("${chatapp.message.write-behind.retry-interval-ms:10000}") long retryIntervalMillis,
+            @Value("${chatapp.message.write-behind.max-replay-attempts:5}") int maxReplayAttempts) {
+        this.messageRepository = messageRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.maxReplayAttempts = maxReplayAttempts;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("messages.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be persisted")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("messages.write_behind.flush.time")
+                .description("Write-behind bulk insert latency")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("messages.write_behind.flushed")
+                .description("Messages persisted by the write-behind flusher")
+                .register(meterRegistry);
+        this.syncFallbackCounter = Counter.builder("messages.write_behind.sync_fallback")
+                .description("Messages saved synchronously because the queue was full")
+                .register(meterRegistry);
+        this.retryQueuedCounter = Counter.builder("messages.write_behind.retry_queued")
+                .description("Messages moved to the durable retry queue")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("messages.write_behind.dropped")
+                .description("Messages that could not be persisted nor queued for retry")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("messages.write_behind.dead_lettered")
+                .description("Messages moved to the dead-letter list after repeated replay failures")
+                .register(meterRegistry);
+        this.invalidEntryCounter = Counter.builder("messages.write_behind.replay_invalid")
+                .description("Retry queue entries discarded because they were not messages")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusherThread = Thread.ofPlatform()
+                .name("message-write-behind")
+                .daemon(true)
+                .start(this::runFlushLoop);
+    }
+
+    /**
+     * 메시지에 ObjectId를 할당하고 저장 큐에 넣는다.
+     * 반환된 메시지는 즉시 브로드캐스트에 사용할 수 있다.
+     *
+     * @param message 저장할 메시지
+     * @return ID가 할당된 메시지
+     */
+    public Message enqueue(Message message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+        if (!enabled || !running) {
+            return messageRepository.save(message);
+        }
+
+        try {
+            if (queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return message;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 큐 포화: 호출 스레드에서 직접 저장하여 생산 속도를 늦춘다
+        syncFallbackCounter.increment();
+        log.warn("Write-behind queue is full ({}), saving message {} synchronously",
+                queue.size(), message.getId());
+        return messageRepository.save(message);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void runFlushLoop() {
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Message first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Message next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 신호: 수집 중이던 배치만 저장하고 나머지는 shutdown()에서 처리
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in write-behind flush loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Message> batch) {
+        List<Message> pending = new ArrayList<>(batch);
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            Timer.Sample sample = Timer.start();
+            try {
+                bulkInsert(pending);
+                flushedCounter.increment(pending.size());
+                pending = List.of();
+            } catch (BulkOperationException e) {
+                int attempted = pending.size();
+                pending = failedMessages(pending, e.getErrors());
+                flushedCounter.increment(attempted - pending.size());
+                log.warn("Write-behind flush partially failed - attempt: {}, failed: {}",
+                        attempt, pending.size());
+            } catch (Exception e) {
+                log.warn("Write-behind flush failed - attempt: {}, size: {}", attempt, pending.size(), e);
+            } finally {
+                sample.stop(flushTimer);
+            }
+            if (!pending.isEmpty() && attempt < maxAttempts) {
+                sleepQuietly(attempt * 100L);
+            }
+        }
+        if (!pending.isEmpty()) {
+            pushToRetryQueue(pending);
+        }
+    }
+
+    private void bulkInsert(List<Message> messages) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)
+                .insert(messages)
+                .execute();
+    }
+
+    /**
+     * 중복 키 오류는 이전 시도에서 이미 저장된 것이므로 성공으로 간주한다.
+     */
+    private List<Message> failedMessages(List<Message> attempted, List<BulkWriteError> errors) {
+        Set<Integer> failedIndexes = new HashSet<>();
+        for (BulkWriteError error : errors) {
+            if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                failedIndexes.add(error.getIndex());
+            }
+        }
+        List<Message> failed = new ArrayList<>(failedIndexes.size());
+        for (int i = 0; i < attempted.size(); i++) {
+            if (failedIndexes.contains(i)) {
+                failed.add(attempted.get(i));
+            }
+        }
+        return failed;
+    }
+
+    private void pushToRetryQueue(List<Message> messages) {
+        try {
+            redisTemplate.opsForList().rightPushAll(RETRY_QUEUE_KEY, new ArrayList<Object>(messages));
+            retryQueuedCounter.increment(messages.size());
+            log.error("Write-behind flush exhausted retries - {} messages moved to {}",
+                    messages.size(), RETRY_QUEUE_KEY);
+        } catch (Exception e) {
+            droppedCounter.increment(messages.size());
+            log.error("Failed to persist messages and to enqueue them for retry - ids: {}",
+                    messages.stream().map(Message::getId).toList(), e);
+        }
+    }
+
+    /**
+     * Redis 재시도 큐에 보관된 메시지를 다시 저장한다.
+     * 재시도 큐에서 이 노드의 processing 리스트로 옮긴 항목만 처리하고, 처리가 끝나면 processing 리스트를 지운다.
+     * Mongo 자체 오류는 processing 리스트를 남겨 다음 실행에서 같은 항목을 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${chatapp.message.write-behind.retry-interval-ms:10000}")
+    public void replayRetryQueue() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            heartbeat();
+            reclaimStaleNodes();
+
+            List<byte[]> entries = claimRetryEntries();
+            if (entries == null || entries.isEmpty()) {
+                return;
+            }
+            List<Message> messages = decodeEntries(entries);
+            List<Message> failed = List.of();
+            try {
+                if (!messages.isEmpty()) {
+                    bulkInsert(messages);
+                }
+            } catch (BulkOperationException e) {
+                failed = failedMessages(messages, e.getErrors());
+            }
+            if (!failed.isEmpty()) {
+                requeueOrDeadLetter(failed);
+            }
+            clearAttempts(messages, failed);
+            redisTemplate.delete(processingKey(nodeId));
+
+            flushedCounter.increment(messages.size() - failed.size());
+            log.info("Replayed {} messages from the write-behind retry queue - failed: {}",
+                    messages.size() - failed.size(), failed.size());
+        } catch (Exception e) {
+            log.warn("Write-behind retry replay failed, will try again later: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 항목은 원본 바이트로 받아 한 항목의 역직렬화 실패가 배치 전체를 막지 않게 한다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<byte[]> claimRetryEntries() {
+        return (List<byte[]>) redisTemplate.execute(CLAIM_SCRIPT, RedisSerializer.string(),
+                (RedisSerializer) RedisSerializer.byteArray(),
+                List.of(RETRY_QUEUE_KEY, processingKey(nodeId)), String.valueOf(batchSize));
+    }
+
+    /**
+     * 메시지로 읽을 수 없는 항목은 재시도해도 성공할 수 없으므로 세고 버린다.
+     */
+    private List<Message> decodeEntries(List<byte[]> entries) {
+        RedisSerializer<?> serializer = redisTemplate.getValueSerializer();
+        List<Message> messages = new ArrayList<>(entries.size());
+        int invalid = 0;
+        for (byte[] entry : entries) {
+            Object value;
+            try {
+                value = serializer.deserialize(entry);
+            } catch (Exception e) {
+                value = null;
+            }
+            if (value instanceof Message message && message.getId() != null) {
+                messages.add(message);
+            } else {
+                invalid++;
+            }
+        }
+        if (invalid > 0) {
+            invalidEntryCounter.increment(invalid);
+            log.error("Discarded {} retry queue entries that could not be read as messages", invalid);
+        }
+        return messages;
+    }
+
+    /**
+     * 문서 단위로 실패한 메시지의 재적재 횟수를 올리고, 한도를 넘으면 dead-letter로, 아니면 재시도 큐 뒤로 보낸다.
+     */
+    private void requeueOrDeadLetter(List<Message> failed) {
+        List<Object> retry = new ArrayList<>();
+        List<Object> deadLetters = new ArrayList<>();
+        for (Message message : failed) {
+            Long attempts = redisTemplate.opsForHash().increment(ATTEMPTS_KEY, message.getId(), 1);
+            if (attempts != null && attempts >= maxReplayAttempts) {
+                deadLetters.add(message);
+            } else {
+                retry.add(message);
+            }
+        }
+        if (!retry.isEmpty()) {
+            redisTemplate.opsForList().rightPushAll(RETRY_QUEUE_KEY, retry);
+        }
+        if (!deadLetters.isEmpty()) {
+            redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, deadLetters);
+            redisTemplate.opsForHash().delete(ATTEMPTS_KEY,
+                    deadLetters.stream().map(message -> ((Message) message).getId()).toArray());
+            deadLetteredCounter.increment(deadLetters.size());
+            log.error("Moved {} messages to {} after {} replay attempts - ids: {}",
+                    deadLetters.size(), DEAD_LETTER_KEY, maxReplayAttempts,
+                    deadLetters.stream().map(message -> ((Message) message).getId()).toList());
+        }
+    }
+
+    private void clearAttempts(List<Message> messages, List<Message> failed) {
+        Set<String> failedIds = new HashSet<>();
+        failed.forEach(message -> failedIds.add(message.getId()));
+        Object[] succeededIds = messages.stream()
+                .map(Message::getId)
+                .filter(id -> !failedIds.contains(id))
+                .toArray();
+        if (succeededIds.length > 0) {
+            redisTemplate.opsForHash().delete(ATTEMPTS_KEY, succeededIds);
+        }
+    }
+
+    private void heartbeat() {
+        redisTemplate.opsForZSet().add(REPLAY_NODES_KEY, nodeId, System.currentTimeMillis());
+    }
+
+    /**
+     * 일정 시간 heartbeat가 없는 노드(비정상 종료)의 processing 항목을 재시도 큐로 되돌린다.
+     */
+    private void reclaimStaleNodes() {
+        long staleBefore = System.currentTimeMillis() - retryIntervalMillis * STALE_NODE_INTERVALS;
+        Set<Object> staleNodes = redisTemplate.opsForZSet().rangeByScore(REPLAY_NODES_KEY, 0, staleBefore);
+        if (staleNodes == null) {
+            return;
+        }
+        for (Object staleNode : staleNodes) {
+            Long reclaimed = reclaim(String.valueOf(staleNode));
+            if (reclaimed != null && reclaimed > 0) {
+                log.warn("Reclaimed {} write-behind retry entries from stale node {}", reclaimed, staleNode);
+            }
+        }
+    }
+
+    private Long reclaim(String node) {
+        Long reclaimed = redisTemplate.execute(RECLAIM_SCRIPT, List.of(processingKey(node), RETRY_QUEUE_KEY));
+        redisTemplate.opsForZSet().remove(REPLAY_NODES_KEY, node);
+        return reclaimed;
+    }
+
+    private static String processingKey(String node) {
+        return PROCESSING_KEY_PREFIX + node;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusherThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Message> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} buffered messages on shutdown", remaining.size());
+            flush(remaining);
+        }
+        try {
+            reclaim(nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to hand back write-behind retry entries on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
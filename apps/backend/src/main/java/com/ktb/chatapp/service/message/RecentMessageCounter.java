@@ -0,0 +1,189 @@
+package com.ktb.chatapp.service.message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 최근 메시지 수 슬라이딩 카운터 (Redis).
+ * 방마다 분 단위 버킷(epoch minute → count) 해시를 두고, 최근 window-minutes개 버킷의 합을 최근 메시지 수로 본다.
+ * 방 목록 조회 시 집계 파이프라인 대신 방별 해시 하나를 파이프라인으로 읽어 합산한다.
+ *
+ * - 전송 경로에서는 로컬 증가분만 누적하고, flush 주기마다 방별 증가분을 한 번에 반영한다
+ *   (반영에 실패한 증가분은 다시 누적해 다음 flush에서 재시도한다)
+ * - 새 버킷이 생길 때 윈도우를 벗어난 버킷을 지우고, 키 TTL로 조용한 방의 해시를 정리한다
+ * - Redis 오류 시 조회는 empty를 반환해 호출자가 DB 집계로 대체할 수 있게 한다
+ */
+@Slf4j
+@Component
+public class RecentMessageCounter {
+
+    static final String KEY_PREFIX = "room-msg-count:";
+
+    /**
+     * KEYS[1] = 방 버킷 해시
+     * ARGV[1] = 현재 버킷(epoch minute), ARGV[2] = 증가량, ARGV[3] = 윈도우(분), ARGV[4] = ttl (ms)
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local count = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            if count == tonumber(ARGV[2]) then
+              local oldest = tonumber(ARGV[1]) - tonumber(ARGV[3])
+              for _, bucket in ipairs(redis.call('HKEYS', KEYS[1])) do
+                if tonumber(bucket) <= oldest then
+                  redis.call('HDEL', KEYS[1], bucket)
+                end
+              end
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return count
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int windowMinutes;
+    private final long ttlMillis;
+
+    /** roomId → 아직 Redis에 반영하지 않은 증가분 */
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter errorCounter;
+
+    public RecentMessageCounter(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.room.recent-message-window-minutes:10}") int windowMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.windowMinutes = windowMinutes;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(windowMinutes + 1L);
+
+        Gauge.builder("rooms.recent_message_counter.pending", pending, Map::size)
+                .description("Rooms with message count increments waiting for the next flush")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("rooms.recent_message_counter.errors")
+                .description("Redis failures while updating or reading recent message counters")
+                .register(meterRegistry);
+    }
+
+    public void increment(String roomId) {
+        if (roomId != null) {
+            pending.merge(roomId, 1L, Long::sum);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.room.recent-message-flush-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            String bucket = Long.toString(currentMinute(System.currentTimeMillis()));
+            String window = Integer.toString(windowMinutes);
+            String ttl = Long.toString(ttlMillis);
+            for (String roomId : pending.keySet()) {
+                Long delta = pending.remove(roomId);
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    redisTemplate.execute(INCREMENT_SCRIPT, List.of(key(roomId)),
+                            bucket, Long.toString(delta), window, ttl);
+                } catch (Exception e) {
+                    // 다음 flush에서 다시 반영하도록 증가분을 되돌린다
+                    pending.merge(roomId, delta, Long::sum);
+                    errorCounter.increment();
+                    log.warn("Failed to update recent message counter - roomId: {}: {}", roomId, e.getMessage());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 방별 최근 window-minutes분 동안의 메시지 수를 조회한다. 메시지가 없는 방은 결과에 포함되지 않는다.
+     *
+     * @return Redis 조회에 실패하면 empty
+     */
+    public Optional<Map<String, Long>> countRecent(Collection<String> roomIds) {
+        if (roomIds == null || roomIds.isEmpty()) {
+            return Optional.of(Map.of());
+        }
+        return countRecent(List.copyOf(roomIds), System.currentTimeMillis());
+    }
+
+    Optional<Map<String, Long>> countRecent(List<String> roomIds, long nowMillis) {
+        try {
+            List<Object> buckets = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (String roomId : roomIds) {
+                    stringConnection.hGetAll(key(roomId));
+                }
+                return null;
+            });
+
+            long newest = currentMinute(nowMillis);
+            long oldest = newest - windowMinutes;
+            Map<String, Long> counts = new HashMap<>();
+            for (int i = 0; i < roomIds.size() && i < buckets.size(); i++) {
+                if (!(buckets.get(i) instanceof Map<?, ?> roomBuckets)) {
+                    continue;
+                }
+                long sum = 0L;
+                for (Map.Entry<?, ?> entry : roomBuckets.entrySet()) {
+                    long minute = Long.parseLong(entry.getKey().toString());
+                    if (minute > oldest && minute <= newest) {
+                        sum += Long.parseLong(entry.getValue().toString());
+                    }
+                }
+                if (sum > 0) {
+                    counts.put(roomIds.get(i), sum);
+                }
+            }
+            return Optional.of(counts);
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to read recent message counters - rooms: {}: {}", roomIds.size(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void evict(String roomId) {
+        pending.remove(roomId);
+        try {
+            redisTemplate.delete(key(roomId));
+        } catch (Exception e) {
+            log.warn("Failed to evict recent message counter - roomId: {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private static long currentMinute(long epochMillis) {
+        return TimeUnit.MILLISECONDS.toMinutes(epochMillis);
+    }
+
+    private static String key(String roomId) {
+        return KEY_PREFIX + roomId;
+    }
+}
@@ -0,0 +1,293 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 활성 방별 최근 메시지 링 버퍼.
+ * 방 입장/재연결 시 첫 페이지를 DB 조회 없이 응답하기 위해 최근 N개의 MessageResponse를 보관한다.
+ *
+ * - 첫 페이지를 DB에서 읽을 때 prime 되고, 이후 전송/리액션 이벤트로 갱신된다
+ * - prime 전에 도착한 메시지도 링에 보관해 두었다가 prime 시 DB 결과와 합친다
+ *   (write-behind 큐에서 아직 저장되지 않은 메시지가 DB 결과에 없어도 첫 페이지에서 빠지지 않는다)
+ * - 리액션은 reactionsVersion이 더 최신일 때만 교체한다 (늦게 도착한 이전 상태 무시)
+ * - 저장된 MessageResponse는 수정하지 않고 교체하므로 반환된 목록을 그대로 직렬화해도 안전하다
+ * - 읽음 상태는 보관하지 않는다 (응답 시 읽음 커서로 계산)
+ * - 다른 노드에서 발생한 쓰기는 보이지 않으므로 prime 이후 max-staleness가 지나면 다시 DB에서 채운다
+ * - 유휴 방은 idle/LRU 정책으로 제거한다
+ */
+@Slf4j
+@Component
+public class RoomHistoryBuffer {
+
+    private final int capacity;
+    private final int maxRooms;
+    private final long idleEvictMillis;
+    private final long maxStalenessMillis;
+
+    private final Map<String, RoomRing> rooms = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public RoomHistoryBuffer(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.history-buffer.capacity:50}") int capacity,
+            @Value("${chatapp.message.history-buffer.max-rooms:2000}") int maxRooms,
+            @Value("${chatapp.message.history-buffer.idle-evict-ms:600000}") long idleEvictMillis,
+            @Value("${chatapp.message.history-buffer.max-staleness-ms:10000}") long maxStalenessMillis) {
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        this.idleEvictMillis = idleEvictMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+
+        Gauge.builder("messages.history_buffer.rooms", rooms, Map::size)
+                .description("Rooms with a history buffer")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("messages.history_buffer.requests")
+                .tag("result", "hit")
+                .description("Initial page requests served from the history buffer")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("messages.history_buffer.requests")
+                .tag("result", "miss")
+                .description("Initial page requests that fell back to the database")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("messages.history_buffer.evictions")
+                .description("Room buffers evicted by the idle/LRU policy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 방의 최신 메시지 limit개를 버퍼에서 조회한다.
+     *
+     * @return 버퍼가 없거나 오래되었거나 limit개를 채울 수 없으면 empty
+     */
+    public Optional<FetchMessagesResponse> latest(String roomId, int limit) {
+        RoomRing ring = rooms.get(roomId);
+        FetchMessagesResponse page = ring != null ? ring.latest(limit, System.currentTimeMillis()) : null;
+        if (page == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(page);
+    }
+
+    /**
+     * DB에서 읽은 첫 페이지로 버퍼를 채운다.
+     *
+     * @param latestAscending 오래된 순으로 정렬된 최신 메시지
+     * @param hasOlder 페이지 이전에 메시지가 더 있는지
+     */
+    public void prime(String roomId, List<MessageResponse> latestAscending, boolean hasOlder) {
+        rooms.computeIfAbsent(roomId, id -> new RoomRing(capacity))
+                .prime(latestAscending, hasOlder, System.currentTimeMillis());
+    }
+
+    /**
+     * 버퍼를 채운 뒤 버퍼 기준 최신 페이지를 돌려준다.
+     * prime 전에 append 된 메시지가 합쳐지므로 DB 결과 대신 응답에 쓴다.
+     *
+     * @return limit개를 채울 수 없으면 empty
+     */
+    public Optional<FetchMessagesResponse> primeAndGetLatest(
+            String roomId, List<MessageResponse> latestAscending, boolean hasOlder, int limit) {
+        long now = System.currentTimeMillis();
+        RoomRing ring = rooms.computeIfAbsent(roomId, id -> new RoomRing(capacity));
+        ring.prime(latestAscending, hasOlder, now);
+        return Optional.ofNullable(ring.latest(limit, now));
+    }
+
+    /**
+     * 새 메시지를 추가한다. prime 되지 않은 방은 링을 만들어 보관만 하고, prime 될 때까지 조회에 쓰지 않는다.
+     */
+    public void append(String roomId, MessageResponse response) {
+        rooms.computeIfAbsent(roomId, id -> new RoomRing(capacity)).append(response);
+    }
+
+    /**
+     * 버퍼에 있는 메시지의 리액션을 교체한다. 이미 같거나 더 최신 버전을 반영했다면 무시한다.
+     *
+     * @param version 리액션 상태의 reactionsVersion
+     */
+    public void updateReactions(String roomId, String messageId, Map<String, Set<String>> reactions, long version) {
+        RoomRing ring = rooms.get(roomId);
+        if (ring == null) {
+            return;
+        }
+        Map<String, Set<String>> snapshot = new HashMap<>();
+        reactions.forEach((reaction, userIds) -> snapshot.put(reaction, Set.copyOf(userIds)));
+        ring.replaceReactions(messageId, version, current -> current.toBuilder().reactions(snapshot).build());
+    }
+
+    public void evict(String roomId) {
+        rooms.remove(roomId);
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.message.history-buffer.evict-interval-ms:60000}")
+    public void evictIdleRooms() {
+        long now = System.currentTimeMillis();
+        int before = rooms.size();
+        rooms.entrySet().removeIf(entry -> now - entry.getValue().lastAccessedAt > idleEvictMillis);
+
+        int overflow = rooms.size() - maxRooms;
+        if (overflow > 0) {
+            rooms.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessedAt))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(rooms::remove);
+        }
+
+        int evicted = before - rooms.size();
+        if (evicted > 0) {
+            evictionCounter.increment(evicted);
+            log.debug("Evicted {} room history buffers, remaining: {}", evicted, rooms.size());
+        }
+    }
+
+    /**
+     * 고정 크기 원형 배열. 방 단위로 동기화한다.
+     */
+    private final class RoomRing {
+
+        private final MessageResponse[] slots;
+        /** messageId → 반영한 reactionsVersion (링에 남아 있는 메시지만) */
+        private final Map<String, Long> reactionVersions = new HashMap<>();
+        private int head;
+        private int size;
+        private boolean hasOlder;
+        private boolean primed;
+        private long primedAt;
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        RoomRing(int capacity) {
+            this.slots = new MessageResponse[capacity];
+        }
+
+        synchronized void prime(List<MessageResponse> latestAscending, boolean hasOlder, long now) {
+            // DB 조회 결과에 없는 버퍼 메시지(조회 이후 append, 아직 저장되지 않은 write-behind 메시지)를 합친다
+            List<MessageResponse> merged = mergeUnloaded(latestAscending, hasOlder);
+            head = 0;
+            size = 0;
+            int skip = Math.max(0, merged.size() - slots.length);
+            for (int i = skip; i < merged.size(); i++) {
+                slots[size++] = merged.get(i);
+            }
+            for (int i = size; i < slots.length; i++) {
+                slots[i] = null;
+            }
+            Set<String> retainedIds = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                retainedIds.add(slots[i].getId());
+            }
+            reactionVersions.keySet().retainAll(retainedIds);
+            this.hasOlder = hasOlder || skip > 0;
+            this.primed = true;
+            this.primedAt = now;
+            this.lastAccessedAt = now;
+        }
+
+        synchronized void append(MessageResponse response) {
+            if (size < slots.length) {
+                slots[(head + size) % slots.length] = response;
+                size++;
+                return;
+            }
+            reactionVersions.remove(slots[head].getId());
+            slots[head] = response;
+            head = (head + 1) % slots.length;
+            hasOlder = true;
+        }
+
+        synchronized void replaceReactions(String messageId, long version, UnaryOperator<MessageResponse> updater) {
+            Long applied = reactionVersions.get(messageId);
+            if (applied != null && applied >= version) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % slots.length;
+                if (messageId.equals(slots[index].getId())) {
+                    slots[index] = updater.apply(slots[index]);
+                    reactionVersions.put(messageId, version);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * DB 페이지 범위(가장 오래된 메시지 이후, 더 오래된 메시지가 없으면 전체) 안에서
+         * 버퍼에만 있는 메시지를 찾아 시간순으로 합친다.
+         */
+        private List<MessageResponse> mergeUnloaded(List<MessageResponse> latestAscending, boolean hasOlder) {
+            if (size == 0) {
+                return latestAscending;
+            }
+            long oldest = !hasOlder || latestAscending.isEmpty()
+                    ? Long.MIN_VALUE
+                    : latestAscending.getFirst().getTimestamp();
+            Set<String> loadedIds = new HashSet<>();
+            latestAscending.forEach(response -> loadedIds.add(response.getId()));
+            List<MessageResponse> merged = new ArrayList<>(latestAscending);
+            for (int i = 0; i < size; i++) {
+                MessageResponse response = slots[(head + i) % slots.length];
+                if (response.getTimestamp() >= oldest && !loadedIds.contains(response.getId())) {
+                    merged.add(response);
+                }
+            }
+            if (merged.size() == latestAscending.size()) {
+                return latestAscending;
+            }
+            merged.sort(Comparator.comparingLong(MessageResponse::getTimestamp)
+                    .thenComparing(MessageResponse::getId));
+            return merged;
+        }
+
+        synchronized FetchMessagesResponse latest(int limit, long now) {
+            // 보관 개수가 limit보다 적어도 더 오래된 메시지가 없으면 방 전체 이력이다
+            if (!primed || now - primedAt > maxStalenessMillis || (limit > size && hasOlder)) {
+                return null;
+            }
+            lastAccessedAt = now;
+            int count = Math.min(limit, size);
+            List<MessageResponse> page = new ArrayList<>(count);
+            for (int i = size - count; i < size; i++) {
+                page.add(slots[(head + i) % slots.length]);
+            }
+            boolean hasMore = hasOlder || size > limit;
+            String nextCursor = null;
+            if (hasMore && !page.isEmpty()) {
+                MessageResponse oldest = page.getFirst();
+                nextCursor = new MessageCursor(oldest.getTimestamp(), oldest.getId()).encode();
+            }
+            return FetchMessagesResponse.builder()
+                    .messages(page)
+                    .hasMore(hasMore)
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.ktb.chatapp.service.message;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 간 공유되는 방별 최근 메시지 캐시 (Redis).
+ * 방마다 최신 capacity개의 메시지를 timestamp 점수의 ZSET 인덱스와 메시지/리액션 해시로 보관한다.
+ * 리액션은 메시지 본문과 분리해 두어 Lua 스크립트에서 JSON 파싱 없이 원자적으로 갱신한다.
+ * 여러 노드가 같은 메시지의 리액션을 쓸 수 있으므로 reactionsVersion을 함께 보관하고 더 최신 버전만 반영한다.
+ * 읽음 상태는 보관하지 않는다 (응답 시 읽음 커서로 계산).
+ *
+ * - 메시지 추가는 prime 여부와 관계없이 기록하고, DB에서 최신 페이지를 읽은 노드가 prime 하면 조회에 사용된다
+ * - 커서/before 페이지도 캐시 범위 안이면 캐시에서 응답하고, 범위를 벗어나면 empty를 반환해 DB로 넘긴다
+ * - Redis 오류는 메시지 흐름을 막지 않도록 로그만 남기고 캐시를 비운다
+ */
+@Slf4j
+@Component
+public class RoomHistoryCache {
+
+    static final String KEY_PREFIX = "room-history:";
+
+    /**
+     * KEYS = index, messages, reactions, meta, reaction-versions
+     * ARGV[1] = id, ARGV[2] = score, ARGV[3] = message, ARGV[4] = reactions,
+     * ARGV[5] = capacity, ARGV[6] = ttl (ms)
+     */
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[4])
+            local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[5])
+            if overflow > 0 then
+              local evicted = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+              redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1)
+              redis.call('HDEL', KEYS[2], unpack(evicted))
+              redis.call('HDEL', KEYS[3], unpack(evicted))
+              redis.call('HDEL', KEYS[5], unpack(evicted))
+              if redis.call('EXISTS', KEYS[4]) == 1 then
+                redis.call('HSET', KEYS[4], 'hasOlder', '1')
+              end
+            end
+            for i = 1, #KEYS do
+              redis.call('PEXPIRE', KEYS[i], ARGV[6])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS = index, messages, reactions, meta, reaction-versions
+     * ARGV[1] = capacity, ARGV[2] = ttl (ms), ARGV[3] = hasOlder, ARGV[4] = 페이지의 가장 오래된 score,
+     * ARGV[5..] = (id, score, message, reactions) 반복
+     * 이미 기록된 메시지는 더 최신 상태일 수 있으므로 덮어쓰지 않는다.
+     */
+    private static final RedisScript<Long> PRIME_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local hasOlder = ARGV[3]
+            -- 페이지보다 오래된 항목은 사이가 비어 있을 수 있으므로 버린다
+            local stale = {}
+            if ARGV[4] ~= '-inf' then
+              stale = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[4])
+            end
+            if #stale > 0 then
+              redis.call('ZREM', KEYS[1], unpack(stale))
+              redis.call('HDEL', KEYS[2], unpack(stale))
+              redis.call('HDEL', KEYS[3], unpack(stale))
+              redis.call('HDEL', KEYS[5], unpack(stale))
+            end
+            for i = 5, #ARGV, 4 do
+              if redis.call('HSETNX', KEYS[2], ARGV[i], ARGV[i + 2]) == 1 then
+                redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i])
+                redis.call('HSET', KEYS[3], ARGV[i], ARGV[i + 3])
+              end
+            end
+            local overflow = redis.call('ZCARD', KEYS[1]) - capacity
+            if overflow > 0 then
+              local evicted = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+              redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1)
+              redis.call('HDEL', KEYS[2], unpack(evicted))
+              redis.call('HDEL', KEYS[3], unpack(evicted))
+              redis.call('HDEL', KEYS[5], unpack(evicted))
+              hasOlder = '1'
+            end
+            redis.call('HSET', KEYS[4], 'primed', '1')
+            if hasOlder == '1' then
+              redis.call('HSET', KEYS[4], 'hasOlder', '1')
+            else
+              redis.call('HSETNX', KEYS[4], 'hasOlder', '0')
+            end
+            for i = 1, #KEYS do
+              redis.call('PEXPIRE', KEYS[i], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS = index, messages, reactions, meta, reaction-versions
+     * ARGV[1] = 최대 score ('+inf', '(before', 커서 timestamp), ARGV[2] = 커서 id ('' 이면 없음),
+     * ARGV[3] = 커서 timestamp, ARGV[4] = limit
+     * 반환: {0} (캐시로 응답 불가) 또는 {1, hasMore, (message, reactions)...} 최신순
+     */
+    private static final RedisScript<List> PAGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[4], 'primed') ~= '1' then
+              return {0}
+            end
+            local hasOlder = redis.call('HGET', KEYS[4], 'hasOlder') == '1'
+            local cursorId = ARGV[2]
+            local cursorScore = tonumber(ARGV[3])
+            local limit = tonumber(ARGV[4])
+            local entries = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[1], '-inf', 'WITHSCORES')
+            local ids = {}
+            for i = 1, #entries, 2 do
+              local id = entries[i]
+              if cursorId == '' or tonumber(entries[i + 1]) < cursorScore or id < cursorId then
+                ids[#ids + 1] = id
+                if #ids > limit then
+                  break
+                end
+              end
+            end
+            if #ids < limit and hasOlder then
+              return {0}
+            end
+            local hasMore = #ids > limit or (#ids == limit and hasOlder)
+            local result = {1, hasMore and 1 or 0}
+            for i = 1, math.min(#ids, limit) do
+              local message = redis.call('HGET', KEYS[2], ids[i])
+              if not message then
+                return {0}
+              end
+              result[#result + 1] = message
+              result[#result + 1] = redis.call('HGET', KEYS[3], ids[i]) or '{}'
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS = messages, reactions, reaction-versions
+     * ARGV[1] = message id, ARGV[2] = reactions JSON, ARGV[3] = reactionsVersion, ARGV[4] = ttl (ms)
+     * 이미 같거나 더 최신 버전이 기록되어 있으면 덮어쓰지 않는다 (노드 간 flush 순서 역전 방지).
+     */
+    private static final RedisScript<Long> REACTIONS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then
+              return 0
+            end
+            local current = tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '-1')
+            if tonumber(ARGV[3]) <= current then
+              return 0
+            end
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private static final TypeReference<Map<String, Set<String>>> REACTIONS_TYPE = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int capacity;
+    private final long ttlMillis;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter errorCounter;
+
+    public RoomHistoryCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.history-cache.enabled:true}") boolean enabled,
+            @Value("${chatapp.message.history-cache.capacity:100}") int capacity,
+            @Value("${chatapp.message.history-cache.ttl-ms:3600000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+
+        this.hitCounter = Counter.builder("messages.history_cache.requests")
+                .tag("result", "hit")
+                .description("Message pages served from the shared Redis history cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("messages.history_cache.requests")
+                .tag("result", "miss")
+                .description("Message pages outside the shared Redis history cache")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("messages.history_cache.errors")
+                .description("Redis failures while reading or updating the history cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 범위 안의 페이지를 조회한다.
+     *
+     * @param cursor 이전 페이지의 커서 (없으면 null)
+     * @param beforeMillis cursor가 없을 때 사용할 기준 시각 (없으면 null, 최신 페이지)
+     * @return 캐시가 prime 되지 않았거나 범위를 벗어나면 empty
+     */
+    public Optional<FetchMessagesResponse> findPage(
+            String roomId, int limit, @Nullable MessageCursor cursor, @Nullable Long beforeMillis) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String maxScore = cursor != null ? Long.toString(cursor.timestamp())
+                : beforeMillis != null ? "(" + beforeMillis
+                : "+inf";
+        try {
+            List<?> result = redisTemplate.execute(PAGE_SCRIPT, keys(roomId),
+                    maxScore,
+                    cursor != null ? cursor.id() : "",
+                    cursor != null ? Long.toString(cursor.timestamp()) : "0",
+                    Integer.toString(limit));
+            if (result == null || result.isEmpty() || toLong(result.getFirst()) != 1L) {
+                missCounter.increment();
+                return Optional.empty();
+            }
+            boolean hasMore = toLong(result.get(1)) == 1L;
+            List<MessageResponse> messages = new ArrayList<>((result.size() - 2) / 2);
+            for (int i = result.size() - 2; i >= 2; i -= 2) {
+                messages.add(toResponse(result.get(i).toString(), result.get(i + 1).toString()));
+            }
+            String nextCursor = null;
+            if (hasMore && !messages.isEmpty()) {
+                MessageResponse oldest = messages.getFirst();
+                nextCursor = new MessageCursor(oldest.getTimestamp(), oldest.getId()).encode();
+            }
+            hitCounter.increment();
+            return Optional.of(FetchMessagesResponse.builder()
+                    .messages(messages)
+                    .hasMore(hasMore)
+                    .nextCursor(nextCursor)
+                    .build());
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to read room history cache - roomId: {}: {}", roomId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * DB에서 읽은 최신 페이지로 캐시를 채운다.
+     *
+     * @param latestAscending 오래된 순으로 정렬된 최신 메시지
+     * @param hasOlder 페이지 이전에 메시지가 더 있는지
+     */
+    public void prime(String roomId, List<MessageResponse> latestAscending, boolean hasOlder) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> args = new ArrayList<>(4 + latestAscending.size() * 4);
+            args.add(Integer.toString(capacity));
+            args.add(Long.toString(ttlMillis));
+            args.add(hasOlder ? "1" : "0");
+            args.add(latestAscending.isEmpty() ? "-inf" : Long.toString(latestAscending.getFirst().getTimestamp()));
+            for (MessageResponse response : latestAscending) {
+                addEntryArgs(args, response);
+            }
+            redisTemplate.execute(PRIME_SCRIPT, keys(roomId), args.toArray());
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to prime room history cache - roomId: {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    public void append(String roomId, MessageResponse response) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> args = new ArrayList<>(6);
+            addEntryArgs(args, response);
+            args.add(Integer.toString(capacity));
+            args.add(Long.toString(ttlMillis));
+            redisTemplate.execute(APPEND_SCRIPT, keys(roomId), args.toArray());
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to append to room history cache - roomId: {}, messageId: {}: {}",
+                    roomId, response.getId(), e.getMessage());
+            // 누락된 메시지가 있는 창으로 응답하지 않도록 방 캐시를 비운다
+            evict(roomId);
+        }
+    }
+
+    /**
+     * 캐시된 메시지의 리액션을 교체한다. 기록된 버전보다 오래된 상태는 무시한다.
+     *
+     * @param version 리액션 상태의 reactionsVersion
+     */
+    public void updateReactions(String roomId, String messageId, Map<String, Set<String>> reactions, long version) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> keys = keys(roomId);
+            redisTemplate.execute(REACTIONS_SCRIPT, List.of(keys.get(1), keys.get(2), keys.get(4)),
+                    messageId, objectMapper.writeValueAsString(reactions != null ? reactions : Map.of()),
+                    Long.toString(version), Long.toString(ttlMillis));
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to update reactions in room history cache - roomId: {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    public void evict(String roomId) {
+        try {
+            redisTemplate.delete(keys(roomId));
+        } catch (Exception e) {
+            log.warn("Failed to evict room history cache - roomId: {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    private void addEntryArgs(List<String> args, MessageResponse response) throws JsonProcessingException {
+        ObjectNode message = objectMapper.valueToTree(response);
+        message.remove("readers");
+        message.remove("reactions");
+        args.add(response.getId());
+        args.add(Long.toString(response.getTimestamp()));
+        args.add(objectMapper.writeValueAsString(message));
+        args.add(objectMapper.writeValueAsString(response.getReactions() != null ? response.getReactions() : Map.of()));
+    }
+
+    private MessageResponse toResponse(String message, String reactions) throws JsonProcessingException {
+        MessageResponse response = objectMapper.readValue(message, MessageResponse.class);
+        response.setReactions(objectMapper.readValue(reactions, REACTIONS_TYPE));
+        return response;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+
+    /**
+     * 같은 방의 키는 해시 태그로 묶어 클러스터에서도 한 슬롯에 배치한다.
+     */
+    static List<String> keys(String roomId) {
+        String prefix = KEY_PREFIX + "{" + roomId + "}:";
+        return List.of(prefix + "index", prefix + "messages", prefix + "reactions", prefix + "meta",
+                prefix + "reaction-versions");
+    }
+}
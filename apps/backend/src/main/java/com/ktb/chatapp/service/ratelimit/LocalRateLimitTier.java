@@ -0,0 +1,213 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RateLimitStore 앞단의 프로세스 내 토큰 버킷 계층.
+ * 공유 저장소와 동기화할 때 남은 한도에서 예비분을 뺀 만큼을 로컬 토큰으로 임대받고,
+ * 토큰이 남아 있는 동안은 I/O 없이 CAS 한 번으로 요청을 허용한다.
+ * 토큰이 바닥나거나 동기화 주기가 지나면 로컬에서 허용한 요청 수를 함께 보고하며 저장소와 다시 맞춘다.
+ * 노드 간 오차는 노드당 (한도 - 예비분) 또는 동기화 주기 동안의 요청 수로 제한된다.
+ */
+@Slf4j
+@Component
+public class LocalRateLimitTier {
+
+    private final RateLimitStore rateLimitStore;
+    private final boolean enabled;
+    private final int minLimit;
+    private final double reserveRatio;
+    private final long syncIntervalNanos;
+    private final long idleEvictNanos;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Counter localHitCounter;
+    private final Counter syncCounter;
+    private final Counter evictionCounter;
+
+    public LocalRateLimitTier(
+            RateLimitStore rateLimitStore,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ratelimit.local.enabled:true}") boolean enabled,
+            @Value("${chatapp.ratelimit.local.min-limit:100}") int minLimit,
+            @Value("${chatapp.ratelimit.local.reserve-ratio:0.1}") double reserveRatio,
+            @Value("${chatapp.ratelimit.local.sync-interval-ms:1000}") long syncIntervalMillis,
+            @Value("${chatapp.ratelimit.local.idle-evict-ms:120000}") long idleEvictMillis) {
+        this.rateLimitStore = rateLimitStore;
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.reserveRatio = reserveRatio;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+
+        Gauge.builder("ratelimit.local.buckets", buckets, Map::size)
+                .description("Active local rate limit buckets")
+                .register(meterRegistry);
+        this.localHitCounter = Counter.builder("ratelimit.local.hits")
+                .description("Rate limit checks answered without store I/O")
+                .register(meterRegistry);
+        this.syncCounter = Counter.builder("ratelimit.local.syncs")
+                .description("Local bucket reconciliations with the rate limit store")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("ratelimit.local.evictions")
+                .description("Idle local rate limit buckets evicted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작은 한도는 항상 소진 직전이므로 로컬 계층의 이점이 없고 오차 비율만 커진다.
+     */
+    public boolean appliesTo(int maxRequests) {
+        return enabled && maxRequests >= minLimit;
+    }
+
+    public RateLimitCheckResult tryAcquire(String clientId, int maxRequests, Duration window) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.computeIfAbsent(
+                clientId + ":" + maxRequests + ":" + window.toMillis(),
+                key -> new Bucket(clientId, maxRequests, window));
+        bucket.lastAccessNanos = now;
+
+        long nowMillis = System.currentTimeMillis();
+        long blockedUntil = bucket.blockedUntilMillis;
+        if (blockedUntil > nowMillis) {
+            return RateLimitCheckResult.rejected(maxRequests, bucket.windowSeconds(), bucket.resetEpochSeconds,
+                    Math.max(1L, (blockedUntil - nowMillis + 999) / 1000));
+        }
+
+        if (bucket.isFresh(now, syncIntervalNanos) && bucket.tryTakeToken()) {
+            int pending = bucket.unsynced.incrementAndGet();
+            localHitCounter.increment();
+            return RateLimitCheckResult.allowed(
+                    maxRequests,
+                    Math.max(0, bucket.remoteRemaining - pending),
+                    bucket.windowSeconds(),
+                    bucket.resetEpochSeconds,
+                    Math.max(1L, bucket.resetEpochSeconds - nowMillis / 1000));
+        }
+
+        if (!bucket.syncing.compareAndSet(false, true)) {
+            // 다른 스레드가 동기화 중이면 이 요청만 저장소에서 직접 판단한다
+            return rateLimitStore.tryAcquire(clientId, maxRequests, window);
+        }
+        try {
+            return sync(bucket, now, 1);
+        } finally {
+            bucket.syncing.set(false);
+        }
+    }
+
+    /**
+     * 로컬에서 허용한 요청을 저장소에 기록하고 새 토큰을 임대받는다.
+     */
+    private RateLimitCheckResult sync(Bucket bucket, long now, int permits) {
+        int pending = bucket.unsynced.getAndSet(0);
+        RateLimitCheckResult result;
+        try {
+            result = rateLimitStore.acquire(bucket.clientId, bucket.maxRequests, bucket.window, pending, permits);
+        } catch (RuntimeException e) {
+            bucket.unsynced.addAndGet(pending);
+            throw e;
+        }
+        syncCounter.increment();
+
+        int reserve = Math.max(1, (int) (bucket.maxRequests * reserveRatio));
+        bucket.remoteRemaining = result.remaining();
+        bucket.resetEpochSeconds = result.resetEpochSeconds();
+        bucket.tokens.set(result.allowed() ? Math.max(0, result.remaining() - reserve) : 0);
+        bucket.blockedUntilMillis = result.allowed()
+                ? 0L
+                : System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(result.retryAfterSeconds());
+        bucket.syncedAtNanos = now;
+        return result;
+    }
+
+    /**
+     * 주기적으로 로컬 허용분을 저장소에 반영하고 유휴 버킷을 제거한다.
+     */
+    @Scheduled(fixedDelayString = "${chatapp.ratelimit.local.sync-interval-ms:1000}")
+    public void syncPending() {
+        long now = System.nanoTime();
+        Iterator<Bucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            Bucket bucket = iterator.next();
+            boolean idle = now - bucket.lastAccessNanos > idleEvictNanos;
+            if (idle) {
+                iterator.remove();
+                evictionCounter.increment();
+            }
+            if (bucket.unsynced.get() == 0 || !bucket.syncing.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                sync(bucket, now, 0);
+            } catch (Exception e) {
+                log.warn("Failed to reconcile local rate limit bucket for {}: {}", bucket.clientId, e.getMessage());
+            } finally {
+                bucket.syncing.set(false);
+            }
+        }
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private final String clientId;
+        private final int maxRequests;
+        private final Duration window;
+
+        /** 로컬에서 I/O 없이 허용할 수 있는 토큰 수 */
+        private final AtomicInteger tokens = new AtomicInteger();
+        /** 로컬에서 허용했지만 아직 저장소에 기록하지 않은 요청 수 */
+        private final AtomicInteger unsynced = new AtomicInteger();
+        private final AtomicBoolean syncing = new AtomicBoolean();
+
+        private volatile long syncedAtNanos;
+        private volatile long lastAccessNanos;
+        private volatile long blockedUntilMillis;
+        private volatile long resetEpochSeconds;
+        private volatile int remoteRemaining;
+
+        private Bucket(String clientId, int maxRequests, Duration window) {
+            this.clientId = clientId;
+            this.maxRequests = maxRequests;
+            this.window = window;
+        }
+
+        private long windowSeconds() {
+            return Math.max(1L, window.getSeconds());
+        }
+
+        private boolean isFresh(long now, long syncIntervalNanos) {
+            return syncedAtNanos != 0 && now - syncedAtNanos < syncIntervalNanos;
+        }
+
+        private boolean tryTakeToken() {
+            while (true) {
+                int current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
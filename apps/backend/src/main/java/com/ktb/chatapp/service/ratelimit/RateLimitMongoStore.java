@@ -2,7 +2,9 @@ package com.ktb.chatapp.service.ratelimit;
 
 import com.ktb.chatapp.model.RateLimit;
 import com.ktb.chatapp.repository.RateLimitRepository;
-import java.util.Optional;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -16,13 +18,56 @@ public class RateLimitMongoStore implements RateLimitStore {
     
     private final RateLimitRepository rateLimitRepository;
     
+    /**
+     * 조회 후 저장하는 고정 윈도우 방식. 원자적이지 않으므로 동시 요청 시 한도를 약간 초과할 수 있다.
+     */
     @Override
-    public Optional<RateLimit> findByClientId(String clientId) {
-        return rateLimitRepository.findByClientId(clientId);
-    }
-    
-    @Override
-    public RateLimit save(RateLimit rateLimit) {
-        return rateLimitRepository.save(rateLimit);
+    public RateLimitCheckResult acquire(
+            String clientId, int maxRequests, Duration window, int consumed, int permits) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        Instant now = Instant.now();
+        long nowEpochSeconds = now.getEpochSecond();
+
+        RateLimit rateLimit = rateLimitRepository.findByClientId(clientId).orElse(null);
+        if (rateLimit == null && consumed > 0) {
+            rateLimit = RateLimit.builder()
+                    .clientId(clientId)
+                    .count(0)
+                    .expiresAt(now.plus(window))
+                    .build();
+        }
+        int currentCount = (rateLimit != null ? rateLimit.getCount() : 0) + consumed;
+
+        if (rateLimit != null && currentCount + permits > maxRequests) {
+            if (consumed > 0) {
+                rateLimit.setCount(currentCount);
+                rateLimitRepository.save(rateLimit);
+            }
+            long retryAfterSeconds = Math.max(1L,
+                rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+            return RateLimitCheckResult.rejected(
+                    maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+
+        // Create or update rate limit
+        int newCount = currentCount + permits;
+        if (rateLimit == null) {
+            rateLimit = RateLimit.builder()
+                    .clientId(clientId)
+                    .count(newCount)
+                    .expiresAt(now.plus(window))
+                    .build();
+        } else {
+            rateLimit.setCount(newCount);
+        }
+        rateLimitRepository.save(rateLimit);
+
+        int remaining = Math.max(0, maxRequests - newCount);
+        long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+        long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
     }
 }
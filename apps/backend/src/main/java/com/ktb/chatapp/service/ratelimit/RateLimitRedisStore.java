@@ -0,0 +1,121 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis implementation of RateLimitStore.
+ * GCRA(Generic Cell Rate Algorithm)로 한도를 검사하고, 기록/검사/소비를 하나의 Lua 스크립트에서
+ * 수행하여 노드/스레드 간 경합 없이 한 번의 왕복으로 결과를 반환한다.
+ * 클라이언트별 상태는 이론적 도착 시각(tat) 하나뿐이며 키 TTL로 자동 정리된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitRedisStore implements RateLimitStore {
+
+    static final String KEY_PREFIX = "ratelimit:";
+
+    /**
+     * ARGV[1] = limit, ARGV[2] = window (ms), ARGV[3] = 무조건 기록할 요청 수, ARGV[4] = 획득할 요청 수
+     * 반환: {allowed(1/0), remaining, retryAfterMs, resetAfterMs}
+     * 시각은 Redis 서버 시간을 사용해 노드 간 시계 차이의 영향을 받지 않는다.
+     */
+    private static final RedisScript<List> GCRA_SCRIPT = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + tonumber(time[2]) / 1000
+            local interval = window / limit
+            local consumed = tonumber(ARGV[3])
+            local permits = tonumber(ARGV[4])
+            local tat = tonumber(redis.call('HGET', KEYS[1], 'tat'))
+            if not tat or tat < now then
+              tat = now
+            end
+            tat = tat + consumed * interval
+            local newTat = tat + permits * interval
+            local allowAt = newTat - window
+            -- 부동소수 오차로 마지막 허용 요청이 거부되지 않도록 여유를 둔다
+            if allowAt - now > 0.001 then
+              if consumed > 0 then
+                redis.call('HSET', KEYS[1], 'tat', tostring(tat), 'interval', tostring(interval))
+                redis.call('PEXPIRE', KEYS[1], math.ceil(tat - now))
+              end
+              return {0, 0, math.ceil(allowAt - now), math.ceil(tat - now)}
+            end
+            local resetAfter = math.max(1, math.ceil(newTat - now))
+            redis.call('HSET', KEYS[1], 'tat', tostring(newTat), 'interval', tostring(interval))
+            redis.call('PEXPIRE', KEYS[1], resetAfter)
+            local remaining = math.floor((window - (newTat - now)) / interval + 0.001)
+            return {1, remaining, 0, resetAfter}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 현재 GCRA 상태를 RateLimit 형태로 조회한다 (진단/테스트용).
+     */
+    public Optional<RateLimit> findByClientId(String clientId) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(key(clientId), List.of("tat", "interval"));
+        if (values.get(0) == null || values.get(1) == null) {
+            return Optional.empty();
+        }
+        double tat = Double.parseDouble(values.get(0).toString());
+        double interval = Double.parseDouble(values.get(1).toString());
+        long now = System.currentTimeMillis();
+        int count = (int) Math.ceil(Math.max(0, tat - now) / interval);
+        return Optional.of(RateLimit.builder()
+                .clientId(clientId)
+                .count(count)
+                .expiresAt(Instant.ofEpochMilli((long) Math.ceil(tat)))
+                .build());
+    }
+
+    @Override
+    public RateLimitCheckResult acquire(
+            String clientId, int maxRequests, Duration window, int consumed, int permits) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        @SuppressWarnings("unchecked")
+        List<Long> result = redisTemplate.execute(
+                GCRA_SCRIPT,
+                List.of(key(clientId)),
+                Integer.toString(maxRequests),
+                Long.toString(Math.max(1L, window.toMillis())),
+                Integer.toString(consumed),
+                Integer.toString(permits));
+        if (result == null || result.size() < 4) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+
+        long nowEpochMillis = System.currentTimeMillis();
+        long resetEpochSeconds = toEpochSeconds(nowEpochMillis, result.get(3));
+        if (result.get(0) == 0L) {
+            long retryAfterSeconds = Math.max(1L, ceilSeconds(result.get(2)));
+            return RateLimitCheckResult.rejected(maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+        int remaining = (int) Math.max(0L, result.get(1));
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, resetEpochSeconds, Math.max(1L, ceilSeconds(result.get(3))));
+    }
+
+    private static String key(String clientId) {
+        return KEY_PREFIX + clientId;
+    }
+
+    private static long ceilSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    private static long toEpochSeconds(long nowEpochMillis, long afterMillis) {
+        return (nowEpochMillis + afterMillis + 999) / 1000;
+    }
+}
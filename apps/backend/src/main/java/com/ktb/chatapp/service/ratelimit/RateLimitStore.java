@@ -1,27 +1,36 @@
 package com.ktb.chatapp.service.ratelimit;
 
-import com.ktb.chatapp.model.RateLimit;
-import java.util.Optional;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
 
 /**
  * Data store interface for rate limit storage.
- * Provides operations for storing and retrieving rate limit data.
+ * Limit state is only changed through acquire so that each store can update it atomically.
  */
 public interface RateLimitStore {
-    
+
     /**
-     * Find rate limit by client ID
+     * Check the limit and consume one request for the client.
      *
      * @param clientId the client identifier
-     * @return Optional containing the RateLimit if found, empty otherwise
+     * @param maxRequests maximum requests allowed in the window
+     * @param window the rate limit window
+     * @return limit, remaining and reset information for the check
      */
-    Optional<RateLimit> findByClientId(String clientId);
-    
+    default RateLimitCheckResult tryAcquire(String clientId, int maxRequests, Duration window) {
+        return acquire(clientId, maxRequests, window, 0, 1);
+    }
+
     /**
-     * Save or update rate limit
+     * Record requests already admitted elsewhere (e.g. by a local tier) and then
+     * try to acquire additional permits, atomically where the store supports it.
      *
-     * @param rateLimit the rate limit to save
-     * @return the saved rate limit
+     * @param clientId the client identifier
+     * @param maxRequests maximum requests allowed in the window
+     * @param window the rate limit window
+     * @param consumed requests to record unconditionally
+     * @param permits requests to acquire only if they fit in the limit (0 to just record)
+     * @return limit, remaining and reset information after the operation
      */
-    RateLimit save(RateLimit rateLimit);
+    RateLimitCheckResult acquire(String clientId, int maxRequests, Duration window, int consumed, int permits);
 }
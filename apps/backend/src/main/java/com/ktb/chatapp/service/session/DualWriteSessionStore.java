@@ -0,0 +1,79 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mongo → Redis 마이그레이션 기간에 사용하는 SessionStore.
+ * 쓰기는 두 저장소에 모두 반영하고, 읽기는 primary(Redis)를 먼저 조회한 뒤
+ * 없으면 secondary(Mongo)에서 읽어 primary에 채워 넣는다.
+ * secondary 실패는 로그만 남기고 요청을 실패시키지 않는다.
+ */
+@Slf4j
+public class DualWriteSessionStore implements SessionStore {
+
+    private final SessionStore primary;
+    private final SessionStore secondary;
+
+    public DualWriteSessionStore(SessionStore primary, SessionStore secondary) {
+        this.primary = primary;
+        this.secondary = secondary;
+    }
+
+    @Override
+    public Optional<Session> findByUserId(String userId) {
+        Optional<Session> session = primary.findByUserId(userId);
+        if (session.isPresent()) {
+            return session;
+        }
+        Optional<Session> fallback = secondaryCall("findByUserId", () -> secondary.findByUserId(userId));
+        if (fallback != null && fallback.isPresent()) {
+            primary.save(fallback.get());
+            return fallback;
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Session save(Session session) {
+        Session saved = secondaryCall("save", () -> secondary.save(session));
+        return primary.save(saved != null ? saved : session);
+    }
+
+    @Override
+    public void deleteAll(String userId) {
+        primary.deleteAll(userId);
+        secondaryRun("deleteAll", () -> secondary.deleteAll(userId));
+    }
+
+    @Override
+    public void delete(String userId, String sessionId) {
+        primary.delete(userId, sessionId);
+        secondaryRun("delete", () -> secondary.delete(userId, sessionId));
+    }
+
+    @Override
+    public void touchAll(Map<String, Long> lastActivityByUserId) {
+        primary.touchAll(lastActivityByUserId);
+        secondaryRun("touchAll", () -> secondary.touchAll(lastActivityByUserId));
+    }
+
+    private <T> T secondaryCall(String operation, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (Exception e) {
+            log.warn("Secondary session store {} failed: {}", operation, e.getMessage());
+            return null;
+        }
+    }
+
+    private void secondaryRun(String operation, Runnable call) {
+        secondaryCall(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.ktb.chatapp.service.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 세션 lastActivity 갱신을 메모리에서 병합하는 트래커.
+ * 요청마다 세션 문서를 저장하는 대신 사용자별 최신 활동 시각만 기록해 두고,
+ * 주기적으로 SessionStore.touchAll 한 번으로 반영한다.
+ */
+@Slf4j
+@Component
+public class SessionActivityTracker {
+
+    private final SessionStore sessionStore;
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+    private final Counter touchCounter;
+    private final Counter flushedCounter;
+    private final Counter flushErrorCounter;
+
+    public SessionActivityTracker(SessionStore sessionStore, MeterRegistry meterRegistry) {
+        this.sessionStore = sessionStore;
+        Gauge.builder("sessions.activity.pending", pendingTouches, Map::size)
+                .description("Users with unflushed session activity")
+                .register(meterRegistry);
+        this.touchCounter = Counter.builder("sessions.activity.touches")
+                .description("Session activity touches recorded in memory")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("sessions.activity.flushed")
+                .description("Session activity updates written to the store")
+                .register(meterRegistry);
+        this.flushErrorCounter = Counter.builder("sessions.activity.flush.errors")
+                .description("Failed session activity flushes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 활동 시각을 기록한다. 이미 더 최신 값이 있으면 유지한다.
+     */
+    public void touch(String userId, long activityMillis) {
+        pendingTouches.merge(userId, activityMillis, Math::max);
+        touchCounter.increment();
+    }
+
+    /**
+     * 아직 저장소에 반영되지 않은 활동 시각 (없으면 0)
+     */
+    public long pendingActivity(String userId) {
+        return pendingTouches.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * 세션이 삭제된 사용자의 대기 중인 활동 기록을 버린다.
+     */
+    public void discard(String userId) {
+        pendingTouches.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.session.activity-flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        Map<String, Long> batch = new HashMap<>();
+        for (String userId : pendingTouches.keySet()) {
+            Long activity = pendingTouches.remove(userId);
+            if (activity != null) {
+                batch.put(userId, activity);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sessionStore.touchAll(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영되도록 되돌린다
+            batch.forEach(this::touch);
+            flushErrorCounter.increment();
+            log.warn("Failed to flush session activity for {} users: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
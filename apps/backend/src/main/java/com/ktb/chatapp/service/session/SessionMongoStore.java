@@ -2,10 +2,19 @@ package com.ktb.chatapp.service.session;
 
 import com.ktb.chatapp.model.Session;
 import com.ktb.chatapp.repository.SessionRepository;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import static com.ktb.chatapp.service.SessionService.SESSION_TTL_SEC;
+
 /**
  * MongoDB implementation of SessionStore.
  * Uses SessionRepository for persistence.
@@ -15,6 +24,7 @@ import org.springframework.stereotype.Component;
 public class SessionMongoStore implements SessionStore {
     
     private final SessionRepository sessionRepository;
+    private final MongoTemplate mongoTemplate;
     
     @Override
     public Optional<Session> findByUserId(String userId) {
@@ -38,4 +48,21 @@ public class SessionMongoStore implements SessionStore {
     public void deleteAll(String userId) {
         sessionRepository.deleteByUserId(userId);
     }
+
+    /**
+     * 사용자별 활동 시각을 $max 연산으로 한 번의 unordered bulk update에 반영한다.
+     */
+    @Override
+    public void touchAll(Map<String, Long> lastActivityByUserId) {
+        if (lastActivityByUserId.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class);
+        lastActivityByUserId.forEach((userId, lastActivity) -> bulkOps.updateOne(
+                Query.query(Criteria.where("userId").is(userId)),
+                new Update()
+                        .max("lastActivity", lastActivity)
+                        .max("expiresAt", Instant.ofEpochMilli(lastActivity).plusSeconds(SESSION_TTL_SEC))));
+        bulkOps.execute();
+    }
 }
@@ -0,0 +1,199 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.SessionMetadata;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.service.SessionService.SESSION_TTL_SEC;
+
+/**
+ * Redis implementation of SessionStore.
+ * 세션을 사용자별 해시(session:{userId})로 저장하고 키 TTL로 만료시킨다.
+ * 만료 시각은 lastActivity + SESSION_TTL 이며, touchAll은 파이프라인으로 한 번에 연장한다.
+ * 저장과 sessionId 비교 삭제는 Lua 스크립트로 원자적으로 수행해 다른 노드의 읽기/삭제와 섞이지 않게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionRedisStore implements SessionStore {
+
+    static final String KEY_PREFIX = "session:";
+
+    private static final String F_SESSION_ID = "sessionId";
+    private static final String F_CREATED_AT = "createdAt";
+    private static final String F_LAST_ACTIVITY = "lastActivity";
+    private static final String F_USER_AGENT = "userAgent";
+    private static final String F_IP_ADDRESS = "ipAddress";
+    private static final String F_DEVICE_INFO = "deviceInfo";
+
+    /**
+     * lastActivity를 더 최신 값으로만 갱신하고 만료 시각을 함께 연장한다 ($max 와 동일한 의미).
+     * 키가 없으면 (이미 만료/삭제된 세션) 아무것도 하지 않는다.
+     */
+    private static final byte[] TOUCH_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            local current = tonumber(redis.call('HGET', KEYS[1], 'lastActivity') or '0')
+            if tonumber(ARGV[1]) > current then
+              redis.call('HSET', KEYS[1], 'lastActivity', ARGV[1])
+              redis.call('PEXPIREAT', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 기존 해시를 지우고 새 필드로 채운 뒤 만료 시각을 설정한다.
+     * ARGV[1] = expireAt (epoch millis), ARGV[2..] = field, value, ...
+     */
+    private static final byte[] SAVE_SCRIPT = """
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIREAT', KEYS[1], ARGV[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 저장된 sessionId가 ARGV[1]과 같을 때만 세션을 삭제한다.
+     */
+    private static final byte[] DELETE_SCRIPT = """
+            if redis.call('HGET', KEYS[1], 'sessionId') == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<Session> findByUserId(String userId) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(userId));
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toSession(userId, hash));
+    }
+
+    @Override
+    public Session save(Session session) {
+        String key = key(session.getUserId());
+        Map<String, String> hash = toHash(session);
+        long expireAt = expireAtMillis(session.getLastActivity());
+        byte[][] keysAndArgs = new byte[2 + hash.size() * 2][];
+        keysAndArgs[0] = bytes(key);
+        keysAndArgs[1] = bytes(Long.toString(expireAt));
+        int i = 2;
+        for (Map.Entry<String, String> field : hash.entrySet()) {
+            keysAndArgs[i++] = bytes(field.getKey());
+            keysAndArgs[i++] = bytes(field.getValue());
+        }
+        redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(SAVE_SCRIPT, ReturnType.INTEGER, 1, keysAndArgs));
+        if (session.getId() == null) {
+            session.setId(session.getSessionId());
+        }
+        if (session.getExpiresAt() == null) {
+            session.setExpiresAt(Instant.ofEpochMilli(expireAt));
+        }
+        return session;
+    }
+
+    @Override
+    public void delete(String userId, String sessionId) {
+        redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(DELETE_SCRIPT, ReturnType.INTEGER, 1,
+                        bytes(key(userId)), bytes(sessionId)));
+    }
+
+    @Override
+    public void deleteAll(String userId) {
+        redisTemplate.delete(key(userId));
+    }
+
+    @Override
+    public void touchAll(Map<String, Long> lastActivityByUserId) {
+        if (lastActivityByUserId.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            lastActivityByUserId.forEach((userId, lastActivity) -> touch(connection, userId, lastActivity));
+            return null;
+        });
+    }
+
+    private void touch(RedisConnection connection, String userId, long lastActivity) {
+        connection.scriptingCommands().eval(
+                TOUCH_SCRIPT,
+                ReturnType.INTEGER,
+                1,
+                bytes(key(userId)),
+                bytes(Long.toString(lastActivity)),
+                bytes(Long.toString(expireAtMillis(lastActivity))));
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static long expireAtMillis(long lastActivity) {
+        return lastActivity + SESSION_TTL_SEC * 1000;
+    }
+
+    private static Map<String, String> toHash(Session session) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put(F_SESSION_ID, session.getSessionId());
+        hash.put(F_CREATED_AT, Long.toString(session.getCreatedAt()));
+        hash.put(F_LAST_ACTIVITY, Long.toString(session.getLastActivity()));
+        SessionMetadata metadata = session.getMetadata();
+        if (metadata != null) {
+            putIfNotNull(hash, F_USER_AGENT, metadata.userAgent());
+            putIfNotNull(hash, F_IP_ADDRESS, metadata.ipAddress());
+            putIfNotNull(hash, F_DEVICE_INFO, metadata.deviceInfo());
+        }
+        return hash;
+    }
+
+    private static Session toSession(String userId, Map<Object, Object> hash) {
+        String sessionId = (String) hash.get(F_SESSION_ID);
+        long lastActivity = parseLong(hash.get(F_LAST_ACTIVITY));
+        SessionMetadata metadata = null;
+        if (hash.containsKey(F_USER_AGENT) || hash.containsKey(F_IP_ADDRESS) || hash.containsKey(F_DEVICE_INFO)) {
+            metadata = new SessionMetadata(
+                    (String) hash.get(F_USER_AGENT),
+                    (String) hash.get(F_IP_ADDRESS),
+                    (String) hash.get(F_DEVICE_INFO));
+        }
+        return Session.builder()
+                .id(sessionId)
+                .userId(userId)
+                .sessionId(sessionId)
+                .createdAt(parseLong(hash.get(F_CREATED_AT)))
+                .lastActivity(lastActivity)
+                .metadata(metadata)
+                .expiresAt(Instant.ofEpochMilli(expireAtMillis(lastActivity)))
+                .build();
+    }
+
+    private static void putIfNotNull(Map<String, String> hash, String field, String value) {
+        if (value != null) {
+            hash.put(field, value);
+        }
+    }
+
+    private static long parseLong(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
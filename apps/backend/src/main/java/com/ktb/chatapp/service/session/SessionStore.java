@@ -1,6 +1,7 @@
 package com.ktb.chatapp.service.session;
 
 import com.ktb.chatapp.model.Session;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,4 +34,12 @@ public interface SessionStore {
     void deleteAll(String userId);
     
     void delete(String userId, String sessionId);
+
+    /**
+     * Advance lastActivity/expiresAt of the given users' sessions in one batch.
+     * Values older than the stored ones must not move the session backwards.
+     *
+     * @param lastActivityByUserId latest activity time (epoch millis) per user
+     */
+    void touchAll(Map<String, Long> lastActivityByUserId);
 }
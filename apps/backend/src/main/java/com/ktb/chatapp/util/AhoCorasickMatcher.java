@@ -0,0 +1,228 @@
+package com.ktb.chatapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.util.Assert;
+
+/**
+ * 금칙어 사전을 Aho-Corasick 오토마톤으로 컴파일한 다중 패턴 매처.
+ * 사전에 등장하는 문자만으로 알파벳을 압축하고, 실패 링크를 미리 펼친
+ * DFA 전이 테이블(int[])을 사용해 메시지를 한 번만 순회한다.
+ * 생성 이후에는 불변이므로 여러 스레드에서 동시에 사용해도 안전하다.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_MATCH = -1;
+
+    /** 문자 → 압축 알파벳 인덱스. 0은 사전에 없는 문자를 의미한다. */
+    private final int[] charClasses;
+    private final int alphabetSize;
+    /** state * alphabetSize + charClass → 다음 상태 */
+    private final int[] transitions;
+    /** 상태에서 끝나는 가장 긴 패턴 인덱스 (출력 링크 포함), 없으면 -1 */
+    private final int[] outputs;
+    private final String[] patterns;
+
+    private AhoCorasickMatcher(
+            int[] charClasses, int alphabetSize, int[] transitions, int[] outputs, String[] patterns) {
+        this.charClasses = charClasses;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.patterns = patterns;
+    }
+
+    /**
+     * 패턴 목록으로 오토마톤을 생성한다.
+     * 패턴은 문자 단위 소문자로 정규화되며 공백/빈 패턴은 무시된다.
+     *
+     * @param words 금칙어 목록
+     * @return 컴파일된 매처
+     */
+    public static AhoCorasickMatcher compile(Collection<String> words) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word != null && !word.isBlank()) {
+                normalized.add(toLowerCase(word));
+            }
+        }
+        Assert.notEmpty(normalized, "Banned words set must not be empty");
+        String[] patterns = normalized.toArray(String[]::new);
+
+        // 1. 알파벳 압축
+        char maxChar = 0;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                maxChar = (char) Math.max(maxChar, pattern.charAt(i));
+            }
+        }
+        int[] charClasses = new int[maxChar + 1];
+        int alphabetSize = 1;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // 2. 트라이 구성 (goto 함수)
+        int maxStates = 1;
+        for (String pattern : patterns) {
+            maxStates += pattern.length();
+        }
+        int[] table = new int[maxStates * alphabetSize];
+        Arrays.fill(table, NO_MATCH);
+        int[] outputs = new int[maxStates];
+        Arrays.fill(outputs, NO_MATCH);
+        int stateCount = 1;
+
+        for (int p = 0; p < patterns.length; p++) {
+            String pattern = patterns[p];
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                int index = state * alphabetSize + charClasses[pattern.charAt(i)];
+                if (table[index] == NO_MATCH) {
+                    table[index] = stateCount++;
+                }
+                state = table[index];
+            }
+            outputs[state] = p;
+        }
+
+        // 3. BFS로 실패 링크를 계산하면서 전이 테이블을 DFA로 펼친다
+        int[] failure = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = table[c];
+            if (next == NO_MATCH) {
+                table[c] = ROOT;
+            } else {
+                failure[next] = ROOT;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int base = state * alphabetSize;
+            int failBase = failure[state] * alphabetSize;
+            if (outputs[state] == NO_MATCH) {
+                outputs[state] = outputs[failure[state]];
+            }
+            table[base] = ROOT;
+            for (int c = 1; c < alphabetSize; c++) {
+                int next = table[base + c];
+                if (next == NO_MATCH) {
+                    table[base + c] = table[failBase + c];
+                } else {
+                    failure[next] = table[failBase + c];
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        int[] transitions = Arrays.copyOf(table, stateCount * alphabetSize);
+        return new AhoCorasickMatcher(
+                charClasses, alphabetSize, transitions, Arrays.copyOf(outputs, stateCount), patterns);
+    }
+
+    /**
+     * 메시지를 한 번 순회하여 가장 먼저 끝나는 금칙어를 찾는다.
+     *
+     * @param text 검사할 메시지
+     * @return 매칭된 금칙어와 원문 기준 시작 위치
+     */
+    public Optional<BannedWordMatch> findFirst(CharSequence text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + classOf(text.charAt(i))];
+            int output = outputs[state];
+            if (output != NO_MATCH) {
+                String term = patterns[output];
+                return Optional.of(new BannedWordMatch(term, i - term.length() + 1));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 메시지에 포함된 모든 금칙어를 찾는다. 같은 위치에서 끝나는 패턴은 가장 긴 것만 보고한다.
+     *
+     * @param text 검사할 메시지
+     * @return 등장 순서대로 정렬된 매칭 결과
+     */
+    public List<BannedWordMatch> findAll(CharSequence text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<BannedWordMatch> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + classOf(text.charAt(i))];
+            int output = outputs[state];
+            if (output != NO_MATCH) {
+                String term = patterns[output];
+                matches.add(new BannedWordMatch(term, i - term.length() + 1));
+            }
+        }
+        return matches;
+    }
+
+    public boolean matches(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + classOf(text.charAt(i))];
+            if (outputs[state] != NO_MATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    public int stateCount() {
+        return outputs.length;
+    }
+
+    /**
+     * 전이 테이블과 보조 배열이 차지하는 대략적인 힙 크기 (바이트)
+     */
+    public long estimatedSizeInBytes() {
+        long bytes = 4L * (charClasses.length + transitions.length + outputs.length);
+        for (String pattern : patterns) {
+            bytes += 40L + pattern.length();
+        }
+        return bytes;
+    }
+
+    private int classOf(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower < charClasses.length ? charClasses[lower] : 0;
+    }
+
+    private static String toLowerCase(String word) {
+        char[] chars = word.trim().toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
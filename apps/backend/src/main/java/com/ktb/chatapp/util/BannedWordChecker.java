@@ -1,21 +1,24 @@
 package com.ktb.chatapp.util;
 
-import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import org.springframework.util.Assert;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * 금칙어 검사기.
+ * 컴파일된 매처와 사전 버전을 하나의 불변 스냅샷으로 묶어 AtomicReference로 게시하므로
+ * 사전 교체 중에도 검사 호출은 블로킹 없이 이전 또는 새 매처 중 하나를 온전히 사용한다.
+ */
 public class BannedWordChecker {
     
-    private final Set<String> bannedWords;
+    private final AtomicReference<Snapshot> snapshot;
     
     public BannedWordChecker(Set<String> bannedWords) {
-        this.bannedWords =
-                bannedWords.stream()
-                        .filter(word -> word != null && !word.isBlank())
-                        .map(word -> word.toLowerCase(Locale.ROOT))
-                        .collect(Collectors.toUnmodifiableSet());
-        Assert.notEmpty(this.bannedWords, "Banned words set must not be empty");
+        this(AhoCorasickMatcher.compile(bannedWords));
+    }
+    
+    public BannedWordChecker(AhoCorasickMatcher matcher) {
+        this.snapshot = new AtomicReference<>(new Snapshot(1L, matcher));
     }
     
     public boolean containsBannedWord(String message) {
@@ -23,7 +26,41 @@ public class BannedWordChecker {
             return false;
         }
         
-        String normalizedMessage = message.toLowerCase(Locale.ROOT);
-        return bannedWords.stream().anyMatch(normalizedMessage::contains);
+        return snapshot.get().matcher().matches(message);
+    }
+    
+    /**
+     * 메시지에서 처음 발견되는 금칙어와 위치를 반환한다.
+     *
+     * @param message 검사할 메시지
+     * @return 매칭 결과, 금칙어가 없으면 empty
+     */
+    public Optional<BannedWordMatch> findBannedWord(String message) {
+        if (message == null || message.isBlank()) {
+            return Optional.empty();
+        }
+        
+        return snapshot.get().matcher().findFirst(message);
+    }
+    
+    /**
+     * 새로 컴파일된 매처로 교체한다.
+     *
+     * @param matcher 새 매처
+     * @return 교체 후 사전 버전
+     */
+    public long replace(AhoCorasickMatcher matcher) {
+        return snapshot.updateAndGet(current -> new Snapshot(current.version() + 1, matcher))
+                .version();
+    }
+    
+    public Snapshot snapshot() {
+        return snapshot.get();
+    }
+    
+    /**
+     * 사전 버전과 매처의 불변 스냅샷
+     */
+    public record Snapshot(long version, AhoCorasickMatcher matcher) {
     }
 }
@@ -0,0 +1,10 @@
+package com.ktb.chatapp.util;
+
+/**
+ * 금칙어 매칭 결과
+ *
+ * @param term 매칭된 금칙어 (소문자 정규화)
+ * @param offset 원문 메시지에서 금칙어가 시작하는 위치
+ */
+public record BannedWordMatch(String term, int offset) {
+}
@@ -0,0 +1,108 @@
+package com.ktb.chatapp.util;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 짧은 TTL을 갖는 프로세스 내 캐시.
+ * 조회 결과를 잠시 재사용해 반복되는 단건 조회를 줄이는 용도이며, 최대 크기에 도달하면
+ * 일부 항목을 표본으로 골라 만료된 항목을, 없으면 그중 가장 오래 전에 저장된 항목을 제거한다.
+ * (Redis의 근사 LRU와 같은 방식으로, 넘칠 때마다 전체를 순회하거나 비우지 않는다)
+ *
+ * - 저장한 값을 복사하지 않고 그대로 공유해 반환하므로, 호출자는 반환된 값을 수정하면 안 된다
+ */
+public class LocalTtlCache<K, V> {
+
+    /** 한 번의 제거에서 살펴볼 항목 수 */
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    public LocalTtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * 캐시에 있는 항목만 반환한다.
+     */
+    public Map<K, V> getAllPresent(Collection<K> keys) {
+        Map<K, V> found = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+
+    public void put(K key, V value) {
+        while (entries.size() >= maxSize && !entries.containsKey(key)) {
+            if (!evictSample()) {
+                break;
+            }
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 표본 중 만료된 항목을 모두 제거하고, 없으면 만료가 가장 가까운(가장 오래 전에 저장된) 항목 하나를 제거한다.
+     *
+     * @return 제거한 항목이 있으면 true
+     */
+    private boolean evictSample() {
+        long now = System.nanoTime();
+        boolean evicted = false;
+        K oldestKey = null;
+        Entry<V> oldest = null;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && iterator.hasNext(); i++) {
+            Map.Entry<K, Entry<V>> candidate = iterator.next();
+            Entry<V> entry = candidate.getValue();
+            if (entry.expiresAtNanos() - now <= 0) {
+                evicted |= entries.remove(candidate.getKey(), entry);
+            } else if (oldest == null || entry.expiresAtNanos() - oldest.expiresAtNanos() < 0) {
+                oldestKey = candidate.getKey();
+                oldest = entry;
+            }
+        }
+        if (!evicted && oldest != null) {
+            evicted = entries.remove(oldestKey, oldest);
+        }
+        return evicted || entries.size() < maxSize;
+    }
+}
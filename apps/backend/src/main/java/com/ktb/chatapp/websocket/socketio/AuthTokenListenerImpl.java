@@ -3,6 +3,8 @@ package com.ktb.chatapp.websocket.socketio;
 import com.corundumstudio.socketio.AuthTokenListener;
 import com.corundumstudio.socketio.AuthTokenResult;
 import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.JwtService;
@@ -71,11 +73,44 @@ public class AuthTokenListenerImpl implements AuthTokenListener {
             log.info("Socket.IO connection authorized for user: {} ({})", user.getName(), userId);
             
             var socketUser = new SocketUser(user.getId(), user.getName(), sessionId, client.getSessionId().toString());
-            socketIOChatHandlerProvider.getObject().onConnect(client, socketUser);
+            new SocketAuthContext(user.getId(), sessionId, UserResponse.from(user), System.currentTimeMillis())
+                    .attachTo(client);
+            MessageCursor lastSeen = parseLastSeen(authToken.get("lastSeenCursor"), authToken.get("lastSeenAt"));
+            socketIOChatHandlerProvider.getObject().onConnect(client, socketUser, lastSeen);
             return AuthTokenResult.AuthTokenResultSuccess;
         } catch (Exception e) {
             log.error("Socket.IO authentication error: {}", e.getMessage(), e);
             return new AuthTokenResult(false, Map.of("message", e.getMessage()));
         }
     }
+
+    /**
+     * (timestamp, _id) 커서를 우선 쓰고, 시각만 보내는 이전 클라이언트는 그 시각의 메시지를 모두 포함하는
+     * 커서로 바꾼다 (같은 밀리초 메시지는 클라이언트가 _id로 중복 제거한다).
+     */
+    private static MessageCursor parseLastSeen(Object cursor, Object lastSeenAt) {
+        if (cursor != null) {
+            try {
+                return MessageCursor.decode(cursor.toString());
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring invalid lastSeenCursor in Socket.IO handshake: {}", cursor);
+            }
+        }
+        Long timestamp = parseLastSeenAt(lastSeenAt);
+        return timestamp != null ? new MessageCursor(timestamp, "") : null;
+    }
+
+    private static Long parseLastSeenAt(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString());
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid lastSeenAt in Socket.IO handshake: {}", value);
+            }
+        }
+        return null;
+    }
 }
@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data store interface for chat-related data storage.
@@ -33,5 +34,47 @@ public interface ChatDataStore {
      */
     void delete(String key);
     
+    /**
+     * Atomically add a member to the set stored at key, creating the set if needed
+     *
+     * @param key the storage key
+     * @param member the member to add
+     * @return true if the member was added, false if it was already present
+     */
+    boolean addToSet(String key, String member);
+    
+    /**
+     * Atomically remove a member from the set stored at key.
+     * The key is removed once the set becomes empty.
+     *
+     * @param key the storage key
+     * @param member the member to remove
+     * @return true if the member was removed, false if it was not present
+     */
+    boolean removeFromSet(String key, String member);
+    
+    /**
+     * Members of the set stored at key
+     *
+     * @param key the storage key
+     * @return read-only set of members, empty if the key does not exist
+     */
+    Set<String> members(String key);
+    
+    /**
+     * Check set membership without reading the whole set
+     *
+     * @param key the storage key
+     * @param member the member to check
+     * @return true if the set stored at key contains the member
+     */
+    boolean isMember(String key, String member);
+    
+    /**
+     * Number of stored non-collection values (e.g. connected users).
+     * Collection values such as user room sets are not counted.
+     *
+     * @return the number of non-collection values
+     */
     int size();
 }
@@ -1,11 +1,16 @@
 package com.ktb.chatapp.websocket.socketio;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Local in-memory implementation of ChatDataStore using ConcurrentHashMap.
  * Thread-safe storage for chat-related data without external dependencies.
+ * Set values are concurrent key sets updated in place inside ConcurrentHashMap.compute,
+ * so concurrent adds/removes for the same key never lose members.
  */
 public class LocalChatDataStore implements ChatDataStore {
     
@@ -27,6 +32,17 @@ public class LocalChatDataStore implements ChatDataStore {
     
     @Override
     public void set(String key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            // Keep set values concurrent so the set primitives below can update them in place
+            Set<String> members = ConcurrentHashMap.newKeySet(collection.size());
+            for (Object element : collection) {
+                if (element != null) {
+                    members.add(element.toString());
+                }
+            }
+            storage.put(key, members);
+            return;
+        }
         storage.put(key, value);
     }
     
@@ -35,8 +51,55 @@ public class LocalChatDataStore implements ChatDataStore {
         storage.remove(key);
     }
     
+    @Override
+    public boolean addToSet(String key, String member) {
+        boolean[] added = new boolean[1];
+        storage.compute(key, (ignored, current) -> {
+            Set<String> members = current instanceof Set<?> ? castSet(current) : ConcurrentHashMap.newKeySet();
+            added[0] = members.add(member);
+            return members;
+        });
+        return added[0];
+    }
+    
+    @Override
+    public boolean removeFromSet(String key, String member) {
+        boolean[] removed = new boolean[1];
+        storage.computeIfPresent(key, (ignored, current) -> {
+            if (!(current instanceof Set<?>)) {
+                return current;
+            }
+            Set<String> members = castSet(current);
+            removed[0] = members.remove(member);
+            return members.isEmpty() ? null : members;
+        });
+        return removed[0];
+    }
+    
+    @Override
+    public Set<String> members(String key) {
+        return storage.get(key) instanceof Set<?> members
+                ? Collections.unmodifiableSet(castSet(members))
+                : Set.of();
+    }
+    
+    @Override
+    public boolean isMember(String key, String member) {
+        return storage.get(key) instanceof Set<?> members && members.contains(member);
+    }
+    
+    /**
+     * Number of non-collection values (connected users) on this node
+     */
     @Override
     public int size() {
-        return storage.size();
+        return (int) storage.values().stream()
+                .filter(value -> !(value instanceof Collection<?>))
+                .count();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Set<String> castSet(Object value) {
+        return (Set<String>) value;
     }
 }
@@ -0,0 +1,287 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 접속 사용자/소켓/방 참여 수를 세는 프레즌스 레지스트리.
+ * 연결·해제·입장·퇴장 시 노드 로컬 LongAdder 카운터만 갱신하므로 게이지 조회는 저장소 크기와 무관하게 O(1)이다.
+ * 주기마다 노드 카운터를 Redis에 게시하고 살아 있는 노드의 값을 합산해 클러스터 합계를 갱신한다.
+ *
+ * - 노드 사용자 수는 이 노드에 소켓이 하나 이상 있는 사용자 수이고, 클러스터 사용자 수는 여러 노드에 동시에
+ *   연결된 사용자를 한 번만 세도록 노드 값의 합 대신 ConnectedUsers(클러스터 공유 저장소) 크기를 쓴다
+ * - 방 참여 수는 UserRooms에 실제로 추가/제거된 경우만 반영하므로 다른 노드에서 입장한 방을 이 노드에서
+ *   퇴장하면 노드 값은 음수가 될 수 있지만 클러스터 합계는 정확하다
+ * - 방별 점유 수도 같은 방식으로 노드 로컬 맵에 세고 0이 되면 항목을 지운다. 노드별 방 해시로 게시한 값을
+ *   합산해 클러스터 방 점유 수를 만들고, 합이 0 이하인 방은 클러스터 뷰에서 뺀다
+ * - 게시가 끊긴 노드는 publish 간격의 3배가 지나면 합계에서 빠진다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class PresenceRegistry {
+
+    static final String NODES_KEY = "presence:nodes";
+    static final String NODE_KEY_PREFIX = "presence:node:";
+    static final String NODE_ROOMS_KEY_PREFIX = "presence:node-rooms:";
+
+    private static final String USERS_FIELD = "users";
+    private static final String SOCKETS_FIELD = "sockets";
+    private static final String MEMBERSHIPS_FIELD = "memberships";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ConnectedUsers connectedUsers;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long nodeTtlMillis;
+
+    private final LongAdder users = new LongAdder();
+    private final LongAdder sockets = new LongAdder();
+    private final LongAdder memberships = new LongAdder();
+    /** userId → 이 노드에 연결된 소켓 수 */
+    private final Map<String, Integer> socketsByUser = new ConcurrentHashMap<>();
+    /** roomId → 이 노드에서 반영한 참여자 수 (0이 되면 제거) */
+    private final Map<String, Long> roomOccupancy = new ConcurrentHashMap<>();
+    /** 마지막으로 게시한 방 목록 (publish 스레드에서만 접근) */
+    private Set<String> publishedRooms = Set.of();
+
+    private final AtomicLong clusterUsers = new AtomicLong();
+    private final AtomicLong clusterSockets = new AtomicLong();
+    private final AtomicLong clusterMemberships = new AtomicLong();
+    private final AtomicLong clusterMaxRoomOccupancy = new AtomicLong();
+    /** roomId → 살아 있는 노드의 점유 수 합 (양수인 방만) */
+    private volatile Map<String, Long> clusterRoomOccupancy = Map.of();
+
+    private final Counter errorCounter;
+
+    public PresenceRegistry(
+            StringRedisTemplate redisTemplate,
+            ConnectedUsers connectedUsers,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.presence.publish-ms:5000}") long publishIntervalMillis) {
+        this.redisTemplate = redisTemplate;
+        this.connectedUsers = connectedUsers;
+        this.nodeTtlMillis = publishIntervalMillis * 3;
+
+        Gauge.builder("socketio.concurrent.users", users, LongAdder::sum)
+                .description("Current number of concurrent Socket.IO users")
+                .register(meterRegistry);
+        Gauge.builder("socketio.concurrent.sockets", sockets, LongAdder::sum)
+                .description("Current number of Socket.IO connections on this node")
+                .register(meterRegistry);
+        Gauge.builder("socketio.room.memberships", memberships, LongAdder::sum)
+                .description("Room memberships added minus removed on this node")
+                .register(meterRegistry);
+        Gauge.builder("socketio.cluster.users", clusterUsers, AtomicLong::get)
+                .description("Concurrent Socket.IO users across the cluster, each user counted once")
+                .register(meterRegistry);
+        Gauge.builder("socketio.cluster.sockets", clusterSockets, AtomicLong::get)
+                .description("Socket.IO connections summed over live nodes")
+                .register(meterRegistry);
+        Gauge.builder("socketio.cluster.room.memberships", clusterMemberships, AtomicLong::get)
+                .description("Room memberships summed over live nodes")
+                .register(meterRegistry);
+        Gauge.builder("socketio.rooms.occupied", roomOccupancy, Map::size)
+                .description("Rooms with a non-zero occupancy on this node")
+                .register(meterRegistry);
+        Gauge.builder("socketio.cluster.rooms.occupied", this, registry -> registry.clusterRoomOccupancy.size())
+                .description("Rooms with at least one participant across live nodes")
+                .register(meterRegistry);
+        Gauge.builder("socketio.cluster.room.occupancy.max", clusterMaxRoomOccupancy, AtomicLong::get)
+                .description("Largest room occupancy across live nodes")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("socketio.presence.errors")
+                .description("Redis failures while publishing or aggregating presence counters")
+                .register(meterRegistry);
+    }
+
+    public void socketConnected(String userId) {
+        sockets.increment();
+        socketsByUser.compute(userId, (id, count) -> {
+            if (count == null) {
+                users.increment();
+                return 1;
+            }
+            return count + 1;
+        });
+    }
+
+    public void socketDisconnected(String userId) {
+        boolean[] tracked = new boolean[1];
+        socketsByUser.computeIfPresent(userId, (id, count) -> {
+            tracked[0] = true;
+            if (count == 1) {
+                users.decrement();
+                return null;
+            }
+            return count - 1;
+        });
+        if (tracked[0]) {
+            sockets.decrement();
+        }
+    }
+
+    public void roomJoined(String roomId) {
+        memberships.increment();
+        roomOccupancy.merge(roomId, 1L, PresenceRegistry::sumOrRemove);
+    }
+
+    public void roomLeft(String roomId) {
+        memberships.decrement();
+        roomOccupancy.merge(roomId, -1L, PresenceRegistry::sumOrRemove);
+    }
+
+    public long localUsers() {
+        return users.sum();
+    }
+
+    public long localSockets() {
+        return sockets.sum();
+    }
+
+    public long localRoomOccupancy(String roomId) {
+        return roomOccupancy.getOrDefault(roomId, 0L);
+    }
+
+    int localOccupiedRooms() {
+        return roomOccupancy.size();
+    }
+
+    public long clusterUsers() {
+        return clusterUsers.get();
+    }
+
+    public long clusterSockets() {
+        return clusterSockets.get();
+    }
+
+    public long clusterMemberships() {
+        return clusterMemberships.get();
+    }
+
+    public long clusterRoomOccupancy(String roomId) {
+        return clusterRoomOccupancy.getOrDefault(roomId, 0L);
+    }
+
+    /**
+     * 이 노드의 카운터를 게시하고 살아 있는 노드의 값을 합산해 클러스터 합계를 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${chatapp.presence.publish-ms:5000}")
+    public void publish() {
+        long now = System.currentTimeMillis();
+        String nodeKey = nodeKey(nodeId);
+        String roomsKey = nodeRoomsKey(nodeId);
+        Map<String, String> counters = Map.of(
+                USERS_FIELD, Long.toString(users.sum()),
+                SOCKETS_FIELD, Long.toString(sockets.sum()),
+                MEMBERSHIPS_FIELD, Long.toString(memberships.sum()));
+        Map<String, String> rooms = new HashMap<>();
+        roomOccupancy.forEach((roomId, count) -> rooms.put(roomId, Long.toString(count)));
+        // 0이 되어 로컬 맵에서 빠진 방은 게시된 해시에서도 지운다
+        String[] emptiedRooms = publishedRooms.stream()
+                .filter(roomId -> !rooms.containsKey(roomId))
+                .toArray(String[]::new);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.hMSet(nodeKey, counters);
+                stringConnection.pExpire(nodeKey, nodeTtlMillis);
+                if (!rooms.isEmpty()) {
+                    stringConnection.hMSet(roomsKey, rooms);
+                }
+                if (emptiedRooms.length > 0) {
+                    stringConnection.hDel(roomsKey, emptiedRooms);
+                }
+                stringConnection.pExpire(roomsKey, nodeTtlMillis);
+                stringConnection.zAdd(NODES_KEY, now, nodeId);
+                stringConnection.zRemRangeByScore(NODES_KEY, 0, now - nodeTtlMillis);
+                return null;
+            });
+            publishedRooms = Set.copyOf(rooms.keySet());
+            aggregate(now);
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Failed to publish presence counters - nodeId: {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void aggregate(long now) {
+        clusterUsers.set(connectedUsers.size());
+
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, now - nodeTtlMillis, Double.MAX_VALUE);
+        if (nodes == null || nodes.isEmpty()) {
+            return;
+        }
+        List<String> nodeIds = List.copyOf(nodes);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String id : nodeIds) {
+                stringConnection.hMGet(nodeKey(id), SOCKETS_FIELD, MEMBERSHIPS_FIELD);
+                stringConnection.hGetAll(nodeRoomsKey(id));
+            }
+            return null;
+        });
+
+        long totalSockets = 0L;
+        long totalMemberships = 0L;
+        Map<String, Long> roomTotals = new HashMap<>();
+        for (int i = 0; i + 1 < results.size(); i += 2) {
+            if (results.get(i) instanceof List<?> values && values.size() >= 2) {
+                totalSockets += parse(values.get(0));
+                totalMemberships += parse(values.get(1));
+            }
+            if (results.get(i + 1) instanceof Map<?, ?> rooms) {
+                rooms.forEach((roomId, count) -> roomTotals.merge(roomId.toString(), parse(count), Long::sum));
+            }
+        }
+        roomTotals.values().removeIf(count -> count <= 0);
+        clusterSockets.set(totalSockets);
+        clusterMemberships.set(totalMemberships);
+        clusterRoomOccupancy = Map.copyOf(roomTotals);
+        clusterMaxRoomOccupancy.set(roomTotals.values().stream().mapToLong(Long::longValue).max().orElse(0L));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            redisTemplate.delete(List.of(nodeKey(nodeId), nodeRoomsKey(nodeId)));
+        } catch (Exception e) {
+            log.warn("Failed to remove presence counters - nodeId: {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private static long parse(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum != 0 ? sum : null;
+    }
+
+    private static String nodeKey(String nodeId) {
+        return NODE_KEY_PREFIX + nodeId;
+    }
+
+    private static String nodeRoomsKey(String nodeId) {
+        return NODE_ROOMS_KEY_PREFIX + nodeId;
+    }
+}
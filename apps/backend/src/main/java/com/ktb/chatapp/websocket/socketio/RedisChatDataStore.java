@@ -0,0 +1,239 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.util.LocalTtlCache;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Redis implementation of ChatDataStore shared by every Socket.IO node.
+ * Collection values (user → room IDs) are stored as native Redis sets under their own key,
+ * every other value (connected users) is stored as JSON in a single hash so that
+ * size() is one HLEN over connected users only.
+ *
+ * - Set primitives map directly to SADD/SREM/SMEMBERS/SISMEMBER, so concurrent updates are atomic
+ * - Writes that touch several Redis keys are sent as one pipeline
+ * - Non-collection reads go through a short-lived node-local near cache that local writes keep
+ *   up to date; writes from other nodes become visible after at most the near cache TTL
+ * - Every node also records the values it wrote in its own hash and heartbeats into a sorted set;
+ *   values left behind by a node that stopped heartbeating are removed by the surviving nodes
+ *   (only when unchanged since, so a user who reconnected to another node is kept)
+ */
+@Slf4j
+public class RedisChatDataStore implements ChatDataStore {
+
+    static final String SET_KEY_PREFIX = "chat-data:set:";
+    static final String VALUES_KEY = "chat-data:values";
+    static final String NODES_KEY = "chat-data:nodes";
+    static final String NODE_VALUES_KEY_PREFIX = "chat-data:node:";
+
+    private static final int NEAR_CACHE_MAX_SIZE = 50_000;
+
+    /**
+     * KEYS[1] = shared values hash, KEYS[2] = values written by the stale node.
+     * Drops each field the stale node wrote unless another node has overwritten it since.
+     */
+    private static final RedisScript<Long> REMOVE_NODE_VALUES_SCRIPT = new DefaultRedisScript<>("""
+            local written = redis.call('HGETALL', KEYS[2])
+            local removed = 0
+            for i = 1, #written, 2 do
+              if redis.call('HGET', KEYS[1], written[i]) == written[i + 1] then
+                removed = removed + redis.call('HDEL', KEYS[1], written[i])
+              end
+            end
+            redis.call('DEL', KEYS[2])
+            return removed
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalTtlCache<String, Object> nearCache;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long nodeTtlMillis;
+
+    public RedisChatDataStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, Duration nearCacheTtl,
+                              Duration nodeTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = new LocalTtlCache<>(nearCacheTtl, NEAR_CACHE_MAX_SIZE);
+        this.nodeTtlMillis = nodeTtl.toMillis();
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        if (Collection.class.isAssignableFrom(type)) {
+            Set<String> members = members(key);
+            return !members.isEmpty() && type.isInstance(members) ? Optional.of(type.cast(members)) : Optional.empty();
+        }
+
+        Object cached = nearCache.get(key);
+        if (cached != null) {
+            return type.isInstance(cached) ? Optional.of(type.cast(cached)) : Optional.empty();
+        }
+
+        T value = readValue(key, type);
+        if (value == null) {
+            return Optional.empty();
+        }
+        nearCache.put(key, value);
+        return Optional.of(value);
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            writeSet(key, collection);
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.hSet(VALUES_KEY, key, json);
+                stringConnection.hSet(nodeValuesKey(nodeId), key, json);
+                return null;
+            });
+            nearCache.put(key, value);
+        } catch (Exception e) {
+            nearCache.invalidate(key);
+            throw new IllegalStateException("Failed to store chat data: " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        nearCache.invalidate(key);
+        // The value type is unknown here, so drop both the set key and the hash field
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(setKey(key));
+            stringConnection.hDel(VALUES_KEY, key);
+            stringConnection.hDel(nodeValuesKey(nodeId), key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean addToSet(String key, String member) {
+        Long added = redisTemplate.opsForSet().add(setKey(key), member);
+        return added != null && added > 0;
+    }
+
+    @Override
+    public boolean removeFromSet(String key, String member) {
+        // Redis drops the key itself when the last member is removed
+        Long removed = redisTemplate.opsForSet().remove(setKey(key), member);
+        return removed != null && removed > 0;
+    }
+
+    @Override
+    public Set<String> members(String key) {
+        Set<String> members = redisTemplate.opsForSet().members(setKey(key));
+        return members == null || members.isEmpty() ? Set.of() : Collections.unmodifiableSet(members);
+    }
+
+    @Override
+    public boolean isMember(String key, String member) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(setKey(key), member));
+    }
+
+    /**
+     * Number of non-collection values (connected users) across all nodes
+     */
+    @Override
+    public int size() {
+        Long size = redisTemplate.opsForHash().size(VALUES_KEY);
+        return size != null ? size.intValue() : 0;
+    }
+
+    /**
+     * Publishes this node's heartbeat, then removes values written by nodes that stopped heartbeating.
+     */
+    @Scheduled(fixedDelayString = "${chatapp.chat-data.heartbeat-ms:10000}")
+    public void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+            removeStaleNodes(now);
+        } catch (Exception e) {
+            log.warn("Failed to refresh chat data node heartbeat: {}", e.getMessage());
+        }
+    }
+
+    void removeStaleNodes(long now) {
+        Set<String> staleNodes = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, 0, now - nodeTtlMillis);
+        if (staleNodes == null) {
+            return;
+        }
+        for (String staleNode : staleNodes) {
+            if (nodeId.equals(staleNode)) {
+                continue;
+            }
+            Long removed = redisTemplate.execute(REMOVE_NODE_VALUES_SCRIPT,
+                    List.of(VALUES_KEY, nodeValuesKey(staleNode)));
+            redisTemplate.opsForZSet().remove(NODES_KEY, staleNode);
+            log.info("Removed chat data of stale node {} - values: {}", staleNode, removed);
+        }
+    }
+
+    private <T> T readValue(String key, Class<T> type) {
+        Object json = redisTemplate.opsForHash().get(VALUES_KEY, key);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json.toString(), type);
+        } catch (Exception e) {
+            log.warn("Failed to read chat data - key: {}, type: {}: {}", key, type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Atomically replace the set with the given members (DEL + SADD inside MULTI, sent as one pipeline).
+     */
+    private void writeSet(String key, Collection<?> members) {
+        String[] values = toStrings(members).toArray(String[]::new);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.multi();
+            stringConnection.del(setKey(key));
+            if (values.length > 0) {
+                stringConnection.sAdd(setKey(key), values);
+            }
+            stringConnection.exec();
+            return null;
+        });
+    }
+
+    private static Set<String> toStrings(Collection<?> collection) {
+        Set<String> values = new HashSet<>(collection.size());
+        for (Object element : collection) {
+            if (element != null) {
+                values.add(element.toString());
+            }
+        }
+        return values;
+    }
+
+    private static String nodeValuesKey(String node) {
+        return NODE_VALUES_KEY_PREFIX + node;
+    }
+
+    private static String setKey(String key) {
+        return SET_KEY_PREFIX + key;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.UserResponse;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 소켓 연결 단위 인가 컨텍스트.
+ * 연결/입장 시점에 검증된 세션, 사용자 프로젝션, 참여 중인 방 목록을 SocketIOClient에 보관하여
+ * 메시지마다 반복되던 세션/사용자/방 조회를 제거한다.
+ * SessionEndedEvent, RoomUpdatedEvent 수신 시 SocketAuthContextInvalidator가 무효화한다.
+ */
+public class SocketAuthContext {
+
+    public static final String CLIENT_KEY = "authContext";
+
+    private final String userId;
+    private final String authSessionId;
+    private final Set<String> memberRooms = ConcurrentHashMap.newKeySet();
+    private volatile UserResponse user;
+    private volatile long sessionValidatedAt;
+
+    public SocketAuthContext(String userId, String authSessionId, UserResponse user, long sessionValidatedAt) {
+        this.userId = userId;
+        this.authSessionId = authSessionId;
+        this.user = user;
+        this.sessionValidatedAt = sessionValidatedAt;
+    }
+
+    public static SocketAuthContext get(SocketIOClient client) {
+        return client.get(CLIENT_KEY);
+    }
+
+    public void attachTo(SocketIOClient client) {
+        client.set(CLIENT_KEY, this);
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public String authSessionId() {
+        return authSessionId;
+    }
+
+    public UserResponse user() {
+        return user;
+    }
+
+    /**
+     * 세션 검증 결과가 아직 유효한지 확인한다.
+     *
+     * @param now 현재 시각 (epoch millis)
+     * @param ttlMillis 재검증 주기
+     */
+    public boolean isSessionFresh(long now, long ttlMillis) {
+        long validatedAt = sessionValidatedAt;
+        return validatedAt > 0 && now - validatedAt < ttlMillis;
+    }
+
+    public void markSessionValidated(long now, UserResponse refreshedUser) {
+        if (refreshedUser != null) {
+            this.user = refreshedUser;
+        }
+        this.sessionValidatedAt = now;
+    }
+
+    public void invalidateSession() {
+        this.sessionValidatedAt = 0;
+    }
+
+    public boolean isMemberOf(String roomId) {
+        return roomId != null && memberRooms.contains(roomId);
+    }
+
+    public void addRoom(String roomId) {
+        memberRooms.add(roomId);
+    }
+
+    public void removeRoom(String roomId) {
+        memberRooms.remove(roomId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import com.ktb.chatapp.event.SessionEndedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도메인 이벤트 수신 시 로컬 소켓들의 SocketAuthContext를 무효화한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SocketAuthContextInvalidator {
+
+    private final SocketIOServer socketIOServer;
+
+    @EventListener
+    public void onSessionEnded(SessionEndedEvent event) {
+        for (SocketIOClient client : socketIOServer.getRoomOperations("user:" + event.getUserId()).getClients()) {
+            SocketAuthContext context = SocketAuthContext.get(client);
+            if (context != null) {
+                context.invalidateSession();
+            }
+        }
+        log.debug("Socket auth context session invalidated: userId={}", event.getUserId());
+    }
+
+    @EventListener
+    public void onRoomUpdated(RoomUpdatedEvent event) {
+        for (SocketIOClient client : socketIOServer.getRoomOperations(event.getRoomId()).getClients()) {
+            SocketAuthContext context = SocketAuthContext.get(client);
+            if (context != null) {
+                context.removeRoom(event.getRoomId());
+            }
+        }
+        log.debug("Socket auth context membership invalidated: roomId={}", event.getRoomId());
+    }
+}
@@ -46,6 +46,12 @@ public final class SocketIOEvents {
      * Payload: { messageId, reaction, type }
      */
     public static final String MESSAGE_REACTION = "messageReaction";
+
+    /**
+     * 참가자 전체 목록 요청 (participant 이벤트 버전 공백 시)
+     * Payload: roomId (String)
+     */
+    public static final String FETCH_PARTICIPANTS = "fetchParticipants";
     
     // ============================================
     // Server → Client Events (전송 이벤트)
@@ -87,11 +93,35 @@ public final class SocketIOEvents {
     public static final String MESSAGE_LOAD_START = "messageLoadStart";
 
     /**
-     * 참가자 업데이트
+     * 참가자 업데이트 (버전 카운터를 쓸 수 없을 때의 전체 목록)
      * Payload: List<UserDto>
      */
     public static final String PARTICIPANTS_UPDATE = "participantsUpdate";
 
+    /**
+     * 참가자 입장 (증분)
+     * Payload: { roomId, version, participant }
+     */
+    public static final String PARTICIPANT_JOINED = "participantJoined";
+
+    /**
+     * 참가자 퇴장 (증분)
+     * Payload: { roomId, version, userId }
+     */
+    public static final String PARTICIPANT_LEFT = "participantLeft";
+
+    /**
+     * 참가자 전체 목록 (fetchParticipants 응답)
+     * Payload: { roomId, version, participants }
+     */
+    public static final String PARTICIPANTS_SNAPSHOT = "participantsSnapshot";
+
+    /**
+     * 재연결 후 기존 참여 방 재구독 결과 (마지막으로 본 시각 이후 메시지)
+     * Payload: RoomResumeResponse
+     */
+    public static final String RESUME = "resume";
+
     /**
      * 채팅방 생성 알림
      * Payload: RoomResponse
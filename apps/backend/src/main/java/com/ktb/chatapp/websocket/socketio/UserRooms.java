@@ -1,6 +1,5 @@
 package com.ktb.chatapp.websocket.socketio;
 
-import java.util.HashSet;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,13 +18,10 @@ public class UserRooms {
      * Get all room IDs for a user
      *
      * @param userId the user ID
-     * @return the set of room IDs the user is currently in, or empty set if not in any room
+     * @return read-only set of room IDs the user is currently in, or empty set if not in any room
      */
-    @SuppressWarnings("unchecked")
     public Set<String> get(String userId) {
-        return chatDataStore.get(buildKey(userId), Set.class)
-                .map(obj -> (Set<String>) obj)
-                .orElse(new HashSet<>());
+        return chatDataStore.members(buildKey(userId));
     }
 
     /**
@@ -33,11 +29,10 @@ public class UserRooms {
      *
      * @param userId the user ID
      * @param roomId the room ID to add to the user's room set
+     * @return true if the room was added, false if the user was already in it
      */
-    public void add(String userId, String roomId) {
-        Set<String> rooms = new HashSet<>(get(userId));
-        rooms.add(roomId);
-        chatDataStore.set(buildKey(userId), rooms);
+    public boolean add(String userId, String roomId) {
+        return chatDataStore.addToSet(buildKey(userId), roomId);
     }
 
     /**
@@ -45,15 +40,10 @@ public class UserRooms {
      *
      * @param userId the user ID
      * @param roomId the room ID to remove
+     * @return true if the room was removed, false if the user was not in it
      */
-    public void remove(String userId, String roomId) {
-        Set<String> rooms = new HashSet<>(get(userId));
-        rooms.remove(roomId);
-        if (rooms.isEmpty()) {
-            chatDataStore.delete(buildKey(userId));
-        } else {
-            chatDataStore.set(buildKey(userId), rooms);
-        }
+    public boolean remove(String userId, String roomId) {
+        return chatDataStore.removeFromSet(buildKey(userId), roomId);
     }
 
     /**
@@ -73,7 +63,7 @@ public class UserRooms {
      * @return true if the user is in the room, false otherwise
      */
     public boolean isInRoom(String userId, String roomId) {
-        return get(userId).contains(roomId);
+        return chatDataStore.isMember(buildKey(userId), roomId);
     }
 
     private String buildKey(String userId) {
@@ -81,6 +71,6 @@ public class UserRooms {
     }
     
     public void removeAllRooms(String userId) {
-        get(userId).forEach(roomId -> remove(userId, roomId));
+        clear(userId);
     }
 }
@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio.ai;
 
 import com.ktb.chatapp.dto.MessageContent;
+import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageSavedEvent;
 import com.ktb.chatapp.event.AiMessageStartEvent;
@@ -8,6 +9,10 @@ import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.message.RecentMessageCounter;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.websocket.socketio.handler.MessageResponseMapper;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -31,14 +36,26 @@ public class AiService {
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
     private final MessageRepository messageRepository;
+    private final MessageResponseMapper messageResponseMapper;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
+    private final RecentMessageCounter recentMessageCounter;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageRepository messageRepository,
+            MessageResponseMapper messageResponseMapper,
+            RoomHistoryBuffer roomHistoryBuffer,
+            RoomHistoryCache roomHistoryCache,
+            RecentMessageCounter recentMessageCounter) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
         this.messageRepository = messageRepository;
+        this.messageResponseMapper = messageResponseMapper;
+        this.roomHistoryBuffer = roomHistoryBuffer;
+        this.roomHistoryCache = roomHistoryCache;
+        this.recentMessageCounter = recentMessageCounter;
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -110,6 +127,10 @@ public class AiService {
             Message savedMessage = messageRepository.save(getMessage(event));
             log.info("AI message saved - messageId: {}, savedId: {}, roomId: {}",
                 event.getMessageId(), savedMessage.getId(), event.getRoomId());
+            MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
+            roomHistoryBuffer.append(event.getRoomId(), response);
+            roomHistoryCache.append(event.getRoomId(), response);
+            recentMessageCounter.increment(event.getRoomId());
 
             // savedMessageId를 포함한 새로운 이벤트 발행
             eventPublisher.publishEvent(new AiMessageSavedEvent(
@@ -10,8 +10,7 @@ import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.*;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.service.MembershipQueryService;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.util.BannedWordChecker;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
@@ -19,6 +18,11 @@ import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.message.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.message.RecentMessageCounter;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -28,6 +32,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -39,8 +44,11 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class ChatMessageHandler {
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
+    private final RecentMessageCounter recentMessageCounter;
+    private final MembershipQueryService membershipQueryService;
     private final UserRepository userRepository;
     private final FileRepository fileRepository;
     private final AiService aiService;
@@ -48,7 +56,10 @@ public class ChatMessageHandler {
     private final BannedWordChecker bannedWordChecker;
     private final RateLimitService rateLimitService;
     private final MeterRegistry meterRegistry;
-    
+
+    @Value("${socketio.auth-context.session-revalidate-ms:60000}")
+    private long sessionRevalidateMillis;
+
     @OnEvent(CHAT_MESSAGE)
     public void handleChatMessage(SocketIOClient client, ChatMessageRequest data) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -75,9 +86,8 @@ public class ChatMessageHandler {
             return;
         }
 
-        SessionValidationResult validation =
-                sessionService.validateSession(socketUser.id(), socketUser.authSessionId());
-        if (!validation.isValid()) {
+        SocketAuthContext authContext = resolveAuthContext(client, socketUser);
+        if (authContext == null) {
             recordError("session_expired");
             client.sendEvent(ERROR, Map.of(
                     "code", "SESSION_EXPIRED",
@@ -108,7 +118,7 @@ public class ChatMessageHandler {
         }
         
         try {
-            User sender = userRepository.findById(socketUser.id()).orElse(null);
+            UserResponse sender = authContext.user();
             if (sender == null) {
                 recordError("user_not_found");
                 client.sendEvent(ERROR, Map.of(
@@ -120,8 +130,7 @@ public class ChatMessageHandler {
             }
 
             String roomId = data.getRoom();
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(socketUser.id())) {
+            if (!hasRoomAccess(authContext, roomId)) {
                 recordError("room_access_denied");
                 client.sendEvent(ERROR, Map.of(
                     "code", "MESSAGE_ERROR",
@@ -159,16 +168,19 @@ public class ChatMessageHandler {
                 return;
             }
 
-            Message savedMessage = messageRepository.save(message);
+            // ID만 할당하고 저장은 write-behind 큐에 위임, 브로드캐스트를 먼저 수행
+            Message savedMessage = messageWriteBehindQueue.enqueue(message);
 
+            MessageResponse response = createMessageResponse(savedMessage, sender);
+            roomHistoryBuffer.append(roomId, response);
+            roomHistoryCache.append(roomId, response);
             socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, createMessageResponse(savedMessage, sender));
+                    .sendEvent(MESSAGE, response);
+            recentMessageCounter.increment(roomId);
 
             // AI 멘션 처리
             aiService.handleAIMentions(roomId, socketUser.id(), messageContent);
 
-            sessionService.updateLastActivity(socketUser.id());
-
             // Record success metrics
             recordMessageSuccess(messageType);
             timerSample.stop(createTimer("success", messageType));
@@ -187,6 +199,53 @@ public class ChatMessageHandler {
         }
     }
 
+    /**
+     * 소켓에 보관된 인가 컨텍스트를 반환한다.
+     * 컨텍스트가 없거나 재검증 주기가 지난 경우에만 세션을 검증하고 사용자 정보를 갱신한다.
+     * 세션 검증 시 lastActivity도 함께 갱신되므로 메시지마다 별도로 갱신하지 않는다.
+     *
+     * @return 유효한 컨텍스트, 세션이 유효하지 않으면 null
+     */
+    private SocketAuthContext resolveAuthContext(SocketIOClient client, SocketUser socketUser) {
+        SocketAuthContext context = SocketAuthContext.get(client);
+        long now = System.currentTimeMillis();
+        if (context != null && context.isSessionFresh(now, sessionRevalidateMillis)) {
+            return context;
+        }
+
+        SessionValidationResult validation =
+                sessionService.validateSession(socketUser.id(), socketUser.authSessionId());
+        if (!validation.isValid()) {
+            return null;
+        }
+
+        UserResponse user = userRepository.findById(socketUser.id())
+                .map(UserResponse::from)
+                .orElse(null);
+        if (context == null) {
+            context = new SocketAuthContext(socketUser.id(), socketUser.authSessionId(), user, now);
+            context.attachTo(client);
+        } else {
+            context.markSessionValidated(now, user);
+        }
+        return context;
+    }
+
+    /**
+     * 컨텍스트에 참여 방으로 기록되어 있으면 조회 없이 허용하고,
+     * 그렇지 않으면 DB에서 참여 여부를 확인한 뒤 컨텍스트에 기록한다.
+     */
+    private boolean hasRoomAccess(SocketAuthContext context, String roomId) {
+        if (context.isMemberOf(roomId)) {
+            return true;
+        }
+        if (!membershipQueryService.isParticipant(roomId, context.userId())) {
+            return false;
+        }
+        context.addRoom(roomId);
+        return true;
+    }
+
     private Message handleFileMessage(String roomId, String userId, MessageContent messageContent, Map<String, Object> fileData) {
         if (fileData == null || fileData.get("_id") == null) {
             throw new IllegalArgumentException("파일 데이터가 올바르지 않습니다.");
@@ -234,7 +293,7 @@ public class ChatMessageHandler {
         return message;
     }
 
-    private MessageResponse createMessageResponse(Message message, User sender) {
+    private MessageResponse createMessageResponse(Message message, UserResponse sender) {
         var messageResponse = new MessageResponse();
         messageResponse.setId(message.getId());
         messageResponse.setRoomId(message.getRoomId());
@@ -242,7 +301,7 @@ public class ChatMessageHandler {
         messageResponse.setType(message.getType());
         messageResponse.setTimestamp(message.toTimestampMillis());
         messageResponse.setReactions(message.getReactions() != null ? message.getReactions() : Collections.emptyMap());
-        messageResponse.setSender(UserResponse.from(sender));
+        messageResponse.setSender(sender);
         messageResponse.setMetadata(message.getMetadata());
 
         if (message.getFileId() != null) {
@@ -3,17 +3,20 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnDisconnect;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.websocket.socketio.ConnectedUsers;
+import com.ktb.chatapp.websocket.socketio.PresenceRegistry;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
-import io.micrometer.core.instrument.Gauge;
-import io.micrometer.core.instrument.MeterRegistry;
-import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
@@ -28,52 +31,56 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 public class ConnectionLoginHandler {
 
+    private static final long SESSION_END_DELAY_SECONDS = 10;
+
     private final SocketIOServer socketIOServer;
     private final ConnectedUsers connectedUsers;
     private final UserRooms userRooms;
-    private final RoomJoinHandler roomJoinHandler;
+    private final RoomResumeHandler roomResumeHandler;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final PresenceRegistry presenceRegistry;
+    private final Executor sessionEndExecutor;
 
     public ConnectionLoginHandler(
             SocketIOServer socketIOServer,
             ConnectedUsers connectedUsers,
             UserRooms userRooms,
-            RoomJoinHandler roomJoinHandler,
+            RoomResumeHandler roomResumeHandler,
             RoomLeaveHandler roomLeaveHandler,
-            MeterRegistry meterRegistry) {
+            PresenceRegistry presenceRegistry,
+            @Qualifier("virtualThreadExecutor") Executor executor) {
         this.socketIOServer = socketIOServer;
         this.connectedUsers = connectedUsers;
         this.userRooms = userRooms;
-        this.roomJoinHandler = roomJoinHandler;
+        this.roomResumeHandler = roomResumeHandler;
         this.roomLeaveHandler = roomLeaveHandler;
-
-        // Register gauge metric for concurrent users
-        Gauge.builder("socketio.concurrent.users", connectedUsers::size)
-                .description("Current number of concurrent Socket.IO users")
-                .register(meterRegistry);
+        this.presenceRegistry = presenceRegistry;
+        this.sessionEndExecutor = CompletableFuture.delayedExecutor(
+                SESSION_END_DELAY_SECONDS, TimeUnit.SECONDS, executor);
     }
     
     /**
      * auth 처리가 선행되어야 해서 @OnConnect 대신 별도 메서드로 구현
+     *
+     * @param lastSeen 재연결한 클라이언트가 마지막으로 본 메시지 커서 (없으면 null)
      */
-    public void onConnect(SocketIOClient client, SocketUser user) {
+    public void onConnect(SocketIOClient client, SocketUser user, @Nullable MessageCursor lastSeen) {
         String userId = user.id();
         
         try {
             notifyDuplicateLogin(client, userId);
             client.set("user", user);
+            presenceRegistry.socketConnected(userId);
             
-            userRooms.get(userId).forEach(roomId -> {
-                // 재접속 시 기존 참여 방 재입장 처리
-                roomJoinHandler.handleJoinRoom(client, roomId);
-            });
+            // 재접속 시 기존 참여 방은 입장 처리 없이 재구독하고 놓친 메시지만 보낸다
+            roomResumeHandler.resume(client, userId, userRooms.get(userId), lastSeen);
             
             connectedUsers.set(userId, user);
 
             log.info("Socket.IO user connected: {} ({}) - Total concurrent users: {}",
-                    getUserName(client), userId, connectedUsers.size());
+                    getUserName(client), userId, presenceRegistry.localUsers());
 
-            client.joinRooms(Set.of("user:" + userId, "room-list"));
+            client.joinRooms(Set.of("user:" + userId, socketRoom(client.getSessionId().toString()), "room-list"));
             
         } catch (Exception e) {
             log.error("Error handling Socket.IO connection", e);
@@ -106,12 +113,13 @@ public class ConnectionLoginHandler {
                 log.warn("Socket.IO disconnect: User {} has a different active connection. Skipping cleanup.", userId);
             }
 
-            client.leaveRooms(Set.of("user:" + userId, "room-list"));
+            client.leaveRooms(Set.of("user:" + userId, socketRoom(socketId), "room-list"));
             client.del("user");
+            presenceRegistry.socketDisconnected(userId);
             client.disconnect();
             
             log.info("Socket.IO user disconnected: {} ({}) - Total concurrent users: {}",
-                    userName, userId, connectedUsers.size());
+                    userName, userId, presenceRegistry.localUsers());
         } catch (Exception e) {
             log.error("Error handling Socket.IO disconnection", e);
             client.sendEvent(ERROR, Map.of(
@@ -136,39 +144,43 @@ public class ConnectionLoginHandler {
     }
     
     /**
-     * TODO 멀티 클러스터에서 동작 안함 다중 노드의 경우 다른  노드에 접속된 사용자는 통보 불가함
-     * socketIOServer.getRoomOperations("user:" + userId) 로 처리 변경.
+     * 기존 연결에 중복 로그인을 알리고 일정 시간 뒤 세션 종료를 통보한다.
+     * 다른 노드에 연결된 소켓에도 전달되도록 room 브로드캐스트(Redisson pub/sub)로 보낸다.
+     *
+     * - 새 연결은 아직 user:{userId} 방에 들어가기 전이므로 알림은 기존 연결에만 간다
+     * - 세션 종료는 지연 후 보내므로 새 연결이 받지 않도록 기존 소켓 전용 방(socket:{socketId})으로 보낸다
      */
     private void notifyDuplicateLogin(SocketIOClient client, String userId) {
         var socketUser = connectedUsers.get(userId);
-        if (socketUser == null) {
+        if (socketUser == null || socketUser.socketId() == null) {
             return;
         }
         String existingSocketId = socketUser.socketId();
-        SocketIOClient existingClient = socketIOServer.getClient(UUID.fromString(existingSocketId));
-        if (existingClient == null) {
+        if (existingSocketId.equals(client.getSessionId().toString())) {
             return;
         }
-        
+
         // Send duplicate login notification
-        existingClient.sendEvent(DUPLICATE_LOGIN, Map.of(
+        socketIOServer.getRoomOperations("user:" + userId).sendEvent(DUPLICATE_LOGIN, Map.of(
                 "type", "new_login_attempt",
-                "deviceInfo", client.getHandshakeData().getHttpHeaders().get("User-Agent"),
+                "deviceInfo", String.valueOf(client.getHandshakeData().getHttpHeaders().get("User-Agent")),
                 "ipAddress", client.getRemoteAddress().toString(),
                 "timestamp", System.currentTimeMillis()
         ));
-        
-        new Thread(() -> {
+
+        sessionEndExecutor.execute(() -> {
             try {
-                Thread.sleep(Duration.ofSeconds(10));
-                existingClient.sendEvent(SESSION_ENDED, Map.of(
+                socketIOServer.getRoomOperations(socketRoom(existingSocketId)).sendEvent(SESSION_ENDED, Map.of(
                         "reason", "duplicate_login",
                         "message", "다른 기기에서 로그인하여 현재 세션이 종료되었습니다."
                 ));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Error in duplicate login notification thread", e);
+            } catch (Exception e) {
+                log.error("Error sending session ended notification - userId: {}", userId, e);
             }
-        }).start();
+        });
+    }
+
+    private static String socketRoom(String socketId) {
+        return "socket:" + socketId;
     }
 }
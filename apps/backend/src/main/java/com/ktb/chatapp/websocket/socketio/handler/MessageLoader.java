@@ -2,26 +2,33 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.util.LocalTtlCache;
 import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
-import static java.util.Collections.emptyList;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -31,51 +38,101 @@ public class MessageLoader {
     private final UserRepository userRepository;
     private final MessageResponseMapper messageResponseMapper;
     private final MessageReadStatusService messageReadStatusService;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
 
     private static final int BATCH_SIZE = 30;
+    private static final Duration SENDER_CACHE_TTL = Duration.ofSeconds(30);
+    private static final int SENDER_CACHE_MAX_SIZE = 10_000;
+
+    private final LocalTtlCache<String, User> senderCache = new LocalTtlCache<>(SENDER_CACHE_TTL, SENDER_CACHE_MAX_SIZE);
 
     /**
-     * 메시지 로드
+     * 메시지 로드 (소켓 읽기 경로).
+     * findMessages로 페이지를 조회하고 조회한 페이지까지 읽음 커서를 전진시킨다.
      */
     public FetchMessagesResponse loadMessages(FetchMessagesRequest data, String userId) {
-        try {
-            return loadMessagesInternal(data.roomId(), data.limit(BATCH_SIZE), data.before(LocalDateTime.now()), userId);
-        } catch (Exception e) {
-            log.error("Error loading initial messages for room {}", data.roomId(), e);
-            return FetchMessagesResponse.builder()
-                    .messages(emptyList())
-                    .hasMore(false)
-                    .build();
+        FetchMessagesResponse page = findPage(data);
+        markPageAsRead(data.roomId(), page.getMessages(), userId);
+        return withReaders(data.roomId(), page);
+    }
+
+    /**
+     * 읽음 커서를 건드리지 않는 메시지 조회 (REST 조회, 재연결 복구).
+     * 최신 페이지는 로컬 링 버퍼 → Redis 공유 캐시 → MongoDB 순으로,
+     * 이전 페이지는 Redis 캐시 범위 안이면 캐시에서, 벗어나면 MongoDB에서 조회한다.
+     * 응답의 readers는 방의 읽음 커서로 계산하며, 조회 오류는 호출자에게 그대로 전달한다.
+     */
+    public FetchMessagesResponse findMessages(FetchMessagesRequest data) {
+        return withReaders(data.roomId(), findPage(data));
+    }
+
+    private FetchMessagesResponse withReaders(String roomId, FetchMessagesResponse page) {
+        return FetchMessagesResponse.builder()
+                .messages(messageReadStatusService.withReaders(roomId, page.getMessages()))
+                .hasMore(page.isHasMore())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    private FetchMessagesResponse findPage(FetchMessagesRequest data) {
+        MessageCursor cursor = data.parsedCursor();
+        boolean latestPage = cursor == null && (data.before() == null || data.before() <= 0);
+        if (latestPage) {
+            Optional<FetchMessagesResponse> buffered = roomHistoryBuffer.latest(data.roomId(), data.limit(BATCH_SIZE));
+            if (buffered.isPresent()) {
+                return buffered.get();
+            }
+        }
+        Optional<FetchMessagesResponse> cached = roomHistoryCache.findPage(
+                data.roomId(), data.limit(BATCH_SIZE), cursor, latestPage ? null : data.before());
+        if (cached.isPresent()) {
+            if (latestPage) {
+                return roomHistoryBuffer.primeAndGetLatest(data.roomId(), cached.get().getMessages(),
+                                cached.get().isHasMore(), data.limit(BATCH_SIZE))
+                        .orElse(cached.get());
+            }
+            return cached.get();
         }
+        FetchMessagesResponse response = loadMessagesInternal(data.roomId(), data.limit(BATCH_SIZE), cursor,
+                data.before(LocalDateTime.now()));
+        if (latestPage) {
+            roomHistoryCache.prime(data.roomId(), response.getMessages(), response.isHasMore());
+            // 아직 저장되지 않은 write-behind 메시지는 버퍼에만 있으므로 합쳐진 페이지로 응답한다
+            return roomHistoryBuffer.primeAndGetLatest(data.roomId(), response.getMessages(),
+                            response.isHasMore(), data.limit(BATCH_SIZE))
+                    .orElse(response);
+        }
+        return response;
     }
 
     private FetchMessagesResponse loadMessagesInternal(
             String roomId,
             int limit,
-            LocalDateTime before,
-            String userId) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("timestamp").descending());
-
-        Page<Message> messagePage = messageRepository
-                .findByRoomIdAndIsDeletedAndTimestampBefore(roomId, false, before, pageable);
+            @Nullable MessageCursor cursor,
+            LocalDateTime before) {
+        // limit + 1개를 조회해 count 쿼리 없이 다음 페이지 존재 여부를 판단
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Message> fetched = cursor != null
+                ? messageRepository.findPageBeforeCursor(
+                        roomId, cursor.timestampAsLocalDateTime(), cursor.objectId(), fetchLimit)
+                : messageRepository.findPageBefore(roomId, before, fetchLimit);
 
-        List<Message> messages = messagePage.getContent();
+        boolean hasMore = fetched.size() > limit;
+        List<Message> messages = hasMore ? fetched.subList(0, limit) : fetched;
 
         // DESC로 조회했으므로 ASC로 재정렬 (채팅 UI 표시 순서)
         List<Message> sortedMessages = messages.reversed();
-        
-        var messageIds = sortedMessages.stream().map(Message::getId).toList();
-        messageReadStatusService.updateReadStatus(messageIds, userId);
-        
-        // 메시지 응답 생성
-        List<MessageResponse> messageResponses = sortedMessages.stream()
-                .map(message -> {
-                    var user = findUserById(message.getSenderId());
-                    return messageResponseMapper.mapToMessageResponse(message, user);
-                })
-                .collect(Collectors.toList());
-
-        boolean hasMore = messagePage.hasNext();
+
+        // 메시지 응답 생성 (발신자/파일은 페이지 단위로 일괄 조회)
+        List<MessageResponse> messageResponses =
+                messageResponseMapper.mapToMessageResponses(sortedMessages, findSenders(sortedMessages));
+
+        String nextCursor = null;
+        if (hasMore) {
+            Message oldest = messages.getLast();
+            nextCursor = new MessageCursor(oldest.toTimestampMillis(), oldest.getId()).encode();
+        }
 
         log.debug("Messages loaded - roomId: {}, limit: {}, count: {}, hasMore: {}",
                 roomId, limit, messageResponses.size(), hasMore);
@@ -83,18 +140,46 @@ public class MessageLoader {
         return FetchMessagesResponse.builder()
                 .messages(messageResponses)
                 .hasMore(hasMore)
+                .nextCursor(nextCursor)
                 .build();
     }
 
     /**
-     * AI 경우 null 반환 가능
+     * 페이지의 가장 최신 메시지까지 읽음 커서를 전진시킨다.
+     * 이미 읽은 페이지(이전 페이지 포함)를 다시 조회하는 경우 DB 쓰기가 발생하지 않는다.
+     */
+    private void markPageAsRead(String roomId, List<MessageResponse> messages, String userId) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long newest = messages.getLast().getTimestamp();
+        if (messageReadStatusService.hasRead(roomId, userId, newest)) {
+            return;
+        }
+        messageReadStatusService.markReadUpTo(roomId, userId,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(newest), ZoneId.systemDefault()));
+    }
+
+    /**
+     * 페이지에 등장하는 발신자를 캐시에 없는 것만 한 번의 findAllById로 조회한다.
+     * AI/시스템 메시지처럼 발신자가 없거나 사용자가 삭제된 경우 결과에 포함되지 않는다.
      */
-    @Nullable
-    private User findUserById(String id) {
-        if (id == null) {
-            return null;
+    private Map<String, User> findSenders(List<Message> messages) {
+        Set<String> senderIds = messages.stream()
+                .map(Message::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (senderIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, User> senders = senderCache.getAllPresent(senderIds);
+        senderIds.removeAll(senders.keySet());
+        if (!senderIds.isEmpty()) {
+            for (User user : userRepository.findAllById(senderIds)) {
+                senderCache.put(user.getId(), user);
+                senders.put(user.getId(), user);
+            }
         }
-        return userRepository.findById(id)
-                .orElse(null);
+        return senders;
     }
 }
@@ -1,16 +1,19 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageReactionRequest;
-import com.ktb.chatapp.dto.MessageReactionResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.message.MessageReactionService;
+import com.ktb.chatapp.service.message.MessageReactionService.ReactionUpdate;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -18,16 +21,36 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
 /**
  * 메시지 리액션 처리 핸들러
- * 메시지 이모지 리액션 추가/제거 및 브로드캐스트 담당
+ * 메시지 이모지 리액션을 원자적으로 추가/제거하고, 브로드캐스트는 ReactionUpdateCoalescer에 맡긴다
+ *
+ * - 방금 보낸 메시지는 write-behind 큐에서 아직 저장되지 않았을 수 있으므로,
+ *   메시지를 찾지 못하면 flush 주기만큼 기다렸다가 가상 스레드에서 몇 번 더 시도한다
  */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
-@RequiredArgsConstructor
 public class MessageReactionHandler {
     
-    private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
+    private final MessageReactionService messageReactionService;
+    private final ReactionUpdateCoalescer reactionUpdateCoalescer;
+    private final Executor retryExecutor;
+    private final long notFoundRetryDelayMillis;
+    private final int notFoundMaxRetries;
+
+    public MessageReactionHandler(
+            MessageReactionService messageReactionService,
+            ReactionUpdateCoalescer reactionUpdateCoalescer,
+            @Qualifier("virtualThreadExecutor") Executor executor,
+            @Value("${chatapp.reaction.not-found-retry-delay-ms:${chatapp.message.write-behind.flush-interval-ms:50}}")
+            long notFoundRetryDelayMillis,
+            @Value("${chatapp.reaction.not-found-max-retries:3}") int notFoundMaxRetries) {
+        this.messageReactionService = messageReactionService;
+        this.reactionUpdateCoalescer = reactionUpdateCoalescer;
+        this.retryExecutor = CompletableFuture.delayedExecutor(
+                notFoundRetryDelayMillis, TimeUnit.MILLISECONDS, executor);
+        this.notFoundRetryDelayMillis = notFoundRetryDelayMillis;
+        this.notFoundMaxRetries = notFoundMaxRetries;
+    }
     
     @OnEvent(MESSAGE_REACTION)
     public void handleMessageReaction(SocketIOClient client, MessageReactionRequest data) {
@@ -38,41 +61,75 @@ public class MessageReactionHandler {
                 return;
             }
 
-            Message message = messageRepository.findById(data.getMessageId()).orElse(null);
-            if (message == null) {
-                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+            String reaction = data.getReaction();
+            if (!MessageReactionService.isValidReaction(reaction)) {
+                client.sendEvent(ERROR, Map.of("message", "유효하지 않은 리액션입니다."));
                 return;
             }
 
-            switch (data.getType()) {
-                case "add" -> message.addReaction(data.getReaction(), userId);
-                case "remove" -> message.removeReaction(data.getReaction(), userId);
-                case null, default -> {
-                    client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
-                    return;
-                }
+            if (!"add".equals(data.getType()) && !"remove".equals(data.getType())) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
+                return;
+            }
+
+            Optional<ReactionUpdate> result = applyReaction(data, reaction, userId);
+            if (result.isEmpty()) {
+                retryLater(client, data, reaction, userId, 1);
+                return;
             }
+            submit(data, reaction, userId, result.get());
 
-            log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}",
-                data.getType(), data.getReaction(), message.getId(), userId);
+        } catch (Exception e) {
+            log.error("Error handling messageReaction", e);
+            sendProcessingError(client);
+        }
+    }
 
-            messageRepository.save(message);
+    /**
+     * 아직 저장되지 않은 메시지일 수 있으므로 지연 후 다시 시도하고, 재시도를 모두 소진하면 오류를 보낸다.
+     */
+    private void retryLater(SocketIOClient client, MessageReactionRequest data, String reaction, String userId,
+                            int attempt) {
+        if (attempt > notFoundMaxRetries) {
+            client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+            return;
+        }
+        retryExecutor.execute(() -> {
+            try {
+                Optional<ReactionUpdate> result = applyReaction(data, reaction, userId);
+                if (result.isPresent()) {
+                    submit(data, reaction, userId, result.get());
+                } else {
+                    retryLater(client, data, reaction, userId, attempt + 1);
+                }
+            } catch (Exception e) {
+                log.error("Error retrying messageReaction - messageId: {}, attempt: {}, delay: {}ms",
+                        data.getMessageId(), attempt, notFoundRetryDelayMillis, e);
+                sendProcessingError(client);
+            }
+        });
+    }
 
-            MessageReactionResponse response = new MessageReactionResponse(
-                message.getId(),
-                message.getReactions()
-            );
+    private Optional<ReactionUpdate> applyReaction(MessageReactionRequest data, String reaction, String userId) {
+        return "add".equals(data.getType())
+                ? messageReactionService.addReaction(data.getMessageId(), reaction, userId)
+                : messageReactionService.removeReaction(data.getMessageId(), reaction, userId);
+    }
 
-            socketIOServer.getRoomOperations(message.getRoomId())
-                .sendEvent(MESSAGE_REACTION_UPDATE, response);
+    private void submit(MessageReactionRequest data, String reaction, String userId, ReactionUpdate update) {
+        log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}, changed: {}",
+            data.getType(), reaction, data.getMessageId(), userId, update.changed());
 
-        } catch (Exception e) {
-            log.error("Error handling messageReaction", e);
-            client.sendEvent(ERROR, Map.of(
-                "message", "리액션 처리 중 오류가 발생했습니다."
-            ));
+        if (update.changed()) {
+            reactionUpdateCoalescer.submit(update);
         }
     }
+
+    private void sendProcessingError(SocketIOClient client) {
+        client.sendEvent(ERROR, Map.of(
+            "message", "리액션 처리 중 오류가 발생했습니다."
+        ));
+    }
     
     private String getUserId(SocketIOClient client) {
         var user = (SocketUser) client.get("user");
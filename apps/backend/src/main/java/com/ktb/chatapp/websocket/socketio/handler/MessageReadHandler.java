@@ -1,18 +1,13 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MarkAsReadRequest;
-import com.ktb.chatapp.dto.MessagesReadResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.util.LocalTtlCache;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.time.Duration;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +18,8 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
 /**
  * 메시지 읽음 상태 처리 핸들러
- * 메시지 읽음 상태 업데이트 및 브로드캐스트 담당
+ * 요청을 검증한 뒤 ReadReceiptAggregator에 넘기고, 저장과 브로드캐스트는 윈도우 단위로 묶어서 수행한다.
+ * 소켓 인가 컨텍스트가 방 멤버십을 알고 있으면 사용자/방 조회를 생략한다.
  */
 @Slf4j
 @Component
@@ -31,11 +27,15 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageReadHandler {
     
-    private final SocketIOServer socketIOServer;
-    private final MessageReadStatusService messageReadStatusService;
-    private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private static final Duration MESSAGE_ROOM_CACHE_TTL = Duration.ofMinutes(10);
+    private static final int MESSAGE_ROOM_CACHE_MAX_SIZE = 50_000;
+
+    private final MembershipQueryService membershipQueryService;
+    private final ReadReceiptAggregator readReceiptAggregator;
+
+    // 메시지의 방은 바뀌지 않으므로 roomId를 보내지 않는 클라이언트를 위해 조회 결과를 캐시한다
+    private final LocalTtlCache<String, String> messageRoomCache =
+            new LocalTtlCache<>(MESSAGE_ROOM_CACHE_TTL, MESSAGE_ROOM_CACHE_MAX_SIZE);
     
     @OnEvent(MARK_MESSAGES_AS_READ)
     public void handleMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
@@ -50,33 +50,30 @@ public class MessageReadHandler {
                 return;
             }
             
-            String roomId = messageRepository.findById(data.getMessageIds().getFirst())
-                    .map(Message::getRoomId).orElse(null);
+            String roomId = resolveRoomId(data);
             
             if (roomId == null || roomId.isBlank()) {
                 client.sendEvent(ERROR, Map.of("message", "Invalid room"));
                 return;
             }
 
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null) {
-                client.sendEvent(ERROR, Map.of("message", "User not found"));
-                return;
-            }
+            SocketAuthContext authContext = SocketAuthContext.get(client);
+            if (authContext == null || !authContext.isMemberOf(roomId)) {
+                if (authContext == null && !membershipQueryService.userExists(userId)) {
+                    client.sendEvent(ERROR, Map.of("message", "User not found"));
+                    return;
+                }
 
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(userId)) {
-                client.sendEvent(ERROR, Map.of("message", "Room access denied"));
-                return;
+                if (!membershipQueryService.isParticipant(roomId, userId)) {
+                    client.sendEvent(ERROR, Map.of("message", "Room access denied"));
+                    return;
+                }
+                if (authContext != null) {
+                    authContext.addRoom(roomId);
+                }
             }
             
-            messageReadStatusService.updateReadStatus(data.getMessageIds(), userId);
-
-            MessagesReadResponse response = new MessagesReadResponse(userId, data.getMessageIds());
-
-            // Broadcast to room
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGES_READ, response);
+            readReceiptAggregator.submit(roomId, userId, data.getMessageIds());
 
         } catch (Exception e) {
             log.error("Error handling markMessagesAsRead", e);
@@ -86,6 +83,22 @@ public class MessageReadHandler {
         }
     }
     
+    private String resolveRoomId(MarkAsReadRequest data) {
+        if (data.getRoomId() != null && !data.getRoomId().isBlank()) {
+            return data.getRoomId();
+        }
+        String messageId = data.getMessageIds().getFirst();
+        String cached = messageRoomCache.get(messageId);
+        if (cached != null) {
+            return cached;
+        }
+        String roomId = membershipQueryService.findRoomIdOfMessage(messageId).orElse(null);
+        if (roomId != null) {
+            messageRoomCache.put(messageId, roomId);
+        }
+        return roomId;
+    }
+    
     private String getUserId(SocketIOClient client) {
         var user = (SocketUser) client.get("user");
         return user.id();
@@ -3,12 +3,19 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.util.LocalTtlCache;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -22,7 +29,32 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class MessageResponseMapper {
 
+    private static final Duration FILE_CACHE_TTL = Duration.ofMinutes(5);
+    private static final int FILE_CACHE_MAX_SIZE = 10_000;
+
     private final FileRepository fileRepository;
+    /** 파일 메타데이터는 변경되지 않으므로 페이지 간에 재사용한다 */
+    private final LocalTtlCache<String, File> fileCache = new LocalTtlCache<>(FILE_CACHE_TTL, FILE_CACHE_MAX_SIZE);
+
+    /**
+     * 메시지 목록을 변환한다. 파일 정보는 캐시에 없는 것만 한 번의 findAllById로 조회한다.
+     *
+     * @param messages 변환할 메시지 목록
+     * @param senders 발신자 ID → 사용자 (AI/시스템 메시지는 없음)
+     * @return 입력 순서를 유지한 MessageResponse 목록
+     */
+    public List<MessageResponse> mapToMessageResponses(List<Message> messages, Map<String, User> senders) {
+        Map<String, File> files = findFiles(messages.stream()
+                .map(Message::getFileId)
+                .filter(Objects::nonNull)
+                .toList());
+        return messages.stream()
+                .map(message -> toResponse(
+                        message,
+                        message.getSenderId() != null ? senders.get(message.getSenderId()) : null,
+                        message.getFileId() != null ? files.get(message.getFileId()) : null))
+                .toList();
+    }
 
     /**
      * Message 엔티티를 MessageResponse DTO로 변환
@@ -32,6 +64,13 @@ public class MessageResponseMapper {
      * @return MessageResponse DTO
      */
     public MessageResponse mapToMessageResponse(Message message, User sender) {
+        File file = message.getFileId() != null
+                ? findFiles(List.of(message.getFileId())).get(message.getFileId())
+                : null;
+        return toResponse(message, sender, file);
+    }
+
+    private MessageResponse toResponse(Message message, User sender, File file) {
         MessageResponse.MessageResponseBuilder builder = MessageResponse.builder()
                 .id(message.getId())
                 .content(message.getContent())
@@ -40,8 +79,7 @@ public class MessageResponseMapper {
                 .roomId(message.getRoomId())
                 .reactions(message.getReactions() != null ?
                         message.getReactions() : new HashMap<>())
-                .readers(message.getReaders() != null ?
-                        message.getReaders() : new ArrayList<>());
+                .readers(new ArrayList<>());
 
         // 발신자 정보 설정
         if (sender != null) {
@@ -54,16 +92,15 @@ public class MessageResponseMapper {
         }
 
         // 파일 정보 설정
-        Optional.ofNullable(message.getFileId())
-                .flatMap(fileRepository::findById)
-                .map(file -> FileResponse.builder()
-                        .id(file.getId())
-                        .filename(file.getFilename())
-                        .originalname(file.getOriginalname())
-                        .mimetype(file.getMimetype())
-                        .size(file.getSize())
-                        .build())
-                .ifPresent(builder::file);
+        if (file != null) {
+            builder.file(FileResponse.builder()
+                    .id(file.getId())
+                    .filename(file.getFilename())
+                    .originalname(file.getOriginalname())
+                    .mimetype(file.getMimetype())
+                    .size(file.getSize())
+                    .build());
+        }
 
         // 메타데이터 설정
         if (message.getMetadata() != null) {
@@ -72,4 +109,20 @@ public class MessageResponseMapper {
 
         return builder.build();
     }
+
+    private Map<String, File> findFiles(List<String> fileIds) {
+        if (fileIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(fileIds);
+        Map<String, File> files = fileCache.getAllPresent(distinctIds);
+        distinctIds.removeAll(files.keySet());
+        if (!distinctIds.isEmpty()) {
+            for (File file : fileRepository.findAllById(distinctIds)) {
+                fileCache.put(file.getId(), file);
+                files.put(file.getId(), file);
+            }
+        }
+        return files;
+    }
 }
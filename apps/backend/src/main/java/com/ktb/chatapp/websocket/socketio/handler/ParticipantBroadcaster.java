@@ -0,0 +1,141 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ParticipantsSnapshotResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 방 참가자 변경을 증분 이벤트로 브로드캐스트한다.
+ * 방마다 Redis 버전 카운터를 두고 입장/퇴장마다 1씩 올려 participantJoined/participantLeft에 싣는다.
+ * 클라이언트는 기준 버전(joinRoomSuccess/participantsSnapshot) 다음 버전만 적용하고,
+ * 버전이 건너뛰면 fetchParticipants로 전체 목록을 다시 받는다.
+ *
+ * - 전체 목록은 참가자 ID를 한 번 읽고 UserService.getUserProfiles로 일괄 조회한다
+ * - 스냅샷은 버전을 먼저 읽고 목록을 읽으므로, 그 사이의 변경은 다음 증분으로 다시 도착해도 멱등하게 적용된다
+ * - 버전 카운터를 쓸 수 없으면 기존 participantsUpdate 전체 목록으로 대체한다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantBroadcaster {
+
+    static final String VERSION_KEY_PREFIX = "room-participants:version:";
+
+    private final SocketIOServer socketIOServer;
+    private final StringRedisTemplate redisTemplate;
+    private final MembershipQueryService membershipQueryService;
+    private final UserService userService;
+
+    private final Counter deltaCounter;
+    private final Counter fallbackCounter;
+
+    public ParticipantBroadcaster(
+            SocketIOServer socketIOServer,
+            StringRedisTemplate redisTemplate,
+            MembershipQueryService membershipQueryService,
+            UserService userService,
+            MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.redisTemplate = redisTemplate;
+        this.membershipQueryService = membershipQueryService;
+        this.userService = userService;
+
+        this.deltaCounter = Counter.builder("rooms.participants.deltas")
+                .description("participantJoined/participantLeft events broadcast")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("rooms.participants.full_broadcasts")
+                .description("Full participant list broadcasts used because the version counter was unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 버전과 전체 참가자 목록. 방이 없으면 empty.
+     */
+    public Optional<ParticipantsSnapshotResponse> snapshot(String roomId) {
+        Long version = currentVersion(roomId);
+        return loadParticipants(roomId)
+                .map(participants -> new ParticipantsSnapshotResponse(roomId, version, participants));
+    }
+
+    public void joined(String roomId, String userId) {
+        UserResponse participant = userService.getUserProfiles(List.of(userId)).get(userId);
+        if (participant == null) {
+            return;
+        }
+        Long version = nextVersion(roomId);
+        if (version == null) {
+            broadcastFullList(roomId);
+            return;
+        }
+        deltaCounter.increment();
+        socketIOServer.getRoomOperations(roomId).sendEvent(PARTICIPANT_JOINED, Map.of(
+                "roomId", roomId,
+                "version", version,
+                "participant", participant
+        ));
+    }
+
+    public void left(String roomId, String userId) {
+        Long version = nextVersion(roomId);
+        if (version == null) {
+            broadcastFullList(roomId);
+            return;
+        }
+        deltaCounter.increment();
+        socketIOServer.getRoomOperations(roomId).sendEvent(PARTICIPANT_LEFT, Map.of(
+                "roomId", roomId,
+                "version", version,
+                "userId", userId
+        ));
+    }
+
+    private Optional<List<UserResponse>> loadParticipants(String roomId) {
+        Optional<Set<String>> participantIds = membershipQueryService.findParticipantIds(roomId);
+        return participantIds.map(ids -> List.copyOf(userService.getUserProfiles(ids).values()));
+    }
+
+    private void broadcastFullList(String roomId) {
+        fallbackCounter.increment();
+        loadParticipants(roomId)
+                .filter(participants -> !participants.isEmpty())
+                .ifPresent(participants -> socketIOServer.getRoomOperations(roomId)
+                        .sendEvent(PARTICIPANTS_UPDATE, participants));
+    }
+
+    private Long currentVersion(String roomId) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey(roomId));
+            return version != null ? Long.parseLong(version) : 0L;
+        } catch (Exception e) {
+            log.warn("Failed to read participant version - roomId: {}: {}", roomId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long nextVersion(String roomId) {
+        try {
+            return redisTemplate.opsForValue().increment(versionKey(roomId));
+        } catch (Exception e) {
+            log.warn("Failed to increment participant version - roomId: {}: {}", roomId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String versionKey(String roomId) {
+        return VERSION_KEY_PREFIX + roomId;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 참가자 전체 목록 조회 핸들러
+ * 클라이언트가 participantJoined/participantLeft 버전 공백을 발견했을 때 스냅샷을 다시 내려준다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ParticipantFetchHandler {
+
+    private final MembershipQueryService membershipQueryService;
+    private final ParticipantBroadcaster participantBroadcaster;
+
+    @OnEvent(FETCH_PARTICIPANTS)
+    public void handleFetchParticipants(SocketIOClient client, String roomId) {
+        SocketUser user = client.get("user");
+        if (user == null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "UNAUTHORIZED",
+                    "message", "인증이 필요합니다."
+            ));
+            return;
+        }
+
+        try {
+            if (!membershipQueryService.isParticipant(roomId, user.id())) {
+                client.sendEvent(ERROR, Map.of(
+                        "code", "LOAD_ERROR",
+                        "message", "채팅방 접근 권한이 없습니다."
+                ));
+                return;
+            }
+
+            participantBroadcaster.snapshot(roomId)
+                    .ifPresent(snapshot -> client.sendEvent(PARTICIPANTS_SNAPSHOT, snapshot));
+        } catch (Exception e) {
+            log.error("Error handling fetchParticipants", e);
+            client.sendEvent(ERROR, Map.of(
+                    "code", "LOAD_ERROR",
+                    "message", "참가자 목록을 불러오는 중 오류가 발생했습니다."
+            ));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessageReactionResponse;
+import com.ktb.chatapp.service.message.MessageReactionService.ReactionUpdate;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.util.LocalTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE_REACTION_UPDATE;
+
+/**
+ * 메시지별 리액션 변경을 짧은 윈도우 단위로 모아서 브로드캐스트한다.
+ * 한 메시지에 리액션이 몰려도 윈도우마다 가장 높은 reactionsVersion의 상태만
+ * 히스토리 버퍼/캐시에 반영하고 MESSAGE_REACTION_UPDATE로 한 번 보낸다.
+ * 이미 더 최신 버전을 보낸 메시지에 늦게 도착한 상태는 버린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactionUpdateCoalescer {
+
+    private static final Duration SENT_VERSION_TTL = Duration.ofMinutes(1);
+    private static final int SENT_VERSION_MAX_SIZE = 50_000;
+
+    private final SocketIOServer socketIOServer;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
+
+    /** messageId → 최신 상태 */
+    private final Map<String, ReactionUpdate> pending = new ConcurrentHashMap<>();
+    /** messageId → 마지막으로 브로드캐스트한 버전 */
+    private final LocalTtlCache<String, Long> sentVersions = new LocalTtlCache<>(SENT_VERSION_TTL, SENT_VERSION_MAX_SIZE);
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter submittedCounter;
+    private final Counter broadcastCounter;
+
+    public ReactionUpdateCoalescer(
+            SocketIOServer socketIOServer,
+            RoomHistoryBuffer roomHistoryBuffer,
+            RoomHistoryCache roomHistoryCache,
+            MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.roomHistoryBuffer = roomHistoryBuffer;
+        this.roomHistoryCache = roomHistoryCache;
+
+        Gauge.builder("reactions.pending", pending, Map::size)
+                .description("Messages with reaction changes waiting for the next broadcast")
+                .register(meterRegistry);
+        this.submittedCounter = Counter.builder("reactions.submitted")
+                .description("Reaction changes accepted by the coalescer")
+                .register(meterRegistry);
+        this.broadcastCounter = Counter.builder("reactions.broadcasts")
+                .description("Coalesced MESSAGE_REACTION_UPDATE broadcasts")
+                .register(meterRegistry);
+    }
+
+    public void submit(ReactionUpdate update) {
+        submittedCounter.increment();
+        pending.merge(update.messageId(), update,
+                (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.reaction.window-ms:100}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            for (String messageId : pending.keySet()) {
+                ReactionUpdate update = pending.remove(messageId);
+                if (update != null) {
+                    broadcast(update);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void broadcast(ReactionUpdate update) {
+        Long sentVersion = sentVersions.get(update.messageId());
+        if (sentVersion != null && sentVersion >= update.version()) {
+            return;
+        }
+        sentVersions.put(update.messageId(), update.version());
+        try {
+            roomHistoryBuffer.updateReactions(update.roomId(), update.messageId(), update.reactions(), update.version());
+            roomHistoryCache.updateReactions(update.roomId(), update.messageId(), update.reactions(), update.version());
+            socketIOServer.getRoomOperations(update.roomId())
+                    .sendEvent(MESSAGE_REACTION_UPDATE, new MessageReactionResponse(
+                            update.messageId(), update.reactions(), update.version()));
+            broadcastCounter.increment();
+        } catch (Exception e) {
+            log.error("Reaction broadcast failed - messageId: {}", update.messageId(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,237 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessagesReadResponse;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
+
+/**
+ * 읽음 처리 요청을 짧은 윈도우 단위로 모아서 반영한다.
+ * (방, 사용자)별로 메시지 ID를 중복 제거해 두었다가 윈도우마다 한 번의 bulk upsert로 읽음 커서를 전진시키고
+ * 방마다 MESSAGES_READ를 한 번만 브로드캐스트한다.
+ *
+ * - 대기 중인 메시지 ID가 max-batch-size에 도달하면 윈도우를 기다리지 않고 가상 스레드에서 즉시 반영한다
+ *   (Socket.IO 워커 스레드에서 DB 쓰기를 하지 않는다)
+ * - 브로드캐스트에는 실제로 그 방에 속해 반영된 메시지 ID만 싣는다
+ * - 반영되지 않은 ID(아직 write-behind 큐/재시도 목록에 있어 DB에 없는 메시지 등)는
+ *   unmatched-max-retries 윈도우까지 다음 배치에 다시 넣고, 그래도 없으면 버린다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadReceiptAggregator {
+
+    private final SocketIOServer socketIOServer;
+    private final MessageReadStatusService messageReadStatusService;
+    private final Executor flushExecutor;
+    private final int maxBatchSize;
+    private final int unmatchedMaxRetries;
+
+    /** roomId → userId → messageIds. 사용자 맵은 compute 안에서만 수정한다. */
+    private final Map<String, Map<String, Set<String>>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    /** "roomId:userId:messageId" → 반영되지 않아 다시 넣은 횟수 */
+    private final Map<String, Integer> unmatchedAttempts = new ConcurrentHashMap<>();
+
+    private final Counter submittedCounter;
+    private final Counter broadcastCounter;
+    private final Counter unmatchedRetriedCounter;
+    private final Counter unmatchedDroppedCounter;
+    private final Timer flushTimer;
+
+    public ReadReceiptAggregator(
+            SocketIOServer socketIOServer,
+            MessageReadStatusService messageReadStatusService,
+            @Qualifier("virtualThreadExecutor") Executor flushExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.read-receipt.max-batch-size:1000}") int maxBatchSize,
+            @Value("${chatapp.read-receipt.unmatched-max-retries:50}") int unmatchedMaxRetries) {
+        this.socketIOServer = socketIOServer;
+        this.messageReadStatusService = messageReadStatusService;
+        this.flushExecutor = flushExecutor;
+        this.maxBatchSize = maxBatchSize;
+        this.unmatchedMaxRetries = unmatchedMaxRetries;
+
+        Gauge.builder("read_receipts.pending", pendingCount, AtomicInteger::get)
+                .description("Message ids waiting for the next read receipt flush")
+                .register(meterRegistry);
+        this.submittedCounter = Counter.builder("read_receipts.submitted")
+                .description("markMessagesAsRead requests accepted by the aggregator")
+                .register(meterRegistry);
+        this.broadcastCounter = Counter.builder("read_receipts.broadcasts")
+                .description("Coalesced MESSAGES_READ broadcasts")
+                .register(meterRegistry);
+        this.unmatchedRetriedCounter = Counter.builder("read_receipts.unmatched")
+                .tag("result", "retried")
+                .description("Message ids not found at flush time and queued for the next window")
+                .register(meterRegistry);
+        this.unmatchedDroppedCounter = Counter.builder("read_receipts.unmatched")
+                .tag("result", "dropped")
+                .description("Message ids still not found after the retry limit")
+                .register(meterRegistry);
+        Gauge.builder("read_receipts.unmatched.retrying", unmatchedAttempts, Map::size)
+                .description("Message ids waiting to be retried because they were not found")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("read_receipts.flush.time")
+                .description("Read receipt bulk write and broadcast latency")
+                .register(meterRegistry);
+    }
+
+    public void submit(String roomId, String userId, Collection<String> messageIds) {
+        submittedCounter.increment();
+        if (enqueue(roomId, userId, messageIds) >= maxBatchSize) {
+            scheduleEarlyFlush();
+        }
+    }
+
+    private int enqueue(String roomId, String userId, Collection<String> messageIds) {
+        int[] added = {0};
+        pending.compute(roomId, (id, users) -> {
+            Map<String, Set<String>> target = users != null ? users : new HashMap<>();
+            Set<String> ids = target.computeIfAbsent(userId, key -> new LinkedHashSet<>());
+            for (String messageId : messageIds) {
+                if (ids.add(messageId)) {
+                    added[0]++;
+                }
+            }
+            return target;
+        });
+        return pendingCount.addAndGet(added[0]);
+    }
+
+    /**
+     * 배치가 가득 찼을 때 호출 스레드 대신 가상 스레드에서 flush 한다. 동시에 하나만 예약한다.
+     */
+    private void scheduleEarlyFlush() {
+        if (!earlyFlushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 예약하지 못하면 다음 윈도우의 정기 flush가 처리한다
+            earlyFlushScheduled.set(false);
+        }
+    }
+
+    int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.read-receipt.window-ms:200}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<String, Map<String, Set<String>>> batch = drain();
+            if (!batch.isEmpty()) {
+                flushTimer.record(() -> apply(batch));
+            }
+        } catch (Exception e) {
+            log.error("Read receipt flush failed", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<String, Map<String, Set<String>>> drain() {
+        Map<String, Map<String, Set<String>>> batch = new LinkedHashMap<>();
+        for (String roomId : pending.keySet()) {
+            Map<String, Set<String>> users = pending.remove(roomId);
+            if (users == null) {
+                continue;
+            }
+            int count = users.values().stream().mapToInt(Set::size).sum();
+            pendingCount.addAndGet(-count);
+            batch.put(roomId, users);
+        }
+        return batch;
+    }
+
+    private void apply(Map<String, Map<String, Set<String>>> batch) {
+        // 클라이언트가 보낸 ID를 그대로 돌려주지 않고, 그 방의 메시지로 확인되어 반영된 ID만 브로드캐스트한다
+        Map<String, Map<String, List<String>>> applied = messageReadStatusService.markRead(batch);
+
+        applied.forEach((roomId, users) -> {
+            List<MessagesReadResponse.Receipt> receipts = new ArrayList<>(users.size());
+            users.forEach((userId, ids) -> receipts.add(new MessagesReadResponse.Receipt(userId, List.copyOf(ids))));
+            socketIOServer.getRoomOperations(roomId)
+                    .sendEvent(MESSAGES_READ, MessagesReadResponse.of(receipts));
+            broadcastCounter.increment();
+        });
+        retryUnmatched(batch, applied);
+
+        log.debug("Read receipts flushed - rooms: {}", batch.size());
+    }
+
+    /**
+     * 반영되지 않은 ID를 횟수 제한 안에서 다음 윈도우에 다시 넣는다.
+     */
+    private void retryUnmatched(Map<String, Map<String, Set<String>>> batch,
+                                Map<String, Map<String, List<String>>> applied) {
+        batch.forEach((roomId, users) -> users.forEach((userId, messageIds) -> {
+            Collection<String> appliedIds = applied.getOrDefault(roomId, Map.of()).getOrDefault(userId, List.of());
+            Set<String> appliedSet = appliedIds instanceof Set<String> set ? set : Set.copyOf(appliedIds);
+            List<String> retry = new ArrayList<>();
+            for (String messageId : messageIds) {
+                String key = roomId + ":" + userId + ":" + messageId;
+                if (appliedSet.contains(messageId)) {
+                    unmatchedAttempts.remove(key);
+                    continue;
+                }
+                int attempts = unmatchedAttempts.merge(key, 1, Integer::sum);
+                if (attempts > unmatchedMaxRetries) {
+                    unmatchedAttempts.remove(key);
+                    unmatchedDroppedCounter.increment();
+                } else {
+                    retry.add(messageId);
+                }
+            }
+            if (!retry.isEmpty()) {
+                // 재시도분은 조기 flush를 걸지 않고 다음 정기 윈도우까지 기다린다
+                unmatchedRetriedCounter.increment(retry.size());
+                enqueue(roomId, userId, retry);
+            }
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -6,13 +6,18 @@ import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
-import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.ParticipantsSnapshotResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.service.RoomListCache;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.websocket.socketio.PresenceRegistry;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import java.time.LocalDateTime;
@@ -37,11 +42,16 @@ public class RoomJoinHandler {
     private final SocketIOServer socketIOServer;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final MembershipQueryService membershipQueryService;
+    private final RoomListCache roomListCache;
     private final UserRooms userRooms;
     private final MessageLoader messageLoader;
     private final MessageResponseMapper messageResponseMapper;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final ParticipantBroadcaster participantBroadcaster;
+    private final PresenceRegistry presenceRegistry;
     
     @OnEvent(JOIN_ROOM)
     public void handleJoinRoom(SocketIOClient client, String roomId) {
@@ -54,12 +64,13 @@ public class RoomJoinHandler {
                 return;
             }
             
-            if (userRepository.findById(userId).isEmpty()) {
+            SocketAuthContext authContext = SocketAuthContext.get(client);
+            if (authContext == null && !membershipQueryService.userExists(userId)) {
                 client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "User not found"));
                 return;
             }
             
-            if (roomRepository.findById(roomId).isEmpty()) {
+            if (!membershipQueryService.roomExists(roomId)) {
                 client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
                 return;
             }
@@ -68,16 +79,26 @@ public class RoomJoinHandler {
             if (userRooms.isInRoom(userId, roomId)) {
                 log.debug("User {} already in room {}", userId, roomId);
                 client.joinRoom(roomId);
+                rememberMembership(authContext, roomId);
                 client.sendEvent(JOIN_ROOM_SUCCESS, Map.of("roomId", roomId));
                 return;
             }
 
             // MongoDB의 $addToSet 연산자를 사용한 원자적 업데이트
-            roomRepository.addParticipant(roomId, userId);
+            boolean participantAdded = roomRepository.addParticipant(roomId, userId) > 0;
+            if (participantAdded) {
+                roomListCache.participantsChanged(roomId, null);
+            }
 
             // Join socket room and add to user's room set
+            // REST 입장(RoomService.joinRoom)이 먼저 참가자를 저장하므로 DB 변경 여부가 아니라
+            // 소켓 멤버십이 새로 생겼는지로 입장 증분을 판단한다
             client.joinRoom(roomId);
-            userRooms.add(userId, roomId);
+            boolean membershipAdded = userRooms.add(userId, roomId);
+            if (membershipAdded) {
+                presenceRegistry.roomJoined(roomId);
+            }
+            rememberMembership(authContext, roomId);
 
             Message joinMessage = Message.builder()
                 .roomId(roomId)
@@ -87,35 +108,39 @@ public class RoomJoinHandler {
                 .mentions(new ArrayList<>())
                 .isDeleted(false)
                 .reactions(new HashMap<>())
-                .readers(new ArrayList<>())
                 .metadata(new HashMap<>())
                 .build();
 
             joinMessage = messageRepository.save(joinMessage);
+            MessageResponse joinMessageResponse = messageResponseMapper.mapToMessageResponse(joinMessage, null);
+            roomHistoryBuffer.append(roomId, joinMessageResponse);
+            roomHistoryCache.append(roomId, joinMessageResponse);
 
             // 초기 메시지 로드
             FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
-            FetchMessagesResponse messageLoadResult = messageLoader.loadMessages(req, userId);
+            FetchMessagesResponse messageLoadResult;
+            try {
+                messageLoadResult = messageLoader.loadMessages(req, userId);
+            } catch (Exception e) {
+                // 입장은 이미 반영되었으므로 메시지 없이 응답하고 클라이언트가 이후에 다시 불러오게 한다
+                log.error("Error loading initial messages for room {}", roomId, e);
+                messageLoadResult = FetchMessagesResponse.builder()
+                        .messages(Collections.emptyList())
+                        .hasMore(true)
+                        .build();
+            }
 
-            // 업데이트된 room 다시 조회하여 최신 participantIds 가져오기
-            Optional<Room> roomOpt = roomRepository.findById(roomId);
-            if (roomOpt.isEmpty()) {
+            // 참가자 버전과 전체 목록 (일괄 조회)
+            Optional<ParticipantsSnapshotResponse> snapshot = participantBroadcaster.snapshot(roomId);
+            if (snapshot.isEmpty()) {
                 client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
                 return;
             }
-
-            // 참가자 정보 조회
-            List<UserResponse> participants = roomOpt.get().getParticipantIds()
-                    .stream()
-                    .map(userRepository::findById)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(UserResponse::from)
-                    .toList();
             
             JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
                 .roomId(roomId)
-                .participants(participants)
+                .participants(snapshot.get().getParticipants())
+                .participantsVersion(snapshot.get().getVersion())
                 .messages(messageLoadResult.getMessages())
                 .hasMore(messageLoadResult.isHasMore())
                 .activeStreams(Collections.emptyList())
@@ -125,11 +150,12 @@ public class RoomJoinHandler {
 
             // 입장 메시지 브로드캐스트
             socketIOServer.getRoomOperations(roomId)
-                .sendEvent(MESSAGE, messageResponseMapper.mapToMessageResponse(joinMessage, null));
+                .sendEvent(MESSAGE, joinMessageResponse);
 
-            // 참가자 목록 업데이트 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participants);
+            // 참가자 입장 증분 브로드캐스트 (새로 입장한 경우만)
+            if (membershipAdded) {
+                participantBroadcaster.joined(roomId, userId);
+            }
 
             log.info("User {} joined room {} successfully. Message count: {}, hasMore: {}",
                 userName, roomId, messageLoadResult.getMessages().size(), messageLoadResult.isHasMore());
@@ -142,6 +168,12 @@ public class RoomJoinHandler {
         }
     }
     
+    private void rememberMembership(SocketAuthContext authContext, String roomId) {
+        if (authContext != null) {
+            authContext.addRoom(roomId);
+        }
+    }
+
     private SocketUser getUser(SocketIOClient client) {
         return client.get("user");
     }
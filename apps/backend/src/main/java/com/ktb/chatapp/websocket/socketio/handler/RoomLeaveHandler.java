@@ -4,21 +4,22 @@ import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageResponse;
-import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.service.RoomListCache;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.websocket.socketio.PresenceRegistry;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -39,9 +40,14 @@ public class RoomLeaveHandler {
     private final SocketIOServer socketIOServer;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final MembershipQueryService membershipQueryService;
+    private final RoomListCache roomListCache;
     private final UserRooms userRooms;
     private final MessageResponseMapper messageResponseMapper;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final RoomHistoryCache roomHistoryCache;
+    private final ParticipantBroadcaster participantBroadcaster;
+    private final PresenceRegistry presenceRegistry;
     
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
@@ -59,25 +65,34 @@ public class RoomLeaveHandler {
                 return;
             }
 
-            User user = userRepository.findById(userId).orElse(null);
-            Room room = roomRepository.findById(roomId).orElse(null);
-            
-            if (user == null || room == null) {
+            if (!membershipQueryService.userExists(userId) || !membershipQueryService.roomExists(roomId)) {
                 log.warn("Room {} not found or user {} has no access", roomId, userId);
                 return;
             }
             
-            roomRepository.removeParticipant(roomId, userId);
+            boolean participantRemoved = roomRepository.removeParticipant(roomId, userId) > 0;
+            if (participantRemoved) {
+                roomListCache.participantsChanged(roomId, null);
+            }
             
             client.leaveRoom(roomId);
-            userRooms.remove(userId, roomId);
+            boolean membershipRemoved = userRooms.remove(userId, roomId);
+            if (membershipRemoved) {
+                presenceRegistry.roomLeft(roomId);
+            }
+            SocketAuthContext authContext = SocketAuthContext.get(client);
+            if (authContext != null) {
+                authContext.removeRoom(roomId);
+            }
             
-            log.info("User {} left room {}", userName, room.getName());
+            log.info("User {} left room {}", userName, roomId);
             
             log.debug("Leave room cleanup - roomId: {}, userId: {}", roomId, userId);
             
             sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
-            broadcastParticipantList(roomId);
+            if (membershipRemoved) {
+                participantBroadcaster.left(roomId, userId);
+            }
             socketIOServer.getRoomOperations(roomId)
                     .sendEvent(USER_LEFT, Map.of(
                             "userId", userId,
@@ -100,11 +115,12 @@ public class RoomLeaveHandler {
             systemMessage.setMentions(new ArrayList<>());
             systemMessage.setIsDeleted(false);
             systemMessage.setReactions(new HashMap<>());
-            systemMessage.setReaders(new ArrayList<>());
             systemMessage.setMetadata(new HashMap<>());
 
             Message savedMessage = messageRepository.save(systemMessage);
             MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
+            roomHistoryBuffer.append(roomId, response);
+            roomHistoryCache.append(roomId, response);
 
             socketIOServer.getRoomOperations(roomId)
                     .sendEvent(MESSAGE, response);
@@ -114,29 +130,6 @@ public class RoomLeaveHandler {
         }
     }
     
-    private void broadcastParticipantList(String roomId) {
-        Optional<Room> roomOpt = roomRepository.findById(roomId);
-        if (roomOpt.isEmpty()) {
-            return;
-        }
-        
-        var participantList = roomOpt.get()
-                .getParticipantIds()
-                .stream()
-                .map(userRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(UserResponse::from)
-                .toList();
-        
-        if (participantList.isEmpty()) {
-            return;
-        }
-        
-        socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participantList);
-    }
-
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
@@ -0,0 +1,172 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.RoomResumeResponse;
+import com.ktb.chatapp.dto.RoomResumeResponse.RoomResume;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.RESUME;
+
+/**
+ * 재연결 시 기존 참여 방을 가볍게 복구한다.
+ * 입장 처리(검증, 입장 메시지, 참가자 브로드캐스트)를 다시 하지 않고 소켓 방만 재구독한 뒤,
+ * 방마다 클라이언트가 마지막으로 본 메시지 (timestamp, _id) 이후의 메시지만 resume 이벤트로 보낸다.
+ * (같은 밀리초에 저장된 메시지도 _id로 구분하므로 빠지지 않는다)
+ *
+ * - 메시지 조회는 MessageLoader의 최신 페이지(링 버퍼 → Redis 캐시 → MongoDB)를 쓰므로 대부분 DB를 거치지 않는다
+ * - 동시에 조회하는 재연결 수를 세마포어로 제한하고, 대기 중인 재연결이 max-queued를 넘거나
+ *   permit을 기다리다 시간이 지나면 메시지 없이 degraded 응답을 보낸다
+ * - 조회는 가상 스레드에서 하므로 인증/연결 처리 스레드를 막지 않는다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomResumeHandler {
+
+    private final MessageLoader messageLoader;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long acquireTimeoutMillis;
+    private final int pageSize;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Counter resumedCounter;
+    private final Counter degradedCounter;
+
+    public RoomResumeHandler(
+            MessageLoader messageLoader,
+            @Qualifier("virtualThreadExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.socket.resume.max-concurrent:32}") int maxConcurrent,
+            @Value("${chatapp.socket.resume.max-queued:2000}") int maxQueued,
+            @Value("${chatapp.socket.resume.acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+            @Value("${chatapp.socket.resume.page-size:30}") int pageSize) {
+        this.messageLoader = messageLoader;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueued = maxQueued;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.pageSize = pageSize;
+
+        Gauge.builder("socketio.resume.waiting", waiting, AtomicInteger::get)
+                .description("Reconnects waiting for or holding a resume permit")
+                .register(meterRegistry);
+        this.resumedCounter = Counter.builder("socketio.resume.requests")
+                .tag("result", "resumed")
+                .description("Reconnect resumes")
+                .register(meterRegistry);
+        this.degradedCounter = Counter.builder("socketio.resume.requests")
+                .tag("result", "degraded")
+                .description("Reconnect resumes sent without messages because of admission limits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기존 참여 방을 재구독하고 놓친 메시지 조회를 예약한다.
+     *
+     * @param lastSeen 클라이언트가 마지막으로 본 메시지 커서 (모르면 null)
+     */
+    public void resume(SocketIOClient client, String userId, Set<String> roomIds, @Nullable MessageCursor lastSeen) {
+        if (roomIds.isEmpty()) {
+            return;
+        }
+        client.joinRooms(roomIds);
+        SocketAuthContext authContext = SocketAuthContext.get(client);
+        if (authContext != null) {
+            roomIds.forEach(authContext::addRoom);
+        }
+
+        List<String> rooms = List.copyOf(roomIds);
+        if (waiting.incrementAndGet() > maxQueued) {
+            waiting.decrementAndGet();
+            sendDegraded(client, rooms);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    loadAndSend(client, userId, rooms, lastSeen);
+                } finally {
+                    waiting.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            sendDegraded(client, rooms);
+        }
+    }
+
+    private void loadAndSend(SocketIOClient client, String userId, List<String> rooms,
+                             @Nullable MessageCursor lastSeen) {
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                sendDegraded(client, rooms);
+                return;
+            }
+            if (!client.isChannelOpen()) {
+                return;
+            }
+            List<RoomResume> resumes = new ArrayList<>(rooms.size());
+            for (String roomId : rooms) {
+                resumes.add(resumeRoom(roomId, lastSeen));
+            }
+            resumedCounter.increment();
+            client.sendEvent(RESUME, new RoomResumeResponse(resumes, false));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error resuming rooms for user {}", userId, e);
+            sendDegraded(client, rooms);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    private RoomResume resumeRoom(String roomId, @Nullable MessageCursor lastSeen) {
+        // 재연결만으로 읽음 처리하지 않도록 읽음 커서를 건드리지 않는 조회를 쓴다
+        FetchMessagesResponse page = messageLoader.findMessages(new FetchMessagesRequest(roomId, pageSize, null));
+        if (lastSeen == null) {
+            return new RoomResume(roomId, page.getMessages(), page.isHasMore());
+        }
+        List<MessageResponse> missed = page.getMessages().stream()
+                .filter(message -> lastSeen.isBefore(message.getTimestamp(), message.getId()))
+                .toList();
+        // 페이지 전체가 놓친 메시지이고 더 오래된 메시지가 있으면 그 사이가 비어 있을 수 있다
+        boolean hasGap = missed.size() == page.getMessages().size() && page.isHasMore();
+        return new RoomResume(roomId, missed, hasGap);
+    }
+
+    private void sendDegraded(SocketIOClient client, List<String> rooms) {
+        degradedCounter.increment();
+        List<RoomResume> resumes = rooms.stream()
+                .map(roomId -> new RoomResume(roomId, List.of(), true))
+                .toList();
+        client.sendEvent(RESUME, new RoomResumeResponse(resumes, true));
+    }
+}
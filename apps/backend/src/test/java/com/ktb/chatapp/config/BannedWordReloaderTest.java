@@ -0,0 +1,76 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BannedWordReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dictionary;
+    private BannedWordChecker checker;
+    private MeterRegistry meterRegistry;
+    private BannedWordReloader reloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dictionary = tempDir.resolve("banned.txt");
+        Files.writeString(dictionary, "alpha\nbeta\n");
+        checker = new BannedWordChecker(Set.of("alpha", "beta"));
+        meterRegistry = new SimpleMeterRegistry();
+        reloader = new BannedWordReloader(
+                new DefaultResourceLoader(), dictionary.toUri().toString(), checker, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("사전 파일이 변경되면 새 매처로 교체하고 버전을 올린다")
+    void reloadIfChanged_swapsMatcherWhenFileChanges() throws IOException {
+        Files.writeString(dictionary, "gamma\n");
+        Files.setLastModifiedTime(dictionary, FileTime.from(Instant.now().plusSeconds(5)));
+
+        reloader.reloadIfChanged();
+
+        assertThat(checker.snapshot().version()).isEqualTo(2L);
+        assertThat(checker.containsBannedWord("gamma ray")).isTrue();
+        assertThat(checker.containsBannedWord("alpha")).isFalse();
+        assertThat(meterRegistry.get("banned_words.dictionary.size").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("banned_words.rebuild.time").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("파일이 변경되지 않았으면 다시 컴파일하지 않는다")
+    void reloadIfChanged_skipsWhenUnchanged() {
+        reloader.reloadIfChanged();
+
+        assertThat(checker.snapshot().version()).isEqualTo(1L);
+        assertThat(meterRegistry.get("banned_words.rebuild.time").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("빈 사전으로 변경되면 기존 매처를 유지한다")
+    void reloadIfChanged_keepsCurrentMatcherOnFailure() throws IOException {
+        Files.writeString(dictionary, "   \n");
+        Files.setLastModifiedTime(dictionary, FileTime.from(Instant.now().plusSeconds(5)));
+
+        reloader.reloadIfChanged();
+
+        assertThat(checker.snapshot().version()).isEqualTo(1L);
+        assertThat(checker.containsBannedWord("alpha")).isTrue();
+        assertThat(meterRegistry.get("banned_words.reload.errors").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.model.Message;
+import com.mongodb.client.model.IndexOptions;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false",
+        "chatapp.mongo.indexes.resolve-conflicts=true"
+})
+@DisplayName("MongoIndexManager 통합 테스트")
+class MongoIndexManagerTest {
+
+    private static final String HISTORY_INDEX = "room_isDeleted_timestamp_idx";
+
+    @Autowired
+    private MongoIndexManager mongoIndexManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @DisplayName("같은 이름의 인덱스가 다른 키로 존재하면 선언된 키로 다시 만든다")
+    void reconcile_rebuildsIndexWithConflictingKeys() {
+        String messages = mongoTemplate.getCollectionName(Message.class);
+        mongoTemplate.getCollection(messages).dropIndexes();
+        mongoTemplate.getCollection(messages).createIndex(
+                new Document("room", 1).append("isDeleted", 1).append("timestamp", -1),
+                new IndexOptions().name(HISTORY_INDEX));
+
+        mongoIndexManager.reconcile();
+
+        Document index = findIndex(messages, HISTORY_INDEX);
+        assertThat(index).isNotNull();
+        assertThat(MongoIndexManager.sameKeys(index.get("key", Document.class),
+                new Document("room", 1).append("isDeleted", 1).append("timestamp", -1).append("_id", -1)))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("선언된 인덱스가 있으면 주요 조회 쿼리가 모두 인덱스를 탄다")
+    void verifyHotQueries_reportsIndexedPlans() {
+        mongoIndexManager.reconcile();
+
+        List<MongoIndexManager.PlanReport> reports = mongoIndexManager.verifyHotQueries();
+
+        assertThat(reports).isNotEmpty();
+        assertThat(reports).allSatisfy(report ->
+                assertThat(report.indexed()).as(report.query() + " " + report.stages()).isTrue());
+    }
+
+    private Document findIndex(String collection, String name) {
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            if (name.equals(index.getString("name"))) {
+                return index;
+            }
+        }
+        return null;
+    }
+}
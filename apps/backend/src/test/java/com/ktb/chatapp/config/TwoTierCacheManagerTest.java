@@ -0,0 +1,114 @@
+package com.ktb.chatapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    private static final String CACHE = "userCache";
+
+    @Mock private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager(CACHE);
+        cacheManager = new TwoTierCacheManager(
+                remoteCacheManager,
+                Map.of(CACHE, new TwoTierCacheManager.LocalCacheSpec(Duration.ofMinutes(1), 100)),
+                redisTemplate,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_withLoader_loadsOnceForConcurrentMisses() throws Exception {
+        Cache cache = cacheManager.getCache(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("id:user-1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "profile";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("profile");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(remoteCacheManager.getCache(CACHE).get("id:user-1", String.class)).isEqualTo("profile");
+    }
+
+    @Test
+    void onMessage_fromPeerDropsLocalEntry() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put("id:user-1", "old");
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), anyString());
+
+        // 다른 노드가 L2만 갱신한 상황
+        remoteCacheManager.getCache(CACHE).put("id:user-1", "new");
+        assertThat(cache.get("id:user-1", String.class)).isEqualTo("old");
+
+        cacheManager.onMessage(message("peer-node\n" + CACHE + "\nid:user-1"), null);
+
+        assertThat(cache.get("id:user-1", String.class)).isEqualTo("new");
+    }
+
+    @Test
+    void getAllPresent_readsLocalThenRemoteAndFillsLocal() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put("id:user-1", "profile-1");
+        remoteCacheManager.getCache(CACHE).put("id:user-2", "profile-2");
+
+        Map<String, String> found = ((BulkCache) cache)
+                .getAllPresent(List.of("id:user-1", "id:user-2", "id:user-3"), String.class);
+
+        assertThat(found).containsOnly(Map.entry("id:user-1", "profile-1"), Map.entry("id:user-2", "profile-2"));
+        // L2에서 읽은 값은 L1에 채워져 다음 조회는 L2를 보지 않는다
+        remoteCacheManager.getCache(CACHE).evict("id:user-2");
+        assertThat(cache.get("id:user-2", String.class)).isEqualTo("profile-2");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                TwoTierCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
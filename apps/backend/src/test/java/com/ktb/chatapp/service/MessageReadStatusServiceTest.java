@@ -0,0 +1,149 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.config.ReadCursorBackfill;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.ReadCursor;
+import com.ktb.chatapp.repository.MessageRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false"
+})
+@DisplayName("MessageReadStatusService 통합 테스트")
+class MessageReadStatusServiceTest {
+
+    @Autowired
+    private MessageReadStatusService messageReadStatusService;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReadCursorBackfill readCursorBackfill;
+
+    private String roomId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        roomId = UUID.randomUUID().toString();
+        base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusMinutes(10);
+    }
+
+    @Test
+    @DisplayName("읽음 커서는 뒤로 가지 않고, 커서 이전 메시지만 읽은 것으로 계산한다")
+    void markReadUpTo_keepsHighWaterMarkAndDerivesReaders() {
+        messageReadStatusService.markReadUpTo(roomId, "user-1", base.plusSeconds(2));
+        messageReadStatusService.markReadUpTo(roomId, "user-1", base.plusSeconds(1));
+        messageReadStatusService.markReadUpTo(roomId, "user-2", base.plusSeconds(1));
+
+        ReadCursor cursor = mongoTemplate.findById(ReadCursor.idOf(roomId, "user-1"), ReadCursor.class);
+        assertThat(cursor.getLastReadAt()).isEqualTo(base.plusSeconds(2));
+
+        List<MessageResponse> responses = messageReadStatusService.withReaders(roomId, List.of(
+                response("m1", base.plusSeconds(1)),
+                response("m2", base.plusSeconds(2)),
+                response("m3", base.plusSeconds(3))));
+
+        assertThat(responses.get(0).getReaders()).extracting("userId").containsExactlyInAnyOrder("user-1", "user-2");
+        assertThat(responses.get(1).getReaders()).extracting("userId").containsExactly("user-1");
+        assertThat(responses.get(2).getReaders()).isEmpty();
+        assertThat(messageReadStatusService.hasRead(roomId, "user-2", millis(base.plusSeconds(2)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("메시지 ID 묶음은 가장 최신 메시지까지 커서를 전진시키고 다른 방의 메시지는 무시한다")
+    void markRead_advancesToNewestMessagePerUser() {
+        Message older = save(roomId, base.plusSeconds(1));
+        Message newer = save(roomId, base.plusSeconds(2));
+        Message otherRoom = save(UUID.randomUUID().toString(), base.plusSeconds(5));
+
+        messageReadStatusService.markRead(Map.of(roomId, Map.of(
+                "user-1", Set.of(older.getId(), newer.getId()),
+                "user-2", Set.of(otherRoom.getId()))));
+
+        assertThat(mongoTemplate.findById(ReadCursor.idOf(roomId, "user-1"), ReadCursor.class).getLastReadAt())
+                .isEqualTo(base.plusSeconds(2));
+        assertThat(mongoTemplate.findById(ReadCursor.idOf(roomId, "user-2"), ReadCursor.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("과거 readers 배열은 사용자별 최신 읽음 시각으로 커서에 옮기고 배열은 제거한다")
+    void backfill_movesLegacyReadersIntoCursors() {
+        messageReadStatusService.markReadUpTo(roomId, "user-2", base.plusSeconds(5));
+        insertLegacy(base.plusSeconds(1), "user-1", "user-2");
+        insertLegacy(base.plusSeconds(3), "user-1");
+
+        readCursorBackfill.backfill();
+
+        assertThat(mongoTemplate.findById(ReadCursor.idOf(roomId, "user-1"), ReadCursor.class).getLastReadAt())
+                .isEqualTo(base.plusSeconds(3));
+        // 이미 더 최신 커서가 있으면 뒤로 가지 않는다
+        assertThat(mongoTemplate.findById(ReadCursor.idOf(roomId, "user-2"), ReadCursor.class).getLastReadAt())
+                .isEqualTo(base.plusSeconds(5));
+        assertThat(mongoTemplate.getCollection("messages")
+                .countDocuments(new Document("room", roomId).append("readers", new Document("$exists", true))))
+                .isZero();
+    }
+
+    private void insertLegacy(LocalDateTime timestamp, String... readerIds) {
+        Date stored = Date.from(timestamp.atZone(ZoneId.systemDefault()).toInstant());
+        List<Document> readers = Arrays.stream(readerIds)
+                .map(userId -> new Document("userId", userId).append("readAt", stored))
+                .toList();
+        mongoTemplate.getCollection("messages").insertOne(new Document("room", roomId)
+                .append("content", "legacy")
+                .append("timestamp", stored)
+                .append("readers", readers));
+    }
+
+    private Message save(String room, LocalDateTime timestamp) {
+        // id를 미리 할당해 auditing이 timestamp를 덮어쓰지 않게 한다
+        Message message = new Message();
+        message.setId(new ObjectId().toHexString());
+        message.setRoomId(room);
+        message.setContent("message");
+        message.setTimestamp(timestamp);
+        message.setIsDeleted(false);
+        return messageRepository.save(message);
+    }
+
+    private static MessageResponse response(String id, LocalDateTime timestamp) {
+        return MessageResponse.builder()
+                .id(id)
+                .timestamp(millis(timestamp))
+                .readers(List.of())
+                .build();
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
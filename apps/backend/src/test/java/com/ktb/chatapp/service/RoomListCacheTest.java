@@ -0,0 +1,96 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.dto.PageRequest;
+import com.ktb.chatapp.dto.RoomsResponse;
+import com.ktb.chatapp.model.Room;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RoomListCache 통합 테스트 (Redis Testcontainer로 세대 번호 관리)
+ */
+@SpringBootTest(classes = RoomListCacheTest.TestConfig.class)
+@DisplayName("RoomListCache 통합 테스트")
+class RoomListCacheTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServiceConnectionAutoConfiguration.class,
+            RedisAutoConfiguration.class})
+    @Import({RedisTestContainer.class, RoomListCache.class})
+    static class TestConfig {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(RoomListCache.CACHE_NAME);
+        }
+    }
+
+    @Autowired
+    private RoomListCache roomListCache;
+
+    @Test
+    @DisplayName("방 생성은 모든 목록 페이지를 새 세대로 넘긴다")
+    void roomCreated_invalidatesEveryListPage() {
+        String createdAtKey = roomListCache.listKey(page("createdAt")).orElseThrow();
+        roomListCache.putList(createdAtKey, RoomsResponse.builder().success(true).data(List.of()).build());
+        assertThat(roomListCache.getList(createdAtKey)).isPresent();
+
+        roomListCache.roomCreated(room("room-created", Set.of("user-1")));
+
+        String nextKey = roomListCache.listKey(page("createdAt")).orElseThrow();
+        assertThat(nextKey).isNotEqualTo(createdAtKey);
+        assertThat(roomListCache.getList(nextKey)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("참여자 변경은 참여자 수 정렬 페이지만 무효화하고 단건 항목은 바로 갱신한다")
+    void participantsChanged_invalidatesOnlyParticipantOrderedPages() {
+        String createdAtKey = roomListCache.listKey(page("createdAt")).orElseThrow();
+        String participantsKey = roomListCache.listKey(page("participantsCount")).orElseThrow();
+        roomListCache.putRoom(room("room-joined", Set.of("user-1")));
+
+        roomListCache.participantsChanged("room-joined", room("room-joined", Set.of("user-1", "user-2")));
+
+        assertThat(roomListCache.listKey(page("createdAt"))).contains(createdAtKey);
+        assertThat(roomListCache.listKey(page("participantsCount")).orElseThrow()).isNotEqualTo(participantsKey);
+        assertThat(roomListCache.getRoom("room-joined").orElseThrow().getParticipantIds())
+                .containsExactlyInAnyOrder("user-1", "user-2");
+    }
+
+    private static PageRequest page(String sortField) {
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setSortField(sortField);
+        return pageRequest;
+    }
+
+    private static Room room(String id, Set<String> participantIds) {
+        Room room = new Room();
+        room.setId(id);
+        room.setName(id);
+        room.setParticipantIds(new HashSet<>(participantIds));
+        return room;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.UserRepository;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserService 프로필 일괄 조회 테스트")
+class UserServiceProfilesTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private FileService fileService;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("userCache");
+        userService = new UserService(userRepository, fileService, cacheManager);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 사용자만 한 번에 조회하고 요청 순서대로 돌려준다")
+    void getUserProfiles_loadsOnlyMissesInOneQuery() {
+        cacheManager.getCache("userCache").put("id:user-1", profile("user-1"));
+        when(userRepository.findAllById(List.of("user-2", "user-3")))
+                .thenReturn(List.of(user("user-3"), user("user-2")));
+
+        Map<String, UserResponse> profiles = userService.getUserProfiles(List.of("user-2", "user-1", "user-3"));
+
+        assertThat(profiles.keySet()).containsExactly("user-2", "user-1", "user-3");
+        verify(userRepository).findAllById(List.of("user-2", "user-3"));
+        assertThat(cacheManager.getCache("userCache").get("id:user-3", UserResponse.class))
+                .isEqualTo(profile("user-3"));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 사용자는 결과에서 빠진다")
+    void getUserProfiles_skipsUnknownUsers() {
+        when(userRepository.findAllById(List.of("user-1", "ghost"))).thenReturn(List.of(user("user-1")));
+
+        Map<String, UserResponse> profiles = userService.getUserProfiles(List.of("user-1", "ghost"));
+
+        assertThat(profiles).containsOnlyKeys("user-1");
+    }
+
+    private static User user(String id) {
+        return User.builder().id(id).name(id).email(id + "@example.com").build();
+    }
+
+    private static UserResponse profile(String id) {
+        return UserResponse.from(user(id));
+    }
+}
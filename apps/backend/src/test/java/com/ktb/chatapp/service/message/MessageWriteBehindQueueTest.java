@@ -0,0 +1,112 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageWriteBehindQueueTest {
+
+    @Mock private MessageRepository messageRepository;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private BulkOperations bulkOperations;
+
+    private MessageWriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    private MessageWriteBehindQueue createQueue(boolean enabled, int capacity) {
+        MessageWriteBehindQueue created = new MessageWriteBehindQueue(
+                messageRepository, mongoTemplate, redisTemplate, new SimpleMeterRegistry(),
+                enabled, capacity, 100, 10, 1, 2, 10_000L, 5);
+        created.start();
+        return created;
+    }
+
+    private Message newMessage() {
+        Message message = new Message();
+        message.setRoomId("room-1");
+        message.setContent("hello");
+        message.setTimestamp(LocalDateTime.now());
+        return message;
+    }
+
+    @Test
+    @DisplayName("enqueue: ObjectId를 미리 할당하고 bulk insert로 저장한다")
+    @SuppressWarnings("unchecked")
+    void enqueue_assignsIdAndFlushesInBulk() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        queue = createQueue(true, 100);
+
+        Message first = queue.enqueue(newMessage());
+        Message second = queue.enqueue(newMessage());
+
+        assertThat(first.getId()).hasSize(24);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations, timeout(1000).atLeastOnce()).insert(captor.capture());
+        assertThat(captor.getAllValues().stream().flatMap(List::stream))
+                .extracting(Message::getId)
+                .contains(first.getId(), second.getId());
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("비활성화 시 동기 저장한다")
+    void enqueue_savesSynchronouslyWhenDisabled() {
+        queue = createQueue(false, 100);
+        Message message = newMessage();
+        when(messageRepository.save(message)).thenReturn(message);
+
+        queue.enqueue(message);
+
+        verify(messageRepository).save(message);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 실패하면 Redis 재시도 큐로 옮긴다")
+    @SuppressWarnings("unchecked")
+    void flush_movesToRetryQueueAfterExhaustingAttempts() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("mongo down"));
+        ListOperations<String, Object> listOperations = mock(ListOperations.class);
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        queue = createQueue(true, 100);
+
+        Message message = queue.enqueue(newMessage());
+
+        ArgumentCaptor<java.util.Collection<Object>> captor = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(listOperations, timeout(2000)).rightPushAll(
+                eq(MessageWriteBehindQueue.RETRY_QUEUE_KEY), captor.capture());
+        assertThat(captor.getValue()).containsExactly(message);
+    }
+}
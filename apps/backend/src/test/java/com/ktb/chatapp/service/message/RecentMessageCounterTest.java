@@ -0,0 +1,79 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.config.RedisTestContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RecentMessageCounter 통합 테스트 (Redis Testcontainer)
+ */
+@SpringBootTest(classes = RecentMessageCounterTest.TestConfig.class)
+@DisplayName("RecentMessageCounter 통합 테스트")
+class RecentMessageCounterTest {
+
+    private static final String ROOM_A = "recent-count-room-a";
+    private static final String ROOM_B = "recent-count-room-b";
+    private static final String ROOM_C = "recent-count-room-c";
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServiceConnectionAutoConfiguration.class,
+            RedisAutoConfiguration.class})
+    @Import({RedisTestContainer.class, RecentMessageCounter.class})
+    static class TestConfig {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RecentMessageCounter recentMessageCounter;
+
+    @AfterEach
+    void tearDown() {
+        List.of(ROOM_A, ROOM_B, ROOM_C).forEach(recentMessageCounter::evict);
+    }
+
+    @Test
+    @DisplayName("flush된 증가분을 방별로 합산하고 메시지가 없는 방은 제외한다")
+    void countRecent_sumsFlushedIncrementsPerRoom() {
+        recentMessageCounter.increment(ROOM_A);
+        recentMessageCounter.increment(ROOM_A);
+        recentMessageCounter.increment(ROOM_B);
+        recentMessageCounter.flush();
+        recentMessageCounter.increment(ROOM_A);
+        recentMessageCounter.flush();
+
+        Map<String, Long> counts = recentMessageCounter.countRecent(List.of(ROOM_A, ROOM_B, ROOM_C)).orElseThrow();
+
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of(ROOM_A, 3L, ROOM_B, 1L));
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 버킷은 최근 메시지 수에 포함하지 않는다")
+    void countRecent_ignoresBucketsOutsideWindow() {
+        recentMessageCounter.increment(ROOM_A);
+        recentMessageCounter.flush();
+
+        long later = System.currentTimeMillis() + Duration.ofMinutes(11).toMillis();
+
+        assertThat(recentMessageCounter.countRecent(List.of(ROOM_A), later).orElseThrow()).isEmpty();
+    }
+}
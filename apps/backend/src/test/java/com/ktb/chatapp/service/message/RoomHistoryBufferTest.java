@@ -0,0 +1,122 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomHistoryBufferTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomHistoryBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new RoomHistoryBuffer(meterRegistry, 5, 2, 600_000, 10_000);
+    }
+
+    @Test
+    void latest_servesPrimedPageAndTracksHitRate() {
+        assertThat(buffer.latest("room-1", 3)).isEmpty();
+
+        buffer.prime("room-1", responses(1, 3), false);
+        buffer.append("room-1", response(4));
+        FetchMessagesResponse page = buffer.latest("room-1", 3).orElseThrow();
+
+        assertThat(page.getMessages()).extracting(MessageResponse::getId).containsExactly("m2", "m3", "m4");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo(new MessageCursor(2_000L, "m2").encode());
+        assertThat(meterRegistry.get("messages.history_buffer.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("messages.history_buffer.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void append_overwritesOldestAndMissesWhenOlderHistoryIsNeeded() {
+        buffer.prime("room-1", responses(1, 2), false);
+        assertThat(buffer.latest("room-1", 30).orElseThrow().isHasMore()).isFalse();
+
+        IntStream.rangeClosed(3, 7).forEach(i -> buffer.append("room-1", response(i)));
+
+        assertThat(buffer.latest("room-1", 5).orElseThrow().getMessages())
+                .extracting(MessageResponse::getId).containsExactly("m3", "m4", "m5", "m6", "m7");
+        assertThat(buffer.latest("room-1", 6)).isEmpty();
+    }
+
+    @Test
+    void primeAndGetLatest_mergesMessagesAppendedBeforePrime() {
+        // write-behind 큐에 있어 DB 결과에 빠진 메시지
+        buffer.append("room-1", response(3));
+        assertThat(buffer.latest("room-1", 1)).isEmpty();
+
+        FetchMessagesResponse page = buffer.primeAndGetLatest("room-1", List.of(response(1), response(2)), false, 3)
+                .orElseThrow();
+
+        assertThat(page.getMessages()).extracting(MessageResponse::getId).containsExactly("m1", "m2", "m3");
+        assertThat(buffer.latest("room-1", 3).orElseThrow().getMessages())
+                .extracting(MessageResponse::getId).containsExactly("m1", "m2", "m3");
+    }
+
+    @Test
+    void updateReactions_replacesEntryWithoutMutatingServedResponses() {
+        buffer.prime("room-1", responses(1, 2), false);
+        MessageResponse served = buffer.latest("room-1", 2).orElseThrow().getMessages().getFirst();
+
+        buffer.updateReactions("room-1", "m1", Map.of("👍", Set.of("user-2")), 1);
+
+        MessageResponse updated = buffer.latest("room-1", 2).orElseThrow().getMessages().getFirst();
+        assertThat(updated.getReactions()).containsEntry("👍", Set.of("user-2"));
+        assertThat(served.getReactions()).isEmpty();
+    }
+
+    @Test
+    void updateReactions_ignoresStateOlderThanAppliedVersion() {
+        buffer.prime("room-1", responses(1, 2), false);
+
+        buffer.updateReactions("room-1", "m1", Map.of("👍", Set.of("user-2", "user-3")), 4);
+        buffer.updateReactions("room-1", "m1", Map.of("👍", Set.of("user-2")), 3);
+
+        MessageResponse updated = buffer.latest("room-1", 2).orElseThrow().getMessages().getFirst();
+        assertThat(updated.getReactions()).containsEntry("👍", Set.of("user-2", "user-3"));
+    }
+
+    @Test
+    void evictIdleRooms_dropsLeastRecentlyUsedRoomsOverCapacity() {
+        buffer.prime("room-1", responses(1, 1), false);
+        buffer.prime("room-2", responses(1, 1), false);
+        buffer.prime("room-3", responses(1, 1), false);
+        buffer.latest("room-2", 1);
+        buffer.latest("room-3", 1);
+
+        buffer.evictIdleRooms();
+
+        assertThat(buffer.roomCount()).isEqualTo(2);
+        assertThat(buffer.latest("room-1", 1)).isEmpty();
+        assertThat(buffer.latest("room-3", 1)).isPresent();
+    }
+
+    private static List<MessageResponse> responses(int from, int to) {
+        return IntStream.rangeClosed(from, to).mapToObj(RoomHistoryBufferTest::response).toList();
+    }
+
+    private static MessageResponse response(int sequence) {
+        return MessageResponse.builder()
+                .id("m" + sequence)
+                .roomId("room-1")
+                .content("message " + sequence)
+                .timestamp(1_000L * sequence)
+                .reactions(Map.of())
+                .readers(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RoomHistoryCache 통합 테스트 (Redis Testcontainer)
+ */
+@SpringBootTest(classes = RoomHistoryCacheTest.TestConfig.class, properties = "chatapp.message.history-cache.capacity=5")
+@DisplayName("RoomHistoryCache 통합 테스트")
+class RoomHistoryCacheTest {
+
+    private static final String ROOM_ID = "history-cache-room";
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServiceConnectionAutoConfiguration.class,
+            RedisAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    @Import({RedisTestContainer.class, RoomHistoryCache.class})
+    static class TestConfig {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private RoomHistoryCache roomHistoryCache;
+
+    @AfterEach
+    void tearDown() {
+        roomHistoryCache.evict(ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("prime 전에는 조회하지 않고, prime 이후 추가된 메시지까지 최신순 창으로 응답한다")
+    void findPage_servesPrimedWindowIncludingAppendedMessages() {
+        List<MessageResponse> messages = responses(4);
+        roomHistoryCache.append(ROOM_ID, messages.get(3));
+        assertThat(roomHistoryCache.findPage(ROOM_ID, 2, null, null)).isEmpty();
+
+        roomHistoryCache.prime(ROOM_ID, messages.subList(0, 3), false);
+        FetchMessagesResponse page = roomHistoryCache.findPage(ROOM_ID, 2, null, null).orElseThrow();
+
+        assertThat(page.getMessages()).extracting(MessageResponse::getId)
+                .containsExactly(messages.get(2).getId(), messages.get(3).getId());
+        assertThat(page.isHasMore()).isTrue();
+
+        FetchMessagesResponse older = roomHistoryCache.findPage(
+                ROOM_ID, 2, MessageCursor.decode(page.getNextCursor()), null).orElseThrow();
+        assertThat(older.getMessages()).extracting(MessageResponse::getId)
+                .containsExactly(messages.get(0).getId(), messages.get(1).getId());
+        assertThat(older.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("용량을 넘겨 잘린 이후의 페이지는 캐시 범위를 벗어나 DB로 넘긴다")
+    void findPage_missesBeyondTrimmedWindow() {
+        List<MessageResponse> messages = responses(7);
+        roomHistoryCache.prime(ROOM_ID, messages.subList(0, 2), false);
+        messages.subList(2, 7).forEach(message -> roomHistoryCache.append(ROOM_ID, message));
+
+        FetchMessagesResponse page = roomHistoryCache.findPage(ROOM_ID, 5, null, null).orElseThrow();
+        assertThat(page.getMessages().getFirst().getId()).isEqualTo(messages.get(2).getId());
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(roomHistoryCache.findPage(ROOM_ID, 5, MessageCursor.decode(page.getNextCursor()), null))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("리액션 갱신이 캐시된 메시지에 반영된다")
+    void updateReactions_updatesCachedMessage() {
+        List<MessageResponse> messages = responses(2);
+        roomHistoryCache.prime(ROOM_ID, messages, false);
+        String messageId = messages.getFirst().getId();
+
+        roomHistoryCache.updateReactions(ROOM_ID, messageId, Map.of("👍", Set.of("user-3")), 1);
+
+        MessageResponse cached = roomHistoryCache.findPage(ROOM_ID, 2, null, null).orElseThrow()
+                .getMessages().getFirst();
+        assertThat(cached.getReactions()).containsEntry("👍", Set.of("user-3"));
+        assertThat(cached.getContent()).isEqualTo(messages.getFirst().getContent());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 이미 더 최신 버전을 기록했다면 늦게 flush 된 리액션은 반영하지 않는다")
+    void updateReactions_ignoresOlderVersion() {
+        List<MessageResponse> messages = responses(2);
+        roomHistoryCache.prime(ROOM_ID, messages, false);
+        String messageId = messages.getFirst().getId();
+
+        roomHistoryCache.updateReactions(ROOM_ID, messageId, Map.of("👍", Set.of("user-3", "user-4")), 4);
+        roomHistoryCache.updateReactions(ROOM_ID, messageId, Map.of("👍", Set.of("user-3")), 3);
+
+        MessageResponse cached = roomHistoryCache.findPage(ROOM_ID, 2, null, null).orElseThrow()
+                .getMessages().getFirst();
+        assertThat(cached.getReactions()).containsEntry("👍", Set.of("user-3", "user-4"));
+    }
+
+    private static List<MessageResponse> responses(int count) {
+        long base = System.currentTimeMillis();
+        return IntStream.range(0, count)
+                .mapToObj(i -> MessageResponse.builder()
+                        .id(new ObjectId().toHexString())
+                        .roomId(ROOM_ID)
+                        .content("message " + i)
+                        .timestamp(base + i)
+                        .reactions(Map.of())
+                        .readers(List.of())
+                        .metadata(Map.of())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalRateLimitTierTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    @Mock
+    private RateLimitStore rateLimitStore;
+
+    private LocalRateLimitTier tier(long idleEvictMillis) {
+        return new LocalRateLimitTier(rateLimitStore, new SimpleMeterRegistry(), true, 100, 0.1, 60_000, idleEvictMillis);
+    }
+
+    private static RateLimitCheckResult allowed(int remaining) {
+        long reset = Instant.now().getEpochSecond() + 60;
+        return RateLimitCheckResult.allowed(100, remaining, 60, reset, 60);
+    }
+
+    @Test
+    void tryAcquire_answersFromLeasedTokensWithoutStoreIo() {
+        LocalRateLimitTier tier = tier(120_000);
+        when(rateLimitStore.acquire("client", 100, WINDOW, 0, 1)).thenReturn(allowed(99));
+
+        RateLimitCheckResult first = tier.tryAcquire("client", 100, WINDOW);
+        RateLimitCheckResult second = tier.tryAcquire("client", 100, WINDOW);
+
+        assertThat(first.remaining()).isEqualTo(99);
+        assertThat(second.allowed()).isTrue();
+        assertThat(second.remaining()).isEqualTo(98);
+        verify(rateLimitStore, times(1)).acquire(anyString(), anyInt(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void tryAcquire_reconcilesLocallyAdmittedRequestsWhenTokensRunOut() {
+        LocalRateLimitTier tier = tier(120_000);
+        // 남은 한도 12, 예비분 10 → 로컬 토큰 2개
+        when(rateLimitStore.acquire("client", 100, WINDOW, 0, 1)).thenReturn(allowed(12));
+        when(rateLimitStore.acquire("client", 100, WINDOW, 2, 1)).thenReturn(allowed(9));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(tier.tryAcquire("client", 100, WINDOW).allowed()).isTrue();
+        }
+
+        verify(rateLimitStore).acquire("client", 100, WINDOW, 2, 1);
+    }
+
+    @Test
+    void tryAcquire_rejectsLocallyUntilRetryAfterOnceStoreRejects() {
+        LocalRateLimitTier tier = tier(120_000);
+        long reset = Instant.now().getEpochSecond() + 30;
+        when(rateLimitStore.acquire("client", 100, WINDOW, 0, 1))
+                .thenReturn(RateLimitCheckResult.rejected(100, 60, reset, 30));
+
+        assertThat(tier.tryAcquire("client", 100, WINDOW).allowed()).isFalse();
+        RateLimitCheckResult second = tier.tryAcquire("client", 100, WINDOW);
+
+        assertThat(second.allowed()).isFalse();
+        assertThat(second.retryAfterSeconds()).isBetween(1L, 30L);
+        verify(rateLimitStore, times(1)).acquire(anyString(), anyInt(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void syncPending_flushesUnsyncedCountAndEvictsIdleBuckets() {
+        LocalRateLimitTier tier = tier(0);
+        when(rateLimitStore.acquire("client", 100, WINDOW, 0, 1)).thenReturn(allowed(99));
+        when(rateLimitStore.acquire(eq("client"), eq(100), eq(WINDOW), eq(1), eq(0))).thenReturn(allowed(98));
+        tier.tryAcquire("client", 100, WINDOW);
+        tier.tryAcquire("client", 100, WINDOW);
+
+        tier.syncPending();
+
+        verify(rateLimitStore).acquire("client", 100, WINDOW, 1, 0);
+        assertThat(tier.bucketCount()).isZero();
+    }
+
+    @Test
+    void appliesTo_skipsSmallLimits() {
+        LocalRateLimitTier tier = tier(120_000);
+
+        assertThat(tier.appliesTo(5)).isFalse();
+        assertThat(tier.appliesTo(10000)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RateLimitRedisStore 통합 테스트 (Redis Testcontainer)
+ */
+@SpringBootTest(classes = RateLimitRedisStoreTest.TestConfig.class)
+@DisplayName("RateLimitRedisStore 통합 테스트")
+class RateLimitRedisStoreTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ServiceConnectionAutoConfiguration.class, RedisAutoConfiguration.class})
+    @Import({RedisTestContainer.class, RateLimitRedisStore.class})
+    static class TestConfig {
+    }
+
+    @Autowired
+    private RateLimitRedisStore rateLimitStore;
+
+    @Test
+    @DisplayName("한도까지 허용하고 남은 횟수가 감소한 뒤 거부한다")
+    void tryAcquire_AllowsUpToLimitThenRejects() {
+        String clientId = "client-" + UUID.randomUUID();
+        Duration window = Duration.ofSeconds(60);
+
+        for (int i = 1; i <= 5; i++) {
+            RateLimitCheckResult result = rateLimitStore.tryAcquire(clientId, 5, window);
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(5 - i);
+            assertThat(result.resetEpochSeconds()).isGreaterThan(Instant.now().getEpochSecond());
+        }
+
+        RateLimitCheckResult rejected = rateLimitStore.tryAcquire(clientId, 5, window);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, 60L);
+        assertThat(rateLimitStore.findByClientId(clientId)).hasValueSatisfying(
+                rateLimit -> assertThat(rateLimit.getCount()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("동시 요청에서도 한도를 초과해 허용하지 않는다")
+    void tryAcquire_IsAtomicUnderConcurrency() throws Exception {
+        String clientId = "client-" + UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RateLimitCheckResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> rateLimitStore.tryAcquire(clientId, 20, Duration.ofMinutes(1))));
+            }
+            int allowed = 0;
+            for (Future<RateLimitCheckResult> future : futures) {
+                if (future.get().allowed()) {
+                    allowed++;
+                }
+            }
+            assertThat(allowed).isEqualTo(20);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
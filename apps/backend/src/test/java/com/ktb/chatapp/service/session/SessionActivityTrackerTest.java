@@ -0,0 +1,61 @@
+package com.ktb.chatapp.service.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionActivityTrackerTest {
+
+    @Mock
+    private SessionStore sessionStore;
+
+    private SessionActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new SessionActivityTracker(sessionStore, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_coalescesTouchesIntoSingleBatchWithLatestActivity() {
+        tracker.touch("user-1", 100L);
+        tracker.touch("user-1", 300L);
+        tracker.touch("user-1", 200L);
+        tracker.touch("user-2", 150L);
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(sessionStore, times(1)).touchAll(Map.of("user-1", 300L, "user-2", 150L));
+        assertThat(tracker.pendingActivity("user-1")).isZero();
+    }
+
+    @Test
+    void flush_requeuesTouchesWhenStoreFails() {
+        tracker.touch("user-1", 100L);
+        doThrow(new IllegalStateException("down")).when(sessionStore).touchAll(anyMap());
+
+        tracker.flush();
+
+        assertThat(tracker.pendingActivity("user-1")).isEqualTo(100L);
+    }
+
+    @Test
+    void discard_dropsPendingTouch() {
+        tracker.touch("user-1", 100L);
+
+        tracker.discard("user-1");
+        tracker.flush();
+
+        verifyNoInteractions(sessionStore);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.SessionMetadata;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static com.ktb.chatapp.service.SessionService.SESSION_TTL_SEC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SessionRedisStore 통합 테스트 (Redis Testcontainer)
+ */
+@SpringBootTest(classes = SessionRedisStoreTest.TestConfig.class)
+@DisplayName("SessionRedisStore 통합 테스트")
+class SessionRedisStoreTest {
+
+    private static final String USER_ID = "redis-store-user";
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ServiceConnectionAutoConfiguration.class, RedisAutoConfiguration.class})
+    @Import({RedisTestContainer.class, SessionRedisStore.class})
+    static class TestConfig {
+    }
+
+    @Autowired
+    private SessionRedisStore sessionStore;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        sessionStore.deleteAll(USER_ID);
+    }
+
+    private Session newSession(String sessionId, long lastActivity) {
+        return Session.builder()
+                .userId(USER_ID)
+                .sessionId(sessionId)
+                .createdAt(lastActivity)
+                .lastActivity(lastActivity)
+                .metadata(new SessionMetadata("agent", "127.0.0.1", "device"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("저장한 세션을 해시로 조회하고 키 TTL이 설정된다")
+    void save_StoresHashWithNativeTtl() {
+        long now = System.currentTimeMillis();
+        sessionStore.save(newSession("session-1", now));
+
+        Optional<Session> found = sessionStore.findByUserId(USER_ID);
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getSessionId()).isEqualTo("session-1");
+        assertThat(found.get().getLastActivity()).isEqualTo(now);
+        assertThat(found.get().getMetadata().ipAddress()).isEqualTo("127.0.0.1");
+        Long ttl = redisTemplate.getExpire(SessionRedisStore.KEY_PREFIX + USER_ID);
+        assertThat(ttl).isBetween(SESSION_TTL_SEC - 5, SESSION_TTL_SEC);
+    }
+
+    @Test
+    @DisplayName("touchAll은 lastActivity를 앞으로만 이동시킨다")
+    void touchAll_OnlyAdvancesLastActivity() {
+        long now = System.currentTimeMillis();
+        sessionStore.save(newSession("session-1", now));
+
+        sessionStore.touchAll(Map.of(USER_ID, now - 1000, "missing-user", now));
+        assertThat(sessionStore.findByUserId(USER_ID).orElseThrow().getLastActivity()).isEqualTo(now);
+
+        sessionStore.touchAll(Map.of(USER_ID, now + 1000));
+        assertThat(sessionStore.findByUserId(USER_ID).orElseThrow().getLastActivity()).isEqualTo(now + 1000);
+        assertThat(sessionStore.findByUserId("missing-user")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("delete는 세션 ID가 일치할 때만 삭제한다")
+    void delete_RequiresMatchingSessionId() {
+        sessionStore.save(newSession("session-1", System.currentTimeMillis()));
+
+        sessionStore.delete(USER_ID, "other-session");
+        assertThat(sessionStore.findByUserId(USER_ID)).isPresent();
+
+        sessionStore.delete(USER_ID, "session-1");
+        assertThat(sessionStore.findByUserId(USER_ID)).isEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ktb.chatapp.util;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    @DisplayName("findFirst: 가장 먼저 끝나는 금칙어와 원문 기준 위치를 반환")
+    void findFirst_returnsTermAndOffset() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Set.of("he", "she", "hers"));
+
+        assertThat(matcher.findFirst("ushers"))
+                .contains(new BannedWordMatch("she", 1));
+    }
+
+    @Test
+    @DisplayName("findFirst: 대소문자를 구분하지 않는다")
+    void findFirst_isCaseInsensitive() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Set.of("BadWord"));
+
+        assertThat(matcher.findFirst("this is a BADWORD!"))
+                .contains(new BannedWordMatch("badword", 10));
+    }
+
+    @Test
+    @DisplayName("findAll: 실패 링크를 따라 겹치는 패턴도 모두 찾는다")
+    void findAll_followsFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("abcd", "bc", "c"));
+
+        assertThat(matcher.findAll("xabcdx"))
+                .containsExactly(
+                        new BannedWordMatch("bc", 2),
+                        new BannedWordMatch("abcd", 1));
+    }
+
+    @Test
+    @DisplayName("사전에 없는 문자(한글 등)는 루트로 돌아간다")
+    void matches_handlesCharactersOutsideAlphabet() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Set.of("abc"));
+
+        assertThat(matcher.matches("ab가c")).isFalse();
+        assertThat(matcher.matches("가나다abc")).isTrue();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("빈 사전은 허용하지 않는다")
+    void compile_rejectsEmptyDictionary() {
+        assertThatThrownBy(() -> AhoCorasickMatcher.compile(Set.of(" ", "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ktb.chatapp.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 기존 stream().anyMatch(contains) 구현과 Aho-Corasick 매처 비교 벤치마크.
+ * backend 디렉터리에서 main 메서드를 실행한다 (test-compile 이후 test classpath 필요).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BannedWordCheckerBenchmark {
+
+    private static final Path WORD_LIST_PATH =
+            Path.of("src/main/resources/fake_banned_words_10k.txt");
+
+    @Param({"short", "long"})
+    private String messageSize;
+
+    private Set<String> bannedWords;
+    private BannedWordChecker checker;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> words = Files.readAllLines(WORD_LIST_PATH).stream()
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .toList();
+        bannedWords = words.stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        checker = new BannedWordChecker(new HashSet<>(words));
+
+        // 금칙어가 없는 메시지가 일반적인 경우 (전체 사전을 끝까지 검사해야 함)
+        String base = "안녕하세요 오늘 회의는 3시에 시작합니다. Let's sync up after lunch! ";
+        message = "short".equals(messageSize) ? base : base.repeat(20);
+    }
+
+    @Benchmark
+    public boolean streamContains() {
+        String normalizedMessage = message.toLowerCase(Locale.ROOT);
+        return bannedWords.stream().anyMatch(normalizedMessage::contains);
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return checker.containsBannedWord(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BannedWordCheckerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
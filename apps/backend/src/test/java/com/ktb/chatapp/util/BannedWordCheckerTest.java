@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -54,4 +55,15 @@ class BannedWordCheckerTest {
         assertFalse(checker.containsBannedWord(null));
         assertFalse(checker.containsBannedWord("   "));
     }
+
+    @Test
+    void findBannedWord_returnsMatchedTermAndOffset() {
+        BannedWordChecker checker = new BannedWordChecker(BANNED_WORDS);
+        String word = LOADED_WORDS.getFirst();
+        String message = "prefix-" + word.toUpperCase();
+
+        BannedWordMatch match = checker.findBannedWord(message).orElseThrow();
+        assertEquals(word.toLowerCase(), match.term());
+        assertEquals("prefix-".length(), match.offset());
+    }
 }
@@ -0,0 +1,48 @@
+package com.ktb.chatapp.util;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTtlCacheTest {
+
+    @Test
+    void put_evictsOneEntryInsteadOfClearingWhenFull() {
+        LocalTtlCache<String, Integer> cache = new LocalTtlCache<>(Duration.ofMinutes(1), 100);
+        IntStream.range(0, 100).forEach(i -> cache.put("k" + i, i));
+
+        cache.put("new", 100);
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.get("new")).isEqualTo(100);
+        long retained = IntStream.range(0, 100).filter(i -> cache.get("k" + i) != null).count();
+        assertThat(retained).isEqualTo(99);
+    }
+
+    @Test
+    void put_overwritesExistingKeyWithoutEvictingWhenFull() {
+        LocalTtlCache<String, Integer> cache = new LocalTtlCache<>(Duration.ofMinutes(1), 2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.put("a", 3);
+
+        assertThat(cache.get("a")).isEqualTo(3);
+        assertThat(cache.get("b")).isEqualTo(2);
+    }
+
+    @Test
+    void put_prefersExpiredEntriesWhenFull() {
+        LocalTtlCache<String, Integer> cache = new LocalTtlCache<>(Duration.ZERO, 2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalChatDataStore 테스트")
+class LocalChatDataStoreTest {
+
+    private static final String KEY = "userroom:roomids:user-1";
+
+    private final LocalChatDataStore store = new LocalChatDataStore();
+
+    @Test
+    @DisplayName("같은 키에 대한 동시 추가는 멤버를 잃지 않는다")
+    void addToSet_concurrentAddsKeepEveryMember() throws Exception {
+        int rooms = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < rooms; i++) {
+                String roomId = "room-" + i;
+                results.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return store.addToSet(KEY, roomId);
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.members(KEY)).hasSize(rooms);
+        assertThat(store.isMember(KEY, "room-0")).isTrue();
+    }
+
+    @Test
+    @DisplayName("마지막 멤버를 제거하면 키도 사라진다")
+    void removeFromSet_dropsKeyWhenEmpty() {
+        assertThat(store.addToSet(KEY, "room-1")).isTrue();
+        assertThat(store.addToSet(KEY, "room-1")).isFalse();
+
+        assertThat(store.removeFromSet(KEY, "room-1")).isTrue();
+        assertThat(store.removeFromSet(KEY, "room-1")).isFalse();
+
+        assertThat(store.members(KEY)).isEmpty();
+        assertThat(store.get(KEY, Object.class)).isEmpty();
+    }
+}
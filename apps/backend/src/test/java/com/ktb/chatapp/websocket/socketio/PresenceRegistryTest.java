@@ -0,0 +1,154 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.RedisTestContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PresenceRegistry 통합 테스트 (Redis Testcontainer로 노드 간 합산 확인)
+ */
+@SpringBootTest(classes = PresenceRegistryTest.TestConfig.class)
+@DisplayName("PresenceRegistry 통합 테스트")
+class PresenceRegistryTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServiceConnectionAutoConfiguration.class,
+            RedisAutoConfiguration.class})
+    @Import(RedisTestContainer.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectedUsers connectedUsers;
+    private PresenceRegistry nodeA;
+    private PresenceRegistry nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(PresenceRegistry.NODES_KEY);
+        redisTemplate.delete(RedisChatDataStore.VALUES_KEY);
+        meterRegistry = new SimpleMeterRegistry();
+        connectedUsers = new ConnectedUsers(new RedisChatDataStore(
+                redisTemplate, new ObjectMapper(), Duration.ofSeconds(1), Duration.ofSeconds(30)));
+        nodeA = new PresenceRegistry(redisTemplate, connectedUsers, meterRegistry, 5000);
+        nodeB = new PresenceRegistry(redisTemplate, connectedUsers, new SimpleMeterRegistry(), 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        connectedUsers.del("user-1");
+        connectedUsers.del("user-2");
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 여러 소켓은 사용자 한 명으로 세고 마지막 소켓이 끊기면 빠진다")
+    void socketConnected_countsDistinctUsers() {
+        nodeA.socketConnected("user-1");
+        nodeA.socketConnected("user-1");
+        nodeA.socketConnected("user-2");
+
+        assertThat(nodeA.localUsers()).isEqualTo(2);
+        assertThat(nodeA.localSockets()).isEqualTo(3);
+        assertThat(meterRegistry.get("socketio.concurrent.users").gauge().value()).isEqualTo(2.0);
+
+        nodeA.socketDisconnected("user-1");
+        assertThat(nodeA.localUsers()).isEqualTo(2);
+
+        nodeA.socketDisconnected("user-1");
+        nodeA.socketDisconnected("user-1");
+        assertThat(nodeA.localUsers()).isEqualTo(1);
+        assertThat(nodeA.localSockets()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("노드별 카운터를 게시하면 살아 있는 노드의 합계를 클러스터 값으로 보고 사용자는 한 번만 센다")
+    void publish_aggregatesLiveNodes() {
+        nodeA.socketConnected("user-1");
+        connectedUsers.set("user-1", new SocketUser("user-1", "tester", "auth-1", "socket-1"));
+        nodeA.roomJoined("room-1");
+        nodeB.socketConnected("user-2");
+        connectedUsers.set("user-2", new SocketUser("user-2", "tester", "auth-2", "socket-2"));
+        // 같은 사용자가 다른 노드에도 연결되어 있다
+        nodeB.socketConnected("user-1");
+        nodeB.roomJoined("room-1");
+        nodeB.roomJoined("room-2");
+
+        nodeA.publish();
+        nodeB.publish();
+        nodeA.publish();
+
+        assertThat(nodeA.clusterUsers()).isEqualTo(2);
+        assertThat(nodeA.clusterSockets()).isEqualTo(3);
+        assertThat(nodeA.clusterMemberships()).isEqualTo(3);
+
+        // 다른 노드에서 입장한 방을 이 노드에서 퇴장해도 합계는 맞는다
+        nodeA.roomLeft("room-2");
+        nodeA.publish();
+        assertThat(nodeA.clusterMemberships()).isEqualTo(2);
+
+        nodeB.shutdown();
+        connectedUsers.del("user-2");
+        nodeA.publish();
+        assertThat(nodeA.clusterUsers()).isEqualTo(1);
+        assertThat(nodeA.clusterSockets()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("방 점유 수는 0이 되면 항목을 지우고, 노드별 값을 합산한 클러스터 점유 수를 게이지로 보고한다")
+    void roomOccupancy_dropsEmptyRoomsAndAggregatesAcrossNodes() {
+        nodeA.roomJoined("room-1");
+        nodeA.roomJoined("room-1");
+        nodeA.roomJoined("room-2");
+        nodeB.roomJoined("room-1");
+
+        assertThat(nodeA.localRoomOccupancy("room-1")).isEqualTo(2);
+        nodeA.roomLeft("room-2");
+        assertThat(nodeA.localRoomOccupancy("room-2")).isZero();
+        assertThat(nodeA.localOccupiedRooms()).isEqualTo(1);
+
+        nodeA.publish();
+        nodeB.publish();
+        nodeA.publish();
+
+        assertThat(nodeA.clusterRoomOccupancy("room-1")).isEqualTo(3);
+        assertThat(nodeA.clusterRoomOccupancy("room-2")).isZero();
+        assertThat(meterRegistry.get("socketio.cluster.rooms.occupied").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("socketio.cluster.room.occupancy.max").gauge().value()).isEqualTo(3.0);
+
+        // 다른 노드에서 입장한 사용자가 이 노드에서 퇴장해도 클러스터 값은 맞고, 비워진 방은 게시 해시에서도 빠진다
+        nodeA.roomLeft("room-1");
+        nodeA.roomLeft("room-1");
+        nodeA.roomLeft("room-1");
+        nodeA.publish();
+        assertThat(nodeA.localRoomOccupancy("room-1")).isEqualTo(-1);
+        assertThat(nodeA.clusterRoomOccupancy("room-1")).isZero();
+        assertThat(meterRegistry.get("socketio.cluster.rooms.occupied").gauge().value()).isZero();
+
+        nodeB.shutdown();
+        nodeA.roomJoined("room-1");
+        nodeA.publish();
+        assertThat(nodeA.localOccupiedRooms()).isZero();
+        assertThat(nodeA.clusterRoomOccupancy("room-1")).isZero();
+    }
+}
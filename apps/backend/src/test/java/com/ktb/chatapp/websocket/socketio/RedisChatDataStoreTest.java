@@ -0,0 +1,131 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.RedisTestContainer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnectionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisChatDataStore 통합 테스트 (Redis Testcontainer)
+ */
+@SpringBootTest(classes = RedisChatDataStoreTest.TestConfig.class)
+@DisplayName("RedisChatDataStore 통합 테스트")
+class RedisChatDataStoreTest {
+
+    private static final String ROOMS_KEY = "userroom:roomids:chat-data-user-1";
+    private static final String USER_KEY = "conn_users:userid:chat-data-user-1";
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServiceConnectionAutoConfiguration.class,
+            RedisAutoConfiguration.class})
+    @Import(RedisTestContainer.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private RedisChatDataStore store;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(RedisChatDataStore.VALUES_KEY);
+        redisTemplate.delete(RedisChatDataStore.NODES_KEY);
+        store = new RedisChatDataStore(redisTemplate, new ObjectMapper(), Duration.ofSeconds(1), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List.of(ROOMS_KEY, USER_KEY).forEach(store::delete);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 저장한 방 목록과 접속 사용자를 읽는다")
+    void get_readsValuesWrittenByAnotherNode() {
+        store.set(ROOMS_KEY, Set.of("room-1", "room-2"));
+        store.set(USER_KEY, new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-1"));
+
+        RedisChatDataStore otherNode = new RedisChatDataStore(redisTemplate, new ObjectMapper(), Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+        assertThat(otherNode.get(ROOMS_KEY, Set.class)).contains(Set.of("room-1", "room-2"));
+        assertThat(otherNode.get(USER_KEY, SocketUser.class))
+                .contains(new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-1"));
+        assertThat(redisTemplate.opsForSet().members(RedisChatDataStore.SET_KEY_PREFIX + ROOMS_KEY))
+                .containsExactlyInAnyOrder("room-1", "room-2");
+    }
+
+    @Test
+    @DisplayName("set 연산은 Redis set을 제자리에서 갱신하고 비면 키를 지운다")
+    void setPrimitives_updateInPlace() {
+        assertThat(store.addToSet(ROOMS_KEY, "room-1")).isTrue();
+        assertThat(store.addToSet(ROOMS_KEY, "room-2")).isTrue();
+        assertThat(store.addToSet(ROOMS_KEY, "room-1")).isFalse();
+
+        assertThat(store.isMember(ROOMS_KEY, "room-2")).isTrue();
+        assertThat(store.members(ROOMS_KEY)).containsExactlyInAnyOrder("room-1", "room-2");
+
+        assertThat(store.removeFromSet(ROOMS_KEY, "room-1")).isTrue();
+        assertThat(store.removeFromSet(ROOMS_KEY, "room-2")).isTrue();
+        assertThat(store.isMember(ROOMS_KEY, "room-2")).isFalse();
+        assertThat(redisTemplate.hasKey(RedisChatDataStore.SET_KEY_PREFIX + ROOMS_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("size는 방 목록을 제외한 접속 사용자만 센다")
+    void size_countsConnectedUsersOnly() {
+        store.set(ROOMS_KEY, Set.of("room-1"));
+        store.set(USER_KEY, new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-1"));
+
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("delete는 set 키와 hash 필드를 모두 지운다")
+    void delete_removesBothRepresentations() {
+        store.set(ROOMS_KEY, Set.of("room-1"));
+        store.set(USER_KEY, new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-1"));
+
+        store.delete(ROOMS_KEY);
+        store.delete(USER_KEY);
+
+        assertThat(store.get(ROOMS_KEY, Set.class)).isEmpty();
+        assertThat(store.get(USER_KEY, SocketUser.class)).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("heartbeat가 끊긴 노드가 남긴 접속 사용자는 정리하고 다른 노드가 덮어쓴 값은 유지한다")
+    void removeStaleNodes_dropsValuesLeftByCrashedNode() {
+        String otherUserKey = "conn_users:userid:chat-data-user-2";
+        RedisChatDataStore crashedNode = new RedisChatDataStore(
+                redisTemplate, new ObjectMapper(), Duration.ofSeconds(1), Duration.ofSeconds(30));
+        crashedNode.set(USER_KEY, new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-1"));
+        crashedNode.set(otherUserKey, new SocketUser("chat-data-user-2", "tester", "auth-2", "socket-2"));
+        crashedNode.heartbeat();
+        // 사용자 1은 다른 노드로 재접속했다
+        store.set(USER_KEY, new SocketUser("chat-data-user-1", "tester", "auth-1", "socket-3"));
+
+        store.removeStaleNodes(System.currentTimeMillis() + Duration.ofMinutes(1).toMillis());
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(redisTemplate.opsForHash().hasKey(RedisChatDataStore.VALUES_KEY, otherUserKey)).isFalse();
+        assertThat(redisTemplate.opsForHash().get(RedisChatDataStore.VALUES_KEY, USER_KEY).toString())
+                .contains("socket-3");
+    }
+}
@@ -1,24 +1,30 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
+import com.corundumstudio.socketio.BroadcastOperations;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.dto.ChatMessageRequest;
-import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.MembershipQueryService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.service.message.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.message.RecentMessageCounter;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,8 +33,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -37,8 +45,11 @@ import static org.mockito.Mockito.*;
 class ChatMessageHandlerTest {
 
     @Mock private SocketIOServer socketIOServer;
-    @Mock private MessageRepository messageRepository;
-    @Mock private RoomRepository roomRepository;
+    @Mock private MessageWriteBehindQueue messageWriteBehindQueue;
+    @Mock private RoomHistoryBuffer roomHistoryBuffer;
+    @Mock private RoomHistoryCache roomHistoryCache;
+    @Mock private RecentMessageCounter recentMessageCounter;
+    @Mock private MembershipQueryService membershipQueryService;
     @Mock private UserRepository userRepository;
     @Mock private FileRepository fileRepository;
     @Mock private AiService aiService;
@@ -54,8 +65,11 @@ class ChatMessageHandlerTest {
         handler =
                 new ChatMessageHandler(
                         socketIOServer,
-                        messageRepository,
-                        roomRepository,
+                        messageWriteBehindQueue,
+                        roomHistoryBuffer,
+                        roomHistoryCache,
+                        recentMessageCounter,
+                        membershipQueryService,
                         userRepository,
                         fileRepository,
                         aiService,
@@ -83,10 +97,7 @@ class ChatMessageHandlerTest {
         user.setId("user-1");
         when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
 
-        Room room = new Room();
-        room.setId("room-1");
-        room.setParticipantIds(new HashSet<>(java.util.List.of("user-1")));
-        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room));
+        when(membershipQueryService.isParticipant("room-1", "user-1")).thenReturn(true);
 
         ChatMessageRequest request =
                 ChatMessageRequest.builder()
@@ -103,7 +114,40 @@ class ChatMessageHandlerTest {
         verify(client).sendEvent(eq(ERROR), payloadCaptor.capture());
         Map<String, String> payload = payloadCaptor.getValue();
         org.junit.jupiter.api.Assertions.assertEquals("MESSAGE_REJECTED", payload.get("code"));
-        verifyNoInteractions(messageRepository);
+        verifyNoInteractions(messageWriteBehindQueue);
         verify(socketIOServer, never()).getRoomOperations(any());
     }
+
+    @Test
+    void handleChatMessage_usesCachedAuthContextWithoutRepositoryLookups() {
+        ReflectionTestUtils.setField(handler, "sessionRevalidateMillis", 60_000L);
+        SocketIOClient client = mock(SocketIOClient.class);
+        SocketUser socketUser = new SocketUser("user-1", "tester", "session-1", "socket-1");
+        when(client.get("user")).thenReturn(socketUser);
+
+        UserResponse sender = UserResponse.builder().id("user-1").name("tester").build();
+        SocketAuthContext context =
+                new SocketAuthContext("user-1", "session-1", sender, System.currentTimeMillis());
+        context.addRoom("room-1");
+        when(client.get(SocketAuthContext.CLIENT_KEY)).thenReturn(context);
+
+        RateLimitCheckResult allowedResult = RateLimitCheckResult.allowed(10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60);
+        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any()))
+                .thenReturn(allowedResult);
+        when(messageWriteBehindQueue.enqueue(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        BroadcastOperations roomOperations = mock(BroadcastOperations.class);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+
+        ChatMessageRequest request =
+                ChatMessageRequest.builder()
+                        .room("room-1")
+                        .type("text")
+                        .content("hello")
+                        .build();
+
+        handler.handleChatMessage(client, request);
+
+        verify(roomOperations).sendEvent(eq(MESSAGE), any(MessageResponse.class));
+        verifyNoInteractions(sessionService, userRepository, membershipQueryService);
+    }
 }
@@ -2,13 +2,20 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.datafaker.Faker;
+import org.bson.types.ObjectId;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,14 +24,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.*;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +54,9 @@ class MessageLoaderTest {
     @Mock
     private MessageReadStatusService messageReadStatusService;
     
+    @Mock
+    private RoomHistoryCache roomHistoryCache;
+    
     @InjectMocks
     private MessageLoader messageLoader;
     
@@ -61,7 +75,9 @@ class MessageLoaderTest {
                 messageRepository,
                 userRepository,
                 new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                messageReadStatusService,
+                new RoomHistoryBuffer(new SimpleMeterRegistry(), 50, 100, 600_000, 10_000),
+                roomHistoryCache
         );
         
         var testUser = User.builder()
@@ -81,7 +97,8 @@ class MessageLoaderTest {
         
         lenient().when(userRepository.findAllById(anySet()))
                 .thenReturn(List.of(testUser));
-        lenient().doNothing().when(messageReadStatusService).updateReadStatus(anyList(), anyString());
+        lenient().when(messageReadStatusService.withReaders(anyString(), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
     }
     
     private Message createMessage(String id, LocalDateTime timestamp) {
@@ -99,14 +116,15 @@ class MessageLoaderTest {
     @DisplayName("loadMessages: 내림차순 조회 후 오름차순 재정렬")
     void loadMessages_shouldReturnAscendingOrderAfterReversing() {
         // Given: testMessages[0~29] (50시간 전 ~ 21시간 전) - 오름차순 상태
-        List<Message> first30Messages = testMessages.subList(0, 30);
+        // limit + 1개를 조회하므로 31개를 반환하면 다음 페이지가 있다
+        List<Message> first31Messages = testMessages.subList(0, 31);
         
         // DB는 DESC 정렬로 반환한다고 가정 (최신 것 먼저)
-        // [21시간 전, 22시간 전, ..., 50시간 전]
-        var messagePage = getMessagePage(first30Messages);
+        // [20시간 전, 21시간 전, ..., 50시간 전]
+        var messagePage = getMessagePage(first31Messages);
         
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findPageBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
                 .thenReturn(messagePage);
         
         // When: 메시지 로드
@@ -122,12 +140,8 @@ class MessageLoaderTest {
         verifyAscending(result);
     }
     
-    private static @NotNull Page<Message> getMessagePage(List<Message> first30Messages) {
-        List<Message> messages = new ArrayList<>(first30Messages.reversed());
-        
-        Pageable pageable = PageRequest.of(0, 30, Sort.by("timestamp").descending());
-        Page<Message> messagePage = new PageImpl<>(messages, pageable, 50);
-        return messagePage;
+    private static @NotNull List<Message> getMessagePage(List<Message> ascendingMessages) {
+        return new ArrayList<>(ascendingMessages.reversed());
     }
     
     @Test
@@ -138,10 +152,10 @@ class MessageLoaderTest {
         
         // DB는 DESC 정렬로 반환 (최신 것부터)
         // [1시간 전, 2시간 전, ..., 30시간 전]
-        Page<Message> messagePage = getMessagePage(last30Messages);
+        List<Message> messagePage = getMessagePage(last30Messages);
         
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findPageBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
                 .thenReturn(messagePage);
         
         // When: 초기 메시지 로드
@@ -167,8 +181,8 @@ class MessageLoaderTest {
     @Test
     @DisplayName("loadInitialMessages: 에러 시 빈 응답")
     void loadInitialMessages_shouldReturnEmptyOnError() {
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                any(), anyBoolean(), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findPageBefore(
+                any(), any(LocalDateTime.class), any(Limit.class)))
                 .thenThrow(new RuntimeException("DB error"));
         
         FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
@@ -177,4 +191,122 @@ class MessageLoaderTest {
         assertThat(result.getMessages()).isEmpty();
         assertThat(result.isHasMore()).isFalse();
     }
+
+    @Test
+    @DisplayName("loadMessages: 발신자와 파일은 페이지당 한 번씩 일괄 조회")
+    void loadMessages_shouldHydrateSendersAndFilesInSingleBatch() {
+        List<Message> page = new ArrayList<>(testMessages.subList(0, 30));
+        for (int i = 0; i < page.size(); i += 3) {
+            page.get(i).setFileId("file-" + (i % 2));
+        }
+        when(messageRepository.findPageBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessagePage(page));
+        when(fileRepository.findAllById(anySet())).thenReturn(List.of(
+                File.builder().id("file-0").filename("a.png").build(),
+                File.builder().id("file-1").filename("b.png").build()));
+
+        FetchMessagesResponse result = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+
+        assertThat(result.getMessages()).hasSize(30);
+        assertThat(result.getMessages()).allSatisfy(message -> assertThat(message.getSender()).isNotNull());
+        assertThat(result.getMessages().stream().filter(message -> message.getFile() != null)).hasSize(10);
+        verify(userRepository, times(1)).findAllById(anySet());
+        verify(fileRepository, times(1)).findAllById(anySet());
+        verify(userRepository, never()).findById(anyString());
+        verify(fileRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("loadMessages: 다음 페이지가 있으면 가장 오래된 메시지로 커서를 만들고, 커서로 이어서 조회")
+    void loadMessages_shouldPageWithKeysetCursor() {
+        List<Message> page = testMessages.subList(19, 50).stream()
+                .peek(message -> message.setId(new ObjectId().toHexString()))
+                .toList();
+        when(messageRepository.findPageBefore(eq(roomId), any(LocalDateTime.class), eq(Limit.of(31))))
+                .thenReturn(getMessagePage(page));
+
+        FetchMessagesResponse first = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getMessages()).hasSize(30);
+        Message oldest = page.get(1);
+        MessageCursor cursor = MessageCursor.decode(first.getNextCursor());
+        assertThat(cursor.id()).isEqualTo(oldest.getId());
+        assertThat(cursor.timestamp()).isEqualTo(oldest.toTimestampMillis());
+
+        when(messageRepository.findPageBeforeCursor(
+                eq(roomId), eq(cursor.timestampAsLocalDateTime()), eq(cursor.objectId()), eq(Limit.of(31))))
+                .thenReturn(List.of(page.getFirst()));
+
+        FetchMessagesResponse second = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null, first.getNextCursor()), userId);
+
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getMessages()).extracting(MessageResponse::getId).containsExactly(page.getFirst().getId());
+    }
+
+    @Test
+    @DisplayName("loadMessages: 첫 페이지를 다시 요청하면 DB 조회 없이 링 버퍼에서 응답")
+    void loadMessages_shouldServeRepeatedInitialPageFromHistoryBuffer() {
+        List<Message> page = testMessages.subList(19, 50).stream()
+                .peek(message -> message.setId(new ObjectId().toHexString()))
+                .toList();
+        when(messageRepository.findPageBefore(eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessagePage(page));
+        when(messageReadStatusService.hasRead(eq(roomId), eq(userId), anyLong())).thenReturn(false, true);
+
+        FetchMessagesResponse first = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+        FetchMessagesResponse second = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+
+        assertThat(second.getMessages()).extracting(MessageResponse::getId)
+                .containsExactlyElementsOf(first.getMessages().stream().map(MessageResponse::getId).toList());
+        assertThat(second.isHasMore()).isTrue();
+        assertThat(second.getNextCursor()).isEqualTo(first.getNextCursor());
+        verify(messageRepository, times(1)).findPageBefore(eq(roomId), any(LocalDateTime.class), any(Limit.class));
+        verify(userRepository, times(1)).findAllById(anySet());
+        // 첫 조회에서 전진한 읽음 커서는 다시 갱신하지 않는다
+        verify(messageReadStatusService, times(1)).markReadUpTo(eq(roomId), eq(userId), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("loadMessages: Redis 캐시 범위 안의 이전 페이지는 DB 조회 없이 응답")
+    void loadMessages_shouldServeOlderPageFromSharedHistoryCache() {
+        MessageCursor cursor = new MessageCursor(System.currentTimeMillis(), new ObjectId().toHexString());
+        FetchMessagesResponse cachedPage = FetchMessagesResponse.builder()
+                .messages(List.of(MessageResponse.builder()
+                        .id("cached")
+                        .timestamp(cursor.timestamp() - 1)
+                        .readers(List.of())
+                        .build()))
+                .hasMore(false)
+                .build();
+        when(roomHistoryCache.findPage(roomId, 30, cursor, null)).thenReturn(Optional.of(cachedPage));
+
+        FetchMessagesResponse result = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null, cursor.encode()), userId);
+
+        assertThat(result.getMessages()).isEqualTo(cachedPage.getMessages());
+        verifyNoInteractions(messageRepository);
+        verify(messageReadStatusService).markReadUpTo(roomId, userId, LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(cursor.timestamp() - 1), ZoneId.systemDefault()));
+    }
+
+    @Test
+    @DisplayName("findMessages: 읽음 커서를 전진시키지 않고 조회 오류는 호출자에게 전달")
+    void findMessages_shouldNotMarkReadAndShouldPropagateErrors() {
+        when(messageRepository.findPageBefore(eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessagePage(testMessages.subList(40, 50)))
+                .thenThrow(new IllegalStateException("mongo down"));
+
+        FetchMessagesResponse result = messageLoader.findMessages(new FetchMessagesRequest(roomId, 30, null));
+
+        assertThat(result.getMessages()).hasSize(10);
+        verify(messageReadStatusService, never()).markReadUpTo(anyString(), anyString(), any(LocalDateTime.class));
+
+        FetchMessagesRequest olderPage = new FetchMessagesRequest(roomId, 30, System.currentTimeMillis());
+        assertThatThrownBy(() -> messageLoader.findMessages(olderPage))
+                .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,71 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessageReactionResponse;
+import com.ktb.chatapp.service.message.MessageReactionService.ReactionUpdate;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE_REACTION_UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactionUpdateCoalescerTest {
+
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private RoomHistoryBuffer roomHistoryBuffer;
+    @Mock private RoomHistoryCache roomHistoryCache;
+    @Mock private BroadcastOperations roomOperations;
+
+    private ReactionUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ReactionUpdateCoalescer(
+                socketIOServer, roomHistoryBuffer, roomHistoryCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_broadcastsOnlyNewestVersionPerMessage() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        Map<String, Set<String>> newest = Map.of("👍", Set.of("user-1", "user-2"));
+
+        coalescer.submit(update(2, Map.of("👍", Set.of("user-1"))));
+        coalescer.submit(update(3, newest));
+        coalescer.submit(update(1, Map.of()));
+        coalescer.flush();
+
+        verify(roomOperations, times(1)).sendEvent(MESSAGE_REACTION_UPDATE, new MessageReactionResponse("m1", newest, 3));
+        verify(roomHistoryBuffer).updateReactions("room-1", "m1", newest, 3);
+        verify(roomHistoryCache).updateReactions("room-1", "m1", newest, 3);
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_dropsStateOlderThanAlreadyBroadcastVersion() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+
+        coalescer.submit(update(5, Map.of("👍", Set.of("user-1"))));
+        coalescer.flush();
+        coalescer.submit(update(4, Map.of()));
+        coalescer.flush();
+
+        verify(roomOperations, times(1)).sendEvent(eq(MESSAGE_REACTION_UPDATE), any(MessageReactionResponse.class));
+    }
+
+    private static ReactionUpdate update(long version, Map<String, Set<String>> reactions) {
+        return new ReactionUpdate("m1", "room-1", reactions, version, true);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessagesReadResponse;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReceiptAggregatorTest {
+
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private MessageReadStatusService messageReadStatusService;
+    @Mock private BroadcastOperations roomOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReadReceiptAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ReadReceiptAggregator(
+                socketIOServer, messageReadStatusService, Runnable::run, meterRegistry, 5, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_deduplicatesReceiptsIntoOneBulkWriteAndOneBroadcastPerRoom() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(messageReadStatusService.markRead(anyMap())).thenReturn(Map.of("room-1", Map.of(
+                "user-1", List.of("m1", "m2"),
+                "user-2", List.of("m1"))));
+        aggregator.submit("room-1", "user-1", List.of("m1", "m2"));
+        aggregator.submit("room-1", "user-1", List.of("m2"));
+        aggregator.submit("room-1", "user-2", List.of("m1"));
+
+        aggregator.flush();
+        aggregator.flush();
+
+        ArgumentCaptor<Map<String, Map<String, Set<String>>>> bulk = ArgumentCaptor.forClass(Map.class);
+        verify(messageReadStatusService, times(1)).markRead(bulk.capture());
+        assertThat(bulk.getValue()).containsOnlyKeys("room-1");
+        assertThat(bulk.getValue().get("room-1")).containsOnly(
+                Map.entry("user-1", Set.of("m1", "m2")),
+                Map.entry("user-2", Set.of("m1")));
+
+        ArgumentCaptor<MessagesReadResponse> broadcast = ArgumentCaptor.forClass(MessagesReadResponse.class);
+        verify(roomOperations, times(1)).sendEvent(eq(MESSAGES_READ), broadcast.capture());
+        assertThat(broadcast.getValue().getReceipts()).containsExactlyInAnyOrder(
+                new MessagesReadResponse.Receipt("user-1", List.of("m1", "m2")),
+                new MessagesReadResponse.Receipt("user-2", List.of("m1")));
+        assertThat(aggregator.pendingCount()).isZero();
+    }
+
+    @Test
+    void submit_flushesImmediatelyWhenBatchIsFull() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(messageReadStatusService.markRead(anyMap())).thenReturn(Map.of("room-1", Map.of(
+                "user-1", List.of("m1", "m2", "m3", "m4", "m5"))));
+
+        aggregator.submit("room-1", "user-1", List.of("m1", "m2", "m3"));
+        verifyNoInteractions(messageReadStatusService);
+
+        aggregator.submit("room-1", "user-1", List.of("m4", "m5"));
+
+        verify(messageReadStatusService).markRead(anyMap());
+        verify(roomOperations).sendEvent(MESSAGES_READ,
+                new MessagesReadResponse("user-1", List.of("m1", "m2", "m3", "m4", "m5")));
+    }
+
+    @Test
+    void flush_broadcastsOnlyMessageIdsAppliedToTheRoom() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(messageReadStatusService.markRead(anyMap())).thenReturn(Map.of("room-1", Map.of(
+                "user-1", List.of("m1"))));
+        aggregator.submit("room-1", "user-1", List.of("m1", "other-room-message"));
+        aggregator.submit("room-2", "user-1", List.of("forged"));
+
+        aggregator.flush();
+
+        verify(roomOperations).sendEvent(MESSAGES_READ, new MessagesReadResponse("user-1", List.of("m1")));
+        verify(socketIOServer, never()).getRoomOperations("room-2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_retriesUnmatchedIdsForBoundedWindowsThenDrops() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        // m2는 아직 write-behind 큐에 있어 첫 flush에서는 찾지 못한다
+        when(messageReadStatusService.markRead(anyMap()))
+                .thenReturn(Map.of("room-1", Map.of("user-1", List.of("m1"))))
+                .thenReturn(Map.of("room-1", Map.of("user-1", List.of("m2"))))
+                .thenReturn(Map.of());
+        aggregator.submit("room-1", "user-1", List.of("m1", "m2"));
+        aggregator.submit("room-1", "user-1", List.of("gone"));
+
+        aggregator.flush();
+        aggregator.flush();
+        aggregator.flush();
+        aggregator.flush();
+
+        ArgumentCaptor<Map<String, Map<String, Set<String>>>> bulk = ArgumentCaptor.forClass(Map.class);
+        verify(messageReadStatusService, times(3)).markRead(bulk.capture());
+        assertThat(bulk.getAllValues().get(1).get("room-1").get("user-1")).containsExactlyInAnyOrder("m2", "gone");
+        assertThat(bulk.getAllValues().get(2).get("room-1").get("user-1")).containsExactly("gone");
+        verify(roomOperations).sendEvent(MESSAGES_READ, new MessagesReadResponse("user-1", List.of("m2")));
+        assertThat(aggregator.pendingCount()).isZero();
+        assertThat(meterRegistry.get("read_receipts.unmatched").tag("result", "retried").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("read_receipts.unmatched").tag("result", "dropped").counter().count())
+                .isEqualTo(1);
+    }
+}
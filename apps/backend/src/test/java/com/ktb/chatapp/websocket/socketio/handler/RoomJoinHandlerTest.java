@@ -0,0 +1,109 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.ParticipantsSnapshotResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.service.MembershipQueryService;
+import com.ktb.chatapp.service.RoomListCache;
+import com.ktb.chatapp.service.message.RoomHistoryBuffer;
+import com.ktb.chatapp.service.message.RoomHistoryCache;
+import com.ktb.chatapp.websocket.socketio.PresenceRegistry;
+import com.ktb.chatapp.websocket.socketio.SocketAuthContext;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.JOIN_ROOM_SUCCESS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomJoinHandler 테스트")
+class RoomJoinHandlerTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String USER_ID = "user-1";
+
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private MessageRepository messageRepository;
+    @Mock private RoomRepository roomRepository;
+    @Mock private MembershipQueryService membershipQueryService;
+    @Mock private RoomListCache roomListCache;
+    @Mock private UserRooms userRooms;
+    @Mock private MessageLoader messageLoader;
+    @Mock private MessageResponseMapper messageResponseMapper;
+    @Mock private RoomHistoryBuffer roomHistoryBuffer;
+    @Mock private RoomHistoryCache roomHistoryCache;
+    @Mock private RoomLeaveHandler roomLeaveHandler;
+    @Mock private ParticipantBroadcaster participantBroadcaster;
+    @Mock private PresenceRegistry presenceRegistry;
+    @Mock private SocketIOClient client;
+    @Mock private BroadcastOperations roomOperations;
+
+    @InjectMocks
+    private RoomJoinHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(new SocketUser(USER_ID, "tester", "auth-1", "socket-1")).when(client).get("user");
+        doReturn(null).when(client).get(SocketAuthContext.CLIENT_KEY);
+        when(membershipQueryService.userExists(USER_ID)).thenReturn(true);
+        when(membershipQueryService.roomExists(ROOM_ID)).thenReturn(true);
+        when(userRooms.isInRoom(USER_ID, ROOM_ID)).thenReturn(false);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(messageResponseMapper.mapToMessageResponse(any(Message.class), any()))
+                .thenReturn(MessageResponse.builder().id("join-message").roomId(ROOM_ID).build());
+        when(messageLoader.loadMessages(any(FetchMessagesRequest.class), eq(USER_ID)))
+                .thenReturn(FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build());
+        when(participantBroadcaster.snapshot(ROOM_ID))
+                .thenReturn(Optional.of(new ParticipantsSnapshotResponse(ROOM_ID, 3L, List.of())));
+        when(socketIOServer.getRoomOperations(ROOM_ID)).thenReturn(roomOperations);
+    }
+
+    @Test
+    @DisplayName("REST 입장으로 DB에 이미 참가자가 있어도 소켓 입장 시 참가자 입장 증분을 보낸다")
+    void handleJoinRoom_broadcastsJoinedAfterRestJoin() {
+        // RoomService.joinRoom이 이미 참가자를 저장해 $addToSet이 아무것도 바꾸지 않는다
+        when(roomRepository.addParticipant(ROOM_ID, USER_ID)).thenReturn(0L);
+        when(userRooms.add(USER_ID, ROOM_ID)).thenReturn(true);
+
+        handler.handleJoinRoom(client, ROOM_ID);
+
+        verify(client).sendEvent(eq(JOIN_ROOM_SUCCESS), any(Object.class));
+        verify(presenceRegistry).roomJoined(ROOM_ID);
+        verify(participantBroadcaster).joined(ROOM_ID, USER_ID);
+        verify(roomListCache, never()).participantsChanged(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("다른 소켓이 이미 멤버십을 추가했다면 증분을 다시 보내지 않는다")
+    void handleJoinRoom_skipsJoinedWhenMembershipAlreadyExists() {
+        when(roomRepository.addParticipant(ROOM_ID, USER_ID)).thenReturn(0L);
+        when(userRooms.add(USER_ID, ROOM_ID)).thenReturn(false);
+
+        handler.handleJoinRoom(client, ROOM_ID);
+
+        verify(presenceRegistry, never()).roomJoined(ROOM_ID);
+        verify(participantBroadcaster, never()).joined(anyString(), anyString());
+    }
+}
@@ -0,0 +1,102 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.RoomResumeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.RESUME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomResumeHandler 테스트")
+class RoomResumeHandlerTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    @Mock private MessageLoader messageLoader;
+    @Mock private SocketIOClient client;
+
+    @Test
+    @DisplayName("방을 재구독하고 마지막으로 본 시각 이후 메시지만 보낸다")
+    void resume_sendsOnlyMessagesAfterLastSeen() {
+        RoomResumeHandler handler = handler(4);
+        when(client.isChannelOpen()).thenReturn(true);
+        when(messageLoader.findMessages(any(FetchMessagesRequest.class)))
+                .thenReturn(FetchMessagesResponse.builder()
+                        .messages(List.of(message("m1", 1_000L), message("m2", 2_000L), message("m3", 3_000L)))
+                        .hasMore(true)
+                        .build());
+
+        handler.resume(client, "user-1", Set.of(ROOM_ID), new MessageCursor(1_000L, "m1"));
+
+        verify(client).joinRooms(Set.of(ROOM_ID));
+        RoomResumeResponse response = captureResume();
+        assertThat(response.isDegraded()).isFalse();
+        RoomResumeResponse.RoomResume room = response.getRooms().getFirst();
+        assertThat(room.messages()).extracting(MessageResponse::getId).containsExactly("m2", "m3");
+        assertThat(room.hasGap()).isFalse();
+    }
+
+    @Test
+    @DisplayName("마지막으로 본 메시지와 같은 밀리초에 저장된 메시지도 _id 순서로 보낸다")
+    void resume_keepsMessagesInTheSameMillisecond() {
+        RoomResumeHandler handler = handler(4);
+        when(client.isChannelOpen()).thenReturn(true);
+        when(messageLoader.findMessages(any(FetchMessagesRequest.class)))
+                .thenReturn(FetchMessagesResponse.builder()
+                        .messages(List.of(message("m1", 1_000L), message("m2", 1_000L), message("m3", 1_000L)))
+                        .hasMore(false)
+                        .build());
+
+        handler.resume(client, "user-1", Set.of(ROOM_ID), new MessageCursor(1_000L, "m2"));
+
+        RoomResumeResponse.RoomResume room = captureResume().getRooms().getFirst();
+        assertThat(room.messages()).extracting(MessageResponse::getId).containsExactly("m3");
+    }
+
+    @Test
+    @DisplayName("permit을 얻지 못하면 메시지를 조회하지 않고 degraded 응답을 보낸다")
+    void resume_degradesWithoutPermit() {
+        RoomResumeHandler handler = handler(0);
+
+        handler.resume(client, "user-1", Set.of(ROOM_ID), new MessageCursor(1_000L, "m1"));
+
+        verify(client).joinRooms(Set.of(ROOM_ID));
+        verify(messageLoader, never()).findMessages(any());
+        RoomResumeResponse response = captureResume();
+        assertThat(response.isDegraded()).isTrue();
+        assertThat(response.getRooms()).extracting(RoomResumeResponse.RoomResume::roomId).containsExactly(ROOM_ID);
+    }
+
+    private RoomResumeHandler handler(int maxConcurrent) {
+        return new RoomResumeHandler(messageLoader, Runnable::run, new SimpleMeterRegistry(),
+                maxConcurrent, 100, 0L, 30);
+    }
+
+    private RoomResumeResponse captureResume() {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(client).sendEvent(eq(RESUME), payload.capture());
+        return (RoomResumeResponse) payload.getValue();
+    }
+
+    private static MessageResponse message(String id, long timestamp) {
+        return MessageResponse.builder().id(id).roomId(ROOM_ID).timestamp(timestamp).build();
+    }
+}
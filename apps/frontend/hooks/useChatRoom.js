@@ -46,6 +46,9 @@ export const useChatRoom = () => {
   const initialLoadCompletedRef = useRef(false);
   const processedMessageIds = useRef(new Set());
   const loadMoreTimeoutRef = useRef(null);
+  const resumeRefetchTimeoutRef = useRef(null);
+  // 마지막으로 적용한 참가자 버전 (participantJoined/participantLeft 순서 확인용)
+  const participantsVersionRef = useRef(null);
 
   // Socket handling setup
   const {
@@ -104,6 +107,11 @@ export const useChatRoom = () => {
         socketRef.current.off('previousMessages');
         socketRef.current.off('previousMessagesLoaded');
         socketRef.current.off('participantsUpdate');
+        socketRef.current.off('participantsSnapshot');
+        socketRef.current.off('participantJoined');
+        socketRef.current.off('participantLeft');
+        socketRef.current.off('joinRoomSuccess');
+        socketRef.current.off('resume');
         socketRef.current.off('messagesRead');
         socketRef.current.off('messageReactionUpdate');
         socketRef.current.off('session_ended');
@@ -115,10 +123,15 @@ export const useChatRoom = () => {
         clearTimeout(loadMoreTimeoutRef.current);
         loadMoreTimeoutRef.current = null;
       }
+      if (resumeRefetchTimeoutRef.current) {
+        clearTimeout(resumeRefetchTimeoutRef.current);
+        resumeRefetchTimeoutRef.current = null;
+      }
 
       // Reset refs
       processedMessageIds.current.clear();
       previousMessagesRef.current.clear();
+      participantsVersionRef.current = null;
       messageProcessingRef.current = false;
 
       // Reset states only if needed
@@ -210,38 +223,94 @@ export const useChatRoom = () => {
   const setupEventListeners = useCallback(() => {
     if (!socketRef.current || !mountedRef.current) return;
 
-    // 참가자 업데이트 이벤트
-    socketRef.current.on('participantsUpdate', (participants) => {
-      if (!mountedRef.current) return;
+    const participantId = (participant) => participant?.id || participant?._id;
+
+    const applyParticipantsSnapshot = (participants, version) => {
+      participantsVersionRef.current = version ?? null;
       setRoom(prev => ({
         ...prev,
         participants: participants || []
       }));
+    };
+
+    // 증분 이벤트는 기준 버전 바로 다음 것만 적용하고, 공백이 생기면 전체 목록을 다시 요청한다
+    const applyParticipantDelta = (roomId, version, update) => {
+      if (roomId !== router.query.room) return;
+
+      const current = participantsVersionRef.current;
+      if (current !== null && version <= current) return;
+      if (current === null || version !== current + 1) {
+        socketRef.current?.emit('fetchParticipants', roomId);
+        return;
+      }
+
+      participantsVersionRef.current = version;
+      setRoom(prev => ({
+        ...prev,
+        participants: update(prev?.participants || [])
+      }));
+    };
+
+    // 입장 응답의 참가자 목록과 버전을 기준점으로 삼는다
+    socketRef.current.on('joinRoomSuccess', ({ roomId, participants, participantsVersion }) => {
+      if (!mountedRef.current || roomId !== router.query.room || !participants) return;
+      applyParticipantsSnapshot(participants, participantsVersion);
+    });
+
+    socketRef.current.on('participantsSnapshot', ({ roomId, version, participants }) => {
+      if (!mountedRef.current || roomId !== router.query.room) return;
+      applyParticipantsSnapshot(participants, version);
+    });
+
+    socketRef.current.on('participantJoined', ({ roomId, version, participant }) => {
+      if (!mountedRef.current) return;
+      applyParticipantDelta(roomId, version, participants =>
+        participants.some(p => participantId(p) === participantId(participant))
+          ? participants
+          : [...participants, participant]
+      );
+    });
+
+    socketRef.current.on('participantLeft', ({ roomId, version, userId }) => {
+      if (!mountedRef.current) return;
+      applyParticipantDelta(roomId, version, participants =>
+        participants.filter(p => participantId(p) !== userId)
+      );
+    });
+
+    // 서버가 버전 카운터를 쓰지 못할 때 보내는 전체 목록
+    socketRef.current.on('participantsUpdate', (participants) => {
+      if (!mountedRef.current) return;
+      applyParticipantsSnapshot(participants, null);
     });
 
     // 읽음 상태 업데이트 이벤트 (메시지 목록의 readers 배열 업데이트)
-    socketRef.current.on('messagesRead', ({ userId, messageIds, timestamp }) => {
+    // 서버가 윈도우 단위로 묶어 보내므로 여러 사용자의 읽음이 receipts로 올 수 있다
+    socketRef.current.on('messagesRead', ({ userId, messageIds, receipts, timestamp }) => {
       if (!mountedRef.current) return;
 
+      const readReceipts = receipts || [{ userId, messageIds }];
+
       setMessages(prev => prev.map(msg => {
-        // 해당 메시지가 읽음 처리된 메시지인지 확인
-        if (messageIds.includes(msg._id)) {
+        let readers = msg.readers || [];
+        let changed = false;
+
+        readReceipts.forEach(receipt => {
+          // 해당 메시지가 읽음 처리된 메시지인지 확인
+          if (!receipt.messageIds?.includes(msg._id)) return;
+
           // 이미 읽은 사용자인지 확인
-          const alreadyRead = msg.readers?.some(reader => 
-            reader.userId === userId || reader._id === userId
+          const alreadyRead = readers.some(reader => 
+            reader.userId === receipt.userId || reader._id === receipt.userId
           );
           
           if (!alreadyRead) {
-            return {
-              ...msg,
-              readers: [
-                ...(msg.readers || []),
-                { userId, readAt: timestamp || new Date() }
-              ]
-            };
+            readers = [...readers, { userId: receipt.userId, readAt: timestamp || new Date() }];
+            changed = true;
           }
-        }
-        return msg;
+        });
+
+        return changed ? { ...msg, readers } : msg;
       }));
     });
 
@@ -265,6 +334,48 @@ export const useChatRoom = () => {
       });
     });
 
+    // degraded/hasGap인데 메시지가 없으면 재연결이 몰린 상황이므로 지터를 두고 최신 페이지를 다시 받는다
+    const scheduleResumeRefetch = (roomId) => {
+      if (resumeRefetchTimeoutRef.current) {
+        clearTimeout(resumeRefetchTimeoutRef.current);
+      }
+      const delay = 500 + Math.floor(Math.random() * 2500);
+      resumeRefetchTimeoutRef.current = setTimeout(() => {
+        resumeRefetchTimeoutRef.current = null;
+        if (!mountedRef.current || !socketRef.current?.connected || router.query.room !== roomId) return;
+        socketRef.current.emit('fetchPreviousMessages', { roomId, limit: 30 });
+      }, delay);
+    };
+
+    // 재연결 복구: 마지막으로 본 이후의 메시지만 도착한다
+    // hasGap이면 그 사이를 알 수 없으므로 받은 최신 페이지로 목록을 교체한다
+    socketRef.current.on('resume', ({ rooms = [], degraded = false } = {}) => {
+      if (!mountedRef.current) return;
+
+      const resumed = rooms.find(room => room.roomId === router.query.room);
+      if (!resumed) return;
+
+      if (!resumed.messages?.length) {
+        if (degraded || resumed.hasGap) {
+          scheduleResumeRefetch(resumed.roomId);
+        }
+        return;
+      }
+
+      if (resumed.hasGap) {
+        processedMessageIds.current = new Set(resumed.messages.map(message => message._id));
+        setMessages(resumed.messages);
+        setHasMoreMessages(true);
+        return;
+      }
+
+      const missed = resumed.messages.filter(message => !processedMessageIds.current.has(message._id));
+      missed.forEach(message => processedMessageIds.current.add(message._id));
+      if (missed.length > 0) {
+        setMessages(prev => [...prev, ...missed.filter(message => !prev.some(msg => msg._id === message._id))]);
+      }
+    });
+
     // 이전 메시지 이벤트 (previousMessages와 previousMessagesLoaded 둘 다 처리)
     const handlePreviousMessages = (response) => {
       if (!mountedRef.current || messageProcessingRef.current) return;
@@ -321,7 +432,7 @@ export const useChatRoom = () => {
       setError(error.message || '채팅 연결에 문제가 발생했습니다.');
     });
 
-  }, [processMessages, setHasMoreMessages, cleanup, handleReactionUpdate, setLoadingMessages, setError, logout]);
+  }, [router.query.room, processMessages, setHasMoreMessages, cleanup, handleReactionUpdate, setLoadingMessages, setError, logout]);
 
   // Room handling hook initialization
   const {
@@ -1,10 +1,12 @@
 // hooks/useReactionHandling.js
 
-import { useCallback, useState } from 'react';
+import { useCallback, useRef, useState } from 'react';
 import { Toast } from '../components/Toast';
 
 export const useReactionHandling = (socketRef, currentUser, messages, setMessages) => {
   const [pendingReactions] = useState(new Map());
+  // 메시지별 마지막으로 반영한 리액션 버전 (순서가 뒤바뀐 이전 업데이트 무시)
+  const reactionVersionsRef = useRef(new Map());
 
   const handleReactionAdd = useCallback(async (messageId, reaction) => {
     try {
@@ -100,7 +102,14 @@ export const useReactionHandling = (socketRef, currentUser, messages, setMessage
     }
   }, [socketRef, currentUser, messages, setMessages]);
 
-  const handleReactionUpdate = useCallback(({ messageId, reactions }) => {
+  const handleReactionUpdate = useCallback(({ messageId, reactions, version }) => {
+    if (typeof version === 'number') {
+      const appliedVersion = reactionVersionsRef.current.get(messageId);
+      if (appliedVersion !== undefined && version <= appliedVersion) {
+        return;
+      }
+      reactionVersionsRef.current.set(messageId, version);
+    }
     setMessages(prevMessages => 
       prevMessages.map(msg => 
         msg._id === messageId ? { ...msg, reactions } : msg
@@ -19,6 +19,9 @@ class SocketService {
     this.retryDelay = 3000;
     this.reactionHandlers = new Set();
     this.connected = false;
+    // 마지막으로 받은 메시지 (timestamp, _id) (재연결 시 서버가 이후 메시지만 resume으로 보내도록 전달)
+    // 같은 밀리초에 저장된 메시지도 _id로 구분한다
+    this.lastSeen = null;
   }
 
   async connect(options = {}) {
@@ -38,8 +41,18 @@ class SocketService {
 
         const socketUrl = process.env.NEXT_PUBLIC_SOCKET_URL;
 
+        const { auth, ...socketOptions } = options;
+
         this.socket = io(socketUrl, {
-          ...options,
+          ...socketOptions,
+          // 연결 시도마다 다시 평가되므로 재연결에도 최신 커서가 실린다
+          auth: (cb) => cb(this.lastSeen
+            ? {
+                ...auth,
+                lastSeenAt: this.lastSeen.timestamp,
+                ...(this.lastSeen.id && { lastSeenCursor: `${this.lastSeen.timestamp}_${this.lastSeen.id}` })
+              }
+            : { ...auth }),
           transports: ['websocket', 'polling'],
           reconnection: true,
           reconnectionAttempts: this.maxReconnectAttempts,
@@ -125,6 +138,29 @@ class SocketService {
     this.socket.on('messageReaction', (data) => {
       this.reactionHandlers.forEach(handler => handler(data));
     });
+
+    // 화면 훅이 off('message')로 리스너를 정리해도 추적이 끊기지 않도록 onAny로 본다
+    this.socket.onAny((event, payload) => {
+      if (event === 'message') {
+        this.trackLastSeen(payload?.timestamp, payload?._id);
+      } else if (event === 'resume') {
+        payload?.rooms?.forEach(room => room.messages?.forEach(message =>
+          this.trackLastSeen(message.timestamp, message._id)));
+      }
+    });
+  }
+
+  trackLastSeen(timestamp, id) {
+    const seenAt = typeof timestamp === 'number' ? timestamp : Date.parse(timestamp);
+    if (!Number.isFinite(seenAt)) return;
+    const current = this.lastSeen;
+    // 서버와 같은 (timestamp, _id) 순서로 비교한다 (ObjectId 16진 문자열은 사전순이 생성 순서)
+    const isNewer = !current
+      || seenAt > current.timestamp
+      || (seenAt === current.timestamp && typeof id === 'string' && (!current.id || id > current.id));
+    if (isNewer) {
+      this.lastSeen = { timestamp: seenAt, id: typeof id === 'string' ? id : null };
+    }
   }
 
   cleanup(reason = CLEANUP_REASONS.MANUAL) {